@@ -2,6 +2,9 @@
 package com.viitorul.app.api;
 
 import com.viitorul.app.dto.AnnouncementDTO;
+import com.viitorul.app.dto.AnnouncementSearchHitDTO;
+import com.viitorul.app.dto.CursorPageDTO;
+import com.viitorul.app.service.AnnouncementSearchService;
 import com.viitorul.app.service.AnnouncementService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +18,7 @@ import java.util.List;
 public class AnnouncementController {
 
     private final AnnouncementService announcementService;
+    private final AnnouncementSearchService announcementSearchService;
 
     @PostMapping
     public ResponseEntity<AnnouncementDTO> createAnnouncement(@RequestBody AnnouncementDTO dto) {
@@ -35,6 +39,15 @@ public class AnnouncementController {
         return ResponseEntity.ok(announcementService.getAnnouncementsPage(page, size, q));
     }
 
+    /** Căutare full-text în titlu + conținut, ordonată după relevanță; {@code cursor} = {@code nextCursor} anterior. */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<AnnouncementSearchHitDTO>> search(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(announcementSearchService.search(q, cursor, Math.max(1, Math.min(size, 50))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AnnouncementDTO> getAnnouncementById(@PathVariable("id") Long id) {
         return announcementService.getAnnouncementById(id)
@@ -1,15 +1,23 @@
 package com.viitorul.app.api;
 
+import com.viitorul.app.dto.CursorPageDTO;
 import com.viitorul.app.dto.MatchDTO;
 import com.viitorul.app.dto.MatchPlayerStatDTO;
+import com.viitorul.app.dto.MatchPreviewDTO;
+import com.viitorul.app.service.FixturesCache;
 import com.viitorul.app.service.MatchService;
+import com.viitorul.app.service.TeamFormEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -20,6 +28,8 @@ import java.util.List;
 public class MatchController {
 
     private final MatchService matchService;
+    private final FixturesCache fixturesCache;
+    private final TeamFormEngine teamFormEngine;
 
     @PostMapping
     public ResponseEntity<MatchDTO> addMatch(@RequestBody MatchDTO matchDTO) {
@@ -33,8 +43,8 @@ public class MatchController {
     }
 
     @GetMapping("/last")
-    public ResponseEntity<MatchDTO> getLastFinished() {
-        return ResponseEntity.ok(matchService.getLastFinished());
+    public ResponseEntity<byte[]> getLastFinished() {
+        return serve(fixturesCache.last(), "No finished matches");
     }
 
     @GetMapping("/page")
@@ -47,10 +57,21 @@ public class MatchController {
         return ResponseEntity.ok(matchService.getAllMatchesPaged(q, pageable));
     }
 
+    /** Ca /page, dar cu cursor (keyset) în loc de OFFSET; /page rămâne pentru admin. */
+    @GetMapping("/page/cursor")
+    public ResponseEntity<CursorPageDTO<MatchDTO>> getMatchesCursor(
+            @RequestParam(name = "q", required = false, defaultValue = "") String q,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(matchService.getActiveMatchesSeek(q, cursor, clampSize(size), withTotal));
+    }
+
     /** NOU: un singur meci – următorul programat */
     @GetMapping("/next")
-    public ResponseEntity<MatchDTO> getNextMatch() {
-        return ResponseEntity.ok(matchService.getNextMatch());
+    public ResponseEntity<byte[]> getNextMatch() {
+        return serve(fixturesCache.next(), "No upcoming matches");
     }
 
     @GetMapping("/results")
@@ -72,14 +93,37 @@ public class MatchController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Varianta cu cursor pentru site-ul public: {@code cursor} e token-ul {@code nextCursor}
+     * din răspunsul anterior; totalul se calculează doar cu {@code withTotal=true}.
+     */
+    @GetMapping("/results/cursor")
+    public ResponseEntity<CursorPageDTO<MatchDTO>> getResultsCursor(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "seasonId", required = false) Long seasonId,
+            @RequestParam(value = "seasonLabel", required = false) String seasonLabel,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal
+    ) {
+        if (seasonLabel != null) {
+            String s = seasonLabel.trim();
+            if (s.isEmpty() || s.equalsIgnoreCase("toate")) {
+                seasonLabel = null;
+            }
+        }
+        return ResponseEntity.ok(matchService.getFinishedMatchesSeek(
+                q, seasonId, seasonLabel, cursor, clampSize(size), withTotal));
+    }
+
     @GetMapping("/results/seasons")
     public ResponseEntity<List<String>> getResultsSeasons() {
         return ResponseEntity.ok(matchService.getFinishedSeasons());
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<MatchDTO>> getUpcomingMatches() {
-        return ResponseEntity.ok(matchService.getUpcomingMatches());
+    public ResponseEntity<byte[]> getUpcomingMatches() {
+        return serve(fixturesCache.upcoming(), null);
     }
 
     @GetMapping("/{id}")
@@ -87,6 +131,12 @@ public class MatchController {
         return ResponseEntity.ok(matchService.getMatchById(id));
     }
 
+    /** Prezentarea meciului: head-to-head + forma ambelor echipe în sezonul meciului (din memorie). */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<MatchPreviewDTO> getMatchPreview(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(teamFormEngine.preview(id));
+    }
+
     /** ✅ NOU: filtrare opțională după sezon + sortare DESC făcută în service/repo */
     @GetMapping("/player/{id}/stats")
     public ResponseEntity<List<MatchPlayerStatDTO>> getStatsForPlayer(
@@ -138,4 +188,19 @@ public class MatchController {
         matchService.softDeleteMatch(id);
         return ResponseEntity.ok().build();
     }
+
+    /** JSON-ul din cache, cu ETag/Last-Modified (304 dacă clientul îl are deja). */
+    private static ResponseEntity<byte[]> serve(FixturesCache.Doc doc, String notFoundReason) {
+        if (!doc.exists()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, notFoundReason);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(doc.etag())
+                .lastModified(doc.lastModified())
+                .body(doc.body());
+    }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
 }
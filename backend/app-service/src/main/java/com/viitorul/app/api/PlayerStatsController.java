@@ -0,0 +1,62 @@
+package com.viitorul.app.api;
+
+import com.viitorul.app.dto.PlayerSeasonStatsDTO;
+import com.viitorul.app.dto.LeaderboardEntryDTO;
+import com.viitorul.app.dto.LeaderboardsDTO;
+import com.viitorul.app.service.LeaderboardService;
+import com.viitorul.app.service.PlayerSeasonStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/** Statistici agregate pe sezon, servite din {@code player_season_stats} (fără a încărca meciurile). */
+@RestController
+@RequestMapping("/api/app/stats")
+@RequiredArgsConstructor
+public class PlayerStatsController {
+
+    private final PlayerSeasonStatsService seasonStatsService;
+    private final LeaderboardService leaderboardService;
+
+    /** Totalurile jucătorului pe fiecare sezon (profilul de jucător). */
+    @GetMapping("/players/{playerId}/seasons")
+    public ResponseEntity<List<PlayerSeasonStatsDTO>> getPlayerSeasons(@PathVariable("playerId") Long playerId) {
+        return ResponseEntity.ok(seasonStatsService.forPlayer(playerId));
+    }
+
+    /**
+     * Toate clasamentele (goluri, pase decisive, cartonașe, prezențe, voturi MVP) pentru un sezon
+     * și/sau o competiție; fără filtre = tot istoricul.
+     */
+    @GetMapping("/leaderboards")
+    public ResponseEntity<LeaderboardsDTO> getLeaderboards(
+            @RequestParam(name = "seasonId", required = false) Long seasonId,
+            @RequestParam(name = "competitionId", required = false) Long competitionId,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.all(seasonId, competitionId, clampLimit(limit)));
+    }
+
+    /** Un singur clasament: {@code metric=goals|assists|cards|appearances|mvp-votes}. */
+    @GetMapping("/leaderboards/{metric}")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
+            @PathVariable("metric") String metric,
+            @RequestParam(name = "seasonId", required = false) Long seasonId,
+            @RequestParam(name = "competitionId", required = false) Long competitionId,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.metric(
+                seasonId, competitionId, LeaderboardService.parseMetric(metric), clampLimit(limit)));
+    }
+
+    /** Admin: reconstruiește toate agregatele din loturi, statistici și tally-ul MVP. */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("rows", seasonStatsService.rebuildAll()));
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, LeaderboardService.MAX_LIMIT));
+    }
+}
@@ -1,13 +1,19 @@
 package com.viitorul.app.api;
 
 import com.viitorul.app.dto.*;
+import com.viitorul.app.service.ComputedStandingsService;
 import com.viitorul.app.service.StandingsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -17,10 +23,21 @@ import java.util.Map;
 public class StandingsController {
 
     private final StandingsService standingsService;
+    private final ComputedStandingsService computedStandings;
 
+    /**
+     * Servit din memorie; ETag/Last-Modified permit clienților să primească 304
+     * (HttpEntityMethodProcessor verifică If-None-Match / If-Modified-Since).
+     */
     @GetMapping
-    public ResponseEntity<StandingsResponseDTO> getCurrent() {
-        return ResponseEntity.ok(standingsService.getCurrent());
+    public ResponseEntity<byte[]> getCurrent() {
+        var cached = standingsService.getCurrentCached();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.etag())
+                .lastModified(cached.lastModified())
+                .body(cached.body());
     }
 
     @PutMapping
@@ -49,6 +66,45 @@ public class StandingsController {
         return ResponseEntity.ok(standingsService.getConfigOnly());
     }
 
+    /** Istoricul versiunilor de clasament (fără rânduri), cele mai noi primele. */
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<StandingsSnapshotDTO>> getSnapshots(
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(standingsService.getSnapshots(limit));
+    }
+
+    /** Diferența dintre două versiuni; fără parametri: ultima versiune față de precedenta. */
+    @GetMapping("/diff")
+    public ResponseEntity<StandingsDiffDTO> diff(
+            @RequestParam(name = "from", required = false) Long from,
+            @RequestParam(name = "to", required = false) Long to) {
+        return ResponseEntity.ok(standingsService.diff(from, to));
+    }
+
+    /** Clasamentul calculat din rezultatele din baza noastră (fără scrape). */
+    @GetMapping("/computed/{seasonId}")
+    public ResponseEntity<StandingsResponseDTO> getComputed(@PathVariable("seasonId") Long seasonId) {
+        return ResponseEntity.ok(computedStandings.getTable(seasonId));
+    }
+
+    /** Diferențele dintre clasamentul calculat și ultimul scrape / clasament manual. */
+    @GetMapping("/computed/{seasonId}/reconcile")
+    public ResponseEntity<StandingsReconciliationDTO> reconcile(@PathVariable("seasonId") Long seasonId) {
+        return ResponseEntity.ok(computedStandings.reconcile(seasonId));
+    }
+
+    /** Admin: publică clasamentul calculat ca cel curent; fără {@code force}, doar dacă datele sunt complete. */
+    @PostMapping("/computed/{seasonId}/publish")
+    public ResponseEntity<StandingsResponseDTO> publishComputed(
+            @PathVariable("seasonId") Long seasonId,
+            @RequestParam(name = "force", defaultValue = "false") boolean force) {
+        List<StandingsRowDTO> rows = force
+                ? computedStandings.getTable(seasonId).getRows()
+                : computedStandings.rowsIfComplete(seasonId).orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Computed standings are incomplete; see /reconcile"));
+        return ResponseEntity.ok(standingsService.saveComputed(seasonId, rows));
+    }
+
     @PostMapping("/schedule")
     public ResponseEntity<Void> toggleSchedule(@Valid @RequestBody ScheduleToggleRequestDTO req) {
         standingsService.setScheduleEnabled(req.getEnabled());
@@ -1,6 +1,9 @@
 package com.viitorul.app.api;
 
+import com.viitorul.app.dto.HeadToHeadDTO;
 import com.viitorul.app.dto.TeamDTO;
+import com.viitorul.app.dto.TeamFormDTO;
+import com.viitorul.app.service.TeamFormEngine;
 import com.viitorul.app.service.TeamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,9 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private TeamFormEngine teamFormEngine;
+
     @GetMapping
     public List<TeamDTO> getAllTeams() {
         return teamService.getAllTeams();
@@ -24,6 +30,21 @@ public class TeamController {
         return teamService.getTeamById(id);
     }
 
+    /** Forma (ultimele {@code n}), bilanț acasă/deplasare și trendul golaverajului; fără sezon = tot istoricul. */
+    @GetMapping("/{id}/form")
+    public TeamFormDTO getForm(@PathVariable("id") Long id,
+                               @RequestParam(name = "seasonId", required = false) Long seasonId,
+                               @RequestParam(name = "n", defaultValue = "5") int n) {
+        return teamFormEngine.form(id, seasonId, Math.max(1, Math.min(n, TeamFormEngine.MAX_FORM_LENGTH)));
+    }
+
+    @GetMapping("/{id}/head-to-head/{opponentId}")
+    public HeadToHeadDTO getHeadToHead(@PathVariable("id") Long id,
+                                       @PathVariable("opponentId") Long opponentId,
+                                       @RequestParam(name = "last", defaultValue = "5") int last) {
+        return teamFormEngine.headToHead(id, opponentId, Math.max(1, Math.min(last, TeamFormEngine.MAX_FORM_LENGTH)));
+    }
+
     @PostMapping
     public TeamDTO createTeam(@RequestBody TeamDTO dto) {
         return teamService.createTeam(dto);
@@ -1,41 +1,41 @@
 package com.viitorul.app.api;
 
-import com.viitorul.app.auth.AuthClient;
 import com.viitorul.app.auth.AuthUserInfo;
+import com.viitorul.app.auth.TokenVerifier;
 import com.viitorul.app.dto.MyVoteDTO;
 import com.viitorul.app.dto.VoteRequestDTO;
 import com.viitorul.app.dto.VoteSummaryDTO;
+import com.viitorul.app.dto.VoteTallyMismatchDTO;
 import com.viitorul.app.service.VoteService;
+import com.viitorul.app.service.VoteTallyService;
+import com.viitorul.app.web.VoteStreamBroadcaster;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/app/matches")
 @RequiredArgsConstructor
 public class VoteController {
     private final VoteService voteService;
-    private final AuthClient authClient;
+    private final VoteTallyService voteTallyService;
+    private final VoteStreamBroadcaster voteStreamBroadcaster;
+    private final TokenVerifier tokenVerifier;
 
-    private String resolveToken(@CookieValue(name = "jwt", required = false) String jwtCookie,
-                                @RequestHeader(name = "Authorization", required = false) String authHeader) {
-        if (jwtCookie != null && !jwtCookie.isBlank()) return "cookie:" + jwtCookie;
-        if (authHeader != null && authHeader.startsWith("Bearer ")) return "bearer:" + authHeader.substring(7);
+    private TokenVerifier.Credential resolveToken(String jwtCookie, String authHeader) {
+        if (jwtCookie != null && !jwtCookie.isBlank()) return new TokenVerifier.Credential(jwtCookie, TokenVerifier.Source.COOKIE);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) return new TokenVerifier.Credential(authHeader.substring(7), TokenVerifier.Source.BEARER);
         throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
     }
 
-    private String emailFromRequest(String tokenDescriptor) {
-        if (tokenDescriptor.startsWith("cookie:")) {
-            String v = tokenDescriptor.substring("cookie:".length());
-            AuthUserInfo u = authClient.introspectWithCookie(v);
-            return u.email();
-        } else {
-            String v = tokenDescriptor.substring("bearer:".length());
-            AuthUserInfo u = authClient.introspectWithBearer(v);
-            return u.email();
-        }
+    private String emailFromRequest(TokenVerifier.Credential credential) {
+        return tokenVerifier.verify(credential).email();
     }
 
     @PostMapping("/{matchId}/vote")
@@ -45,8 +45,7 @@ public class VoteController {
             @CookieValue(name = "jwt", required = false) String jwtCookie,
             @RequestHeader(name = "Authorization", required = false) String authHeader
     ) {
-        String tokenDesc = resolveToken(jwtCookie, authHeader);
-        String email = emailFromRequest(tokenDesc);
+        String email = emailFromRequest(resolveToken(jwtCookie, authHeader));
         voteService.upsertVote(matchId, body.playerId(), email);
         return ResponseEntity.ok().build();
     }
@@ -57,8 +56,7 @@ public class VoteController {
             @CookieValue(name = "jwt", required = false) String jwtCookie,
             @RequestHeader(name = "Authorization", required = false) String authHeader
     ) {
-        String tokenDesc = resolveToken(jwtCookie, authHeader);
-        String email = emailFromRequest(tokenDesc);
+        String email = emailFromRequest(resolveToken(jwtCookie, authHeader));
         return ResponseEntity.ok(voteService.myVote(matchId, email));
     }
 
@@ -67,12 +65,30 @@ public class VoteController {
         return ResponseEntity.ok(voteService.summary(matchId));
     }
 
+    /** Rezultate live (SSE): un eveniment {@code summary} la conectare și apoi la fiecare schimbare. */
+    @GetMapping(value = "/{matchId}/votes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable("matchId") Long matchId) {
+        return voteStreamBroadcaster.subscribe(matchId);
+    }
+
+    /** Admin: reconstruiește tally-ul MVP din voturi (un meci sau toate). */
+    @PostMapping("/votes/tally/rebuild")
+    public ResponseEntity<Void> rebuildTally(@RequestParam(name = "matchId", required = false) Long matchId) {
+        if (matchId != null) voteTallyService.rebuild(matchId);
+        else voteTallyService.rebuildAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Admin: perechile (meci, jucător) la care tally-ul diferă de voturi; listă goală = consistent. */
+    @GetMapping("/votes/tally/check")
+    public ResponseEntity<List<VoteTallyMismatchDTO>> checkTally() {
+        return ResponseEntity.ok(voteTallyService.findMismatches());
+    }
+
     @GetMapping("/auth/me")
     public ResponseEntity<AuthUserInfo> me(@CookieValue(name="jwt", required=false) String jwtCookie,
                                            @RequestHeader(name="Authorization", required=false) String authHeader) {
-        String tokenDesc = resolveToken(jwtCookie, authHeader);
-        if (tokenDesc.startsWith("cookie:")) return ResponseEntity.ok(authClient.introspectWithCookie(tokenDesc.substring(7)));
-        return ResponseEntity.ok(authClient.introspectWithBearer(tokenDesc.substring(7)));
+        return ResponseEntity.ok(tokenVerifier.verify(resolveToken(jwtCookie, authHeader)));
     }
 
 }
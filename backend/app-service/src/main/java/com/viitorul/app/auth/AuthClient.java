@@ -1,57 +1,45 @@
 package com.viitorul.app.auth;
 
+import com.viitorul.common.http.InterServiceClient;
+import com.viitorul.common.http.InterServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class AuthClient {
 
-    @Value("${auth.base-url:http://localhost:8081}")
-    private String authBaseUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final InterServiceClient authServiceClient;
 
     public AuthUserInfo introspectWithCookie(String jwtCookieValue) {
-        HttpHeaders h = new HttpHeaders();
-        h.add(HttpHeaders.COOKIE, "jwt=" + jwtCookieValue);
-        HttpEntity<Void> req = new HttpEntity<>(h);
-        try {
-            ResponseEntity<Map> res = restTemplate.exchange(
-                    authBaseUrl + "/api/auth/introspect",
-                    HttpMethod.GET,
-                    req,
-                    Map.class
-            );
-            Map body = res.getBody();
-            return new AuthUserInfo((String) body.get("email"), (String) body.get("role"));
-        } catch (HttpStatusCodeException e) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
-        }
+        return introspect(h -> h.add(HttpHeaders.COOKIE, "jwt=" + jwtCookieValue));
     }
 
     public AuthUserInfo introspectWithBearer(String bearer) {
-        HttpHeaders h = new HttpHeaders();
-        h.add(HttpHeaders.AUTHORIZATION, "Bearer " + bearer);
-        HttpEntity<Void> req = new HttpEntity<>(h);
+        return introspect(h -> h.setBearerAuth(bearer));
+    }
+
+    private AuthUserInfo introspect(Consumer<HttpHeaders> headers) {
         try {
-            ResponseEntity<Map> res = restTemplate.exchange(
-                    authBaseUrl + "/api/auth/introspect",
-                    HttpMethod.GET,
-                    req,
-                    Map.class
-            );
-            Map body = res.getBody();
+            Map<?, ?> body = authServiceClient.call("introspect", rc -> rc.get()
+                    .uri("/api/auth/introspect")
+                    .headers(headers)
+                    .retrieve()
+                    .body(Map.class));
+            if (body == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
             return new AuthUserInfo((String) body.get("email"), (String) body.get("role"));
-        } catch (HttpStatusCodeException e) {
+        } catch (HttpClientErrorException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        } catch (InterServiceUnavailableException | RestClientException e) {
+            // auth-service lent/căzut: nu confundăm cu un token invalid
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Auth service unavailable");
         }
     }
 }
@@ -0,0 +1,154 @@
+package com.viitorul.app.auth;
+
+import com.viitorul.app.security.JwtUtilsApp;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifică utilizatorul din JWT fără un apel HTTP la auth-service pe fiecare request.
+ * <p>
+ * Ordinea: cache (cheie = SHA-256 al token-ului, valabil până la {@code exp}) → verificare locală
+ * a semnăturii cu {@link JwtUtilsApp} → introspecție la auth-service, doar dacă
+ * {@code auth.introspection-fallback=true} și token-ul nu e pur și simplu expirat.
+ * Fiecare cale e măsurată în timer-ul {@code auth.token.verify} (tag-uri {@code path}, {@code outcome}).
+ */
+@Slf4j
+@Component
+public class TokenVerifier {
+
+    public enum Source { COOKIE, BEARER }
+
+    public record Credential(String token, Source source) {}
+
+    private record Verified(AuthUserInfo user, long expiresAt) {}
+
+    private final JwtUtilsApp jwt;
+    private final AuthClient authClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Verified> cache = new ConcurrentHashMap<>();
+
+    @Value("${auth.token-cache.max-size:10000}")
+    private int maxSize;
+
+    /** Pentru token-uri fără {@code exp}. */
+    @Value("${auth.token-cache.default-ttl-ms:300000}")
+    private long defaultTtlMs;
+
+    @Value("${auth.introspection-fallback:true}")
+    private boolean introspectionFallback;
+
+    public TokenVerifier(JwtUtilsApp jwt, AuthClient authClient, MeterRegistry meterRegistry) {
+        this.jwt = jwt;
+        this.authClient = authClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public AuthUserInfo verify(Credential credential) {
+        long start = System.nanoTime();
+        String key = sha256(credential.token());
+
+        Verified cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                record("cache", "ok", start);
+                return cached.user();
+            }
+            cache.remove(key, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = jwt.claims(credential.token());
+        } catch (ExpiredJwtException e) {
+            record("local", "expired", start);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        } catch (RuntimeException e) {
+            record("local", "invalid", start);
+            if (!introspectionFallback) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+            }
+            return introspect(credential);
+        }
+
+        AuthUserInfo user = new AuthUserInfo(email(claims), role(claims));
+        Date exp = claims.getExpiration();
+        put(key, new Verified(user, exp != null ? exp.getTime() : System.currentTimeMillis() + defaultTtlMs));
+        record("local", "ok", start);
+        return user;
+    }
+
+    /** Răspunsul remote nu e pus în cache: nu știm până când e valabil. */
+    private AuthUserInfo introspect(Credential credential) {
+        long start = System.nanoTime();
+        try {
+            AuthUserInfo user = credential.source() == Source.COOKIE
+                    ? authClient.introspectWithCookie(credential.token())
+                    : authClient.introspectWithBearer(credential.token());
+            record("remote", "ok", start);
+            return user;
+        } catch (RuntimeException e) {
+            boolean unauthorized = e instanceof ResponseStatusException rse
+                    && rse.getStatusCode() == HttpStatus.UNAUTHORIZED;
+            record("remote", unauthorized ? "invalid" : "error", start);
+            throw e;
+        }
+    }
+
+    private void put(String key, Verified v) {
+        if (cache.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(e -> e.expiresAt() <= now);
+            // încă plin (ex. val de utilizatori noi): nu mai adăugăm, verificarea locală rămâne ieftină
+            if (cache.size() >= maxSize) return;
+        }
+        cache.put(key, v);
+    }
+
+    /** Aceleași reguli ca introspecția din auth-service: {@code email} sau subject, primul rol. */
+    private static String email(Claims c) {
+        String email = c.get("email", String.class);
+        return (email == null || email.isBlank()) ? c.getSubject() : email;
+    }
+
+    private static String role(Claims c) {
+        Object r = c.get("role");
+        if (r instanceof String s) return s;
+        if (r instanceof List<?> list && !list.isEmpty()) return String.valueOf(list.get(0));
+        return "";
+    }
+
+    private void record(String path, String outcome, long startNanos) {
+        Timer.builder("auth.token.verify")
+                .description("Durata identificării utilizatorului din JWT")
+                .tag("path", path)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.viitorul.app.browser;
+
+import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.WaitUntilState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Pool de browsere Chromium ținute calde între scrape-uri.
+ * <p>
+ * Playwright cere ca o instanță și tot ce ține de ea (Browser, BrowserContext, Page) să fie folosite
+ * doar de firul care a creat-o. De aceea fiecare slot are propriul executor cu un singur fir: pornirea,
+ * lucrul pe pagină, resetarea, reciclarea și închiderea rulează toate acolo, iar apelantul (scheduler,
+ * fir Tomcat) doar așteaptă rezultatul. Numărul de sloturi limitează și numărul de pagini deschise.
+ * Cookie-urile de la warm-up sunt păstrate ca storage state și refolosite când un browser e repornit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BrowserPool {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+            "AppleWebKit/537.36 (KHTML, like Gecko) " +
+            "Chrome/127.0.0.0 Safari/537.36";
+
+    private final BrowserPoolProperties props;
+
+    private BlockingQueue<Slot> available;
+    private final List<Slot> all = new ArrayList<>();
+
+    // cookie-uri de la warm-up, comune tuturor sloturilor
+    private volatile String storageState;
+    private volatile long warmedUpAt;
+
+    @PostConstruct
+    void init() {
+        int size = Math.max(1, props.getSize());
+        available = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            Slot s = new Slot(i);
+            all.add(s);
+            available.add(s);
+        }
+    }
+
+    /**
+     * Împrumută o pagină caldă, rulează {@code work} pe ea (pe firul slotului) și o returnează în pool.
+     * Dacă browserul a murit între timp, slotul e reciclat.
+     */
+    public <T> T withPage(Function<Page, T> work) {
+        Slot slot = borrow();
+        try {
+            return slot.call(() -> {
+                try {
+                    return work.apply(slot.page());
+                } catch (RuntimeException e) {
+                    slot.failed = true;
+                    throw e;
+                }
+            });
+        } finally {
+            release(slot);
+        }
+    }
+
+    /** Închide browserele care n-au mai fost folosite de {@code idleTimeout}. */
+    @Scheduled(fixedDelayString = "${scraper.browser.idle-check-ms:60000}", initialDelay = 60_000L)
+    public void shutdownIdle() {
+        long idleMs = props.getIdleTimeout().toMillis();
+        // verificarea rulează tot pe firul slotului, după orice lucru deja pus în coadă
+        for (Slot s : all) {
+            s.executor.execute(() -> {
+                if (s.isStarted() && System.currentTimeMillis() - s.lastUsedAt > idleMs) {
+                    log.info("[BrowserPool] Slot {} inactiv, închid browserul.", s.index);
+                    s.close();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Slot s : all) {
+            s.executor.execute(s::close);
+            s.executor.shutdown();
+        }
+        for (Slot s : all) {
+            try {
+                if (!s.executor.awaitTermination(10, TimeUnit.SECONDS)) s.executor.shutdownNow();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                s.executor.shutdownNow();
+            }
+        }
+    }
+
+    // ===================== Helpers =====================
+
+    private Slot borrow() {
+        try {
+            Slot s = available.poll(props.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (s == null) throw new IllegalStateException("Niciun browser liber în pool");
+            return s;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Întrerupt în așteptarea unui browser", e);
+        }
+    }
+
+    // curățenia rulează pe firul slotului; următorul apelant o așteaptă implicit, fiind pus în coadă după ea
+    private void release(Slot s) {
+        try {
+            s.executor.execute(() -> {
+                try {
+                    s.uses++;
+                    s.lastUsedAt = System.currentTimeMillis();
+                    if (s.failed && !s.isHealthy()) {
+                        log.warn("[BrowserPool] Browserul din slotul {} nu mai răspunde, îl reciclez.", s.index);
+                        s.close();
+                    } else if (s.uses >= props.getMaxUsesPerBrowser()) {
+                        log.info("[BrowserPool] Slotul {} a atins {} utilizări, îl reciclez.", s.index, s.uses);
+                        s.close();
+                    } else {
+                        s.resetPage();
+                    }
+                } finally {
+                    s.failed = false;
+                }
+            });
+        } finally {
+            available.offer(s);
+        }
+    }
+
+    private static BrowserType.LaunchOptions launchOptions() {
+        return new BrowserType.LaunchOptions()
+                .setHeadless(true)
+                .setArgs(List.of(
+                        "--no-sandbox",
+                        "--disable-gpu",
+                        "--disable-dev-shm-usage"
+                ));
+    }
+
+    private Browser.NewContextOptions contextOptions() {
+        Browser.NewContextOptions o = new Browser.NewContextOptions()
+                .setUserAgent(USER_AGENT)
+                .setViewportSize(1280, 900)
+                .setLocale("ro-RO")
+                .setTimezoneId("Europe/Bucharest");
+        if (storageState != null) {
+            o.setStorageState(storageState);
+        }
+        return o;
+    }
+
+    private boolean warmupExpired() {
+        return System.currentTimeMillis() - warmedUpAt > props.getWarmupTtl().toMillis();
+    }
+
+    /** Un browser și firul care îl deține; câmpurile de mai jos sunt atinse doar de {@link #executor}. */
+    private final class Slot {
+        final int index;
+        final ExecutorService executor;
+        Playwright playwright;
+        Browser browser;
+        BrowserContext context;
+        Page page;
+        int uses;
+        long lastUsedAt;
+        boolean failed;
+
+        Slot(int index) {
+            this.index = index;
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "browser-slot-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        /** Rulează {@code task} pe firul slotului și așteaptă rezultatul. */
+        <T> T call(Callable<T> task) {
+            Future<T> result = executor.submit(task);
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Întrerupt în așteptarea browserului", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        boolean isStarted() {
+            return playwright != null;
+        }
+
+        boolean isHealthy() {
+            try {
+                return browser != null && browser.isConnected() && page != null && !page.isClosed();
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        Page page() {
+            if (browser == null || !browser.isConnected()) {
+                start();
+            } else if (warmupExpired()) {
+                warmUp();
+            }
+            if (page == null || page.isClosed()) {
+                page = context.newPage();
+                page.setDefaultTimeout(props.getPageTimeoutMs());
+            }
+            return page;
+        }
+
+        void start() {
+            close();
+            long t0 = System.currentTimeMillis();
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch(launchOptions());
+            context = browser.newContext(contextOptions());
+            if (warmupExpired()) {
+                warmUp();
+            }
+            log.info("[BrowserPool] Slot {} pornit în {} ms.", index, System.currentTimeMillis() - t0);
+        }
+
+        // warm-up pe domeniu (cookie-uri), cel mult o încercare per TTL
+        void warmUp() {
+            if (page == null || page.isClosed()) {
+                page = context.newPage();
+                page.setDefaultTimeout(props.getPageTimeoutMs());
+            }
+            warmedUpAt = System.currentTimeMillis();
+            try {
+                page.navigate(props.getWarmupUrl(),
+                        new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+                storageState = context.storageState();
+            } catch (Exception e) {
+                log.warn("[BrowserPool] Warm-up eșuat: {}", e.toString());
+            }
+        }
+
+        // eliberează DOM-ul paginii anterioare, dar păstrează pagina pentru următorul apel
+        void resetPage() {
+            if (page == null) return;
+            try {
+                page.navigate("about:blank");
+            } catch (Exception e) {
+                try { page.close(); } catch (Exception ignore) {}
+                page = null;
+            }
+        }
+
+        void close() {
+            if (playwright != null) {
+                try { playwright.close(); } catch (Exception e) {
+                    log.warn("[BrowserPool] Închidere slot {} eșuată: {}", index, e.toString());
+                }
+            }
+            playwright = null;
+            browser = null;
+            context = null;
+            page = null;
+            uses = 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.viitorul.app.browser;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "scraper.browser")
+public class BrowserPoolProperties {
+    /** Câte browsere Chromium ținem calde în paralel (fiecare cu un context + o pagină). */
+    private int size = 1;
+    /** După câte scrape-uri reciclăm browserul (limitează scurgerile de memorie din Chromium). */
+    private int maxUsesPerBrowser = 50;
+    /** Cât așteaptă un apel după un browser liber înainte să renunțe. */
+    private Duration acquireTimeout = Duration.ofSeconds(90);
+    /** Browserele nefolosite de atâta timp sunt închise complet. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    /** Cât timp considerăm valide cookie-urile obținute la warm-up. */
+    private Duration warmupTtl = Duration.ofHours(6);
+    private String warmupUrl = "https://www.frf-ajf.ro/";
+    private int pageTimeoutMs = 60_000;
+}
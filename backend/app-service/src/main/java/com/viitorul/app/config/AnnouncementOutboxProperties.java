@@ -0,0 +1,22 @@
+package com.viitorul.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class AnnouncementOutboxProperties {
+
+    /** Rânduri revendicate, publicate și confirmate per lot. */
+    private int batchSize = 50;
+    /** Cât așteptăm confirmările broker-ului pentru un lot; neconfirmatele se reîncearcă. */
+    private Duration confirmTimeout = Duration.ofSeconds(10);
+    /** Prima pauză după un eșec; se dublează la fiecare încercare, până la {@code maxBackoff}. */
+    private Duration initialBackoff = Duration.ofSeconds(15);
+    private Duration maxBackoff = Duration.ofMinutes(10);
+    /** Rândurile trimise mai vechi de atât se șterg. */
+    private Duration retention = Duration.ofDays(30);
+}
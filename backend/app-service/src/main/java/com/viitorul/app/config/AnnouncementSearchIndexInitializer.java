@@ -0,0 +1,94 @@
+package com.viitorul.app.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexul full-text pentru știri, creat la pornire (ddl-auto nu știe de tsvector/GIN).
+ * <p>
+ * {@code ro_unaccent} = configurația {@code romanian} (stemmer Snowball) cu {@code unaccent} în față,
+ * deci „echipă”, „echipa” și „echipei” se potrivesc indiferent de diacritice. Coloana
+ * {@code search_vector} e GENERATED ... STORED (titlu cu greutate A, text cu greutate B), așa că
+ * PostgreSQL o ține sincronizată la fiecare INSERT/UPDATE, fără cod în aplicație.
+ * <p>
+ * Dacă inițializarea eșuează (fără drept de CREATE EXTENSION etc.), {@link #isReady()} rămâne
+ * {@code false} și căutarea folosește varianta LIKE.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnnouncementSearchIndexInitializer {
+
+    public static final String TS_CONFIG = "ro_unaccent";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean ready;
+
+    /** Coloana {@code search_vector} și configurația {@code ro_unaccent} există. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            createTextSearchConfig();
+            jdbcTemplate.execute("""
+                    ALTER TABLE announcement ADD COLUMN IF NOT EXISTS search_vector tsvector
+                    GENERATED ALWAYS AS (
+                        setweight(to_tsvector('ro_unaccent', coalesce(title, '')), 'A') ||
+                        setweight(to_tsvector('ro_unaccent', coalesce(content_text, '')), 'B')
+                    ) STORED
+                    """);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_announcement_search_vector "
+                    + "ON announcement USING gin (search_vector)");
+        } catch (DataAccessException e) {
+            log.warn("[AnnouncementSearch] Nu pot crea indexul full-text: {}", e.getMostSpecificCause().getMessage());
+        }
+        // coloana poate exista de la o pornire anterioară chiar dacă acum a eșuat ceva
+        ready = searchColumnExists();
+        if (!ready) log.warn("[AnnouncementSearch] Căutarea full-text e indisponibilă; folosesc LIKE pe titlu și text");
+    }
+
+    private boolean searchColumnExists() {
+        try {
+            Integer n = jdbcTemplate.queryForObject("""
+                    SELECT (SELECT count(*) FROM information_schema.columns
+                             WHERE table_schema = current_schema() AND table_name = 'announcement'
+                               AND column_name = 'search_vector')
+                         * (SELECT count(*) FROM pg_ts_config WHERE cfgname = ?)
+                    """, Integer.class, TS_CONFIG);
+            return n != null && n > 0;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    private void createTextSearchConfig() {
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_ts_config WHERE cfgname = ?", Integer.class, TS_CONFIG);
+        if (exists != null && exists > 0) return;
+
+        try {
+            jdbcTemplate.execute("CREATE TEXT SEARCH CONFIGURATION ro_unaccent (COPY = romanian)");
+            jdbcTemplate.execute("ALTER TEXT SEARCH CONFIGURATION ro_unaccent "
+                    + "ALTER MAPPING FOR hword, hword_part, word WITH unaccent, romanian_stem");
+        } catch (DataAccessException e) {
+            // PostgreSQL fără stemmer românesc: rămânem la potrivire exactă (dar tot fără diacritice)
+            log.warn("[AnnouncementSearch] Configurația 'romanian' lipsește, folosesc 'simple': {}",
+                    e.getMostSpecificCause().getMessage());
+            jdbcTemplate.execute("DROP TEXT SEARCH CONFIGURATION IF EXISTS ro_unaccent");
+            jdbcTemplate.execute("CREATE TEXT SEARCH CONFIGURATION ro_unaccent (COPY = simple)");
+            jdbcTemplate.execute("ALTER TEXT SEARCH CONFIGURATION ro_unaccent "
+                    + "ALTER MAPPING FOR hword, hword_part, word WITH unaccent, simple");
+        }
+        log.info("[AnnouncementSearch] Creat configurația full-text {}", TS_CONFIG);
+    }
+}
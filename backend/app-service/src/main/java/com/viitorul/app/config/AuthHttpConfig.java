@@ -0,0 +1,28 @@
+package com.viitorul.app.config;
+
+import com.viitorul.common.http.InterServiceClient;
+import com.viitorul.common.http.RouteConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Clientul HTTP către auth-service; timeouts/bulkhead/circuit din {@code auth.http.*}. */
+@Configuration
+public class AuthHttpConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "auth.http")
+    public RouteConfig authRoute(@Value("${auth.base-url:http://localhost:8081}") String baseUrl) {
+        RouteConfig route = new RouteConfig();
+        route.setName("auth-service");
+        route.setBaseUrl(baseUrl);
+        return route;
+    }
+
+    @Bean
+    public InterServiceClient authServiceClient(RouteConfig authRoute, MeterRegistry meterRegistry) {
+        return new InterServiceClient(authRoute, meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.viitorul.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.standings.computed")
+public class ComputedStandingsProperties {
+
+    /** Departajări aplicate în ordine la egalitate de puncte; numele echipei e mereu ultimul criteriu. */
+    public enum TieBreaker {
+        HEAD_TO_HEAD_POINTS, HEAD_TO_HEAD_GOAL_DIFFERENCE, HEAD_TO_HEAD_GOALS_FOR,
+        GOAL_DIFFERENCE, GOALS_FOR, WINS
+    }
+
+    private int pointsForWin = 3;
+    private int pointsForDraw = 1;
+    /** Regulamentul FRF: întâi meciurile directe, apoi golaverajul general. */
+    private List<TieBreaker> tieBreakers = new ArrayList<>(List.of(
+            TieBreaker.HEAD_TO_HEAD_POINTS,
+            TieBreaker.HEAD_TO_HEAD_GOAL_DIFFERENCE,
+            TieBreaker.GOAL_DIFFERENCE,
+            TieBreaker.GOALS_FOR));
+    /**
+     * Sezonul al cărui clasament calculat poate înlocui scrape-ul programat; {@code null} = mereu scrape.
+     * Înlocuirea are loc doar când datele noastre acoperă tot ce avea ultimul snapshot din sezon, iar
+     * acel snapshot e mai nou decât ultimul nostru rezultat și decât {@link #maxSnapshotAge}.
+     */
+    private Long scheduledSeasonId;
+    /** Câte sezoane în afara celui programat țin tabelul în memorie (cele mai recent cerute). */
+    private int maxCachedSeasons = 3;
+    /** După atâta timp fără scrape, scheduler-ul face din nou scrape chiar dacă datele proprii par complete. */
+    private Duration maxSnapshotAge = Duration.ofDays(7);
+}
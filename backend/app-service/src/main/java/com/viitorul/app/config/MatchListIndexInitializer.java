@@ -0,0 +1,38 @@
+package com.viitorul.app.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * La pornire: indexul pe expresiile din paginarea keyset a meciurilor
+ * ({@code MatchRepository.SEEK_AFTER_CURSOR}). Fără el, Postgres sortează tot tabelul la fiecare pagină,
+ * pentru că ORDER BY-ul e pe {@code COALESCE(...)}, nu pe coloanele brute.
+ * Expresiile (inclusiv constantele) trebuie să rămână identice cu cele din interogare.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchListIndexInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_match_list_keyset ON match (
+                        (COALESCE(date, DATE '9999-12-31')) DESC,
+                        (COALESCE(kickoff_time, TIME '23:59:59')) DESC,
+                        id DESC)
+                    """);
+        } catch (DataAccessException e) {
+            // listele merg și fără index, doar cu sortare completă
+            log.warn("[MatchListIndex] Nu pot crea indexul keyset: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
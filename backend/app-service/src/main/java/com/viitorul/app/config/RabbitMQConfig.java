@@ -51,6 +51,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory cf, MessageConverter conv) {
         RabbitTemplate t = new RabbitTemplate(cf);
         t.setMessageConverter(conv);
+        // mesajele fără coadă revin ca „returned” (publisher confirms, vezi AnnouncementOutboxService)
+        t.setMandatory(true);
         return t;
     }
 }
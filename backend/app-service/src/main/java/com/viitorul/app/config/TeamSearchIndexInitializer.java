@@ -0,0 +1,56 @@
+package com.viitorul.app.config;
+
+import com.viitorul.app.entity.Team;
+import com.viitorul.app.repository.TeamRepository;
+import com.viitorul.app.util.SearchKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * La pornire: completează {@code teams.search_key} pentru rândurile vechi și creează indexul
+ * trigram (pg_trgm) pe care îl folosește căutarea după nume ({@code LIKE '%q%'}).
+ * Schema e gestionată de {@code ddl-auto=update}, care nu știe de extensii sau de indexuri GIN.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamSearchIndexInitializer {
+
+    private final TeamRepository teamRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        backfillSearchKeys();
+        createTrigramIndex();
+    }
+
+    private void backfillSearchKeys() {
+        List<Team> stale = teamRepository.findAll().stream()
+                .filter(t -> !Objects.equals(t.getSearchKey(), SearchKeys.fold(t.getName())))
+                .toList();
+        if (stale.isEmpty()) return;
+        stale.forEach(t -> t.setSearchKey(SearchKeys.fold(t.getName())));
+        teamRepository.saveAll(stale);
+        log.info("[TeamSearchIndex] search_key completat pentru {} echipe", stale.size());
+    }
+
+    private void createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_teams_search_key_trgm "
+                    + "ON teams USING gin (search_key gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            // fără drepturi de CREATE EXTENSION: căutarea merge, doar fără index
+            log.warn("[TeamSearchIndex] Nu pot crea indexul trigram: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
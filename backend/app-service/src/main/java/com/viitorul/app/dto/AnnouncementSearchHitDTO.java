@@ -0,0 +1,17 @@
+package com.viitorul.app.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Un rezultat din căutarea full-text. {@code titleHighlighted} și {@code snippet} sunt HTML deja
+ * escapat, cu termenii găsiți marcați în {@code <mark>}.
+ */
+public record AnnouncementSearchHitDTO(
+        Long id,
+        String title,
+        String titleHighlighted,
+        String snippet,
+        OffsetDateTime publishedAt,
+        String coverUrl,
+        float rank
+) {}
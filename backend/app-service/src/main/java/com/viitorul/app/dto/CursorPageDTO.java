@@ -0,0 +1,10 @@
+package com.viitorul.app.dto;
+
+import java.util.List;
+
+/**
+ * O pagină obținută prin keyset pagination.
+ * {@code nextCursor == null} înseamnă că nu mai există elemente; {@code totalElements} e completat
+ * doar la cerere ({@code withTotal=true}), pentru că numărarea costă cât o scanare completă.
+ */
+public record CursorPageDTO<T>(List<T> items, String nextCursor, Long totalElements) {}
@@ -0,0 +1,7 @@
+package com.viitorul.app.dto;
+
+import java.util.List;
+
+/** Bilanțul direct al {@code teamId} cu {@code opponentId}; ultimele întâlniri, cea mai recentă prima. */
+public record HeadToHeadDTO(Long teamId, Long opponentId, int played, int wins, int draws, int losses,
+                            int goalsFor, int goalsAgainst, List<ResultLineDTO> lastMeetings) {}
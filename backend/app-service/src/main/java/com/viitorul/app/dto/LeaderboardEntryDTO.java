@@ -0,0 +1,16 @@
+package com.viitorul.app.dto;
+
+/** Un rând de clasament; jucătorii la egalitate primesc același loc (1, 2, 2, 4). */
+public record LeaderboardEntryDTO(int rank, Long playerId, String playerName, Integer shirtNumber,
+                                  String playerProfileImageUrl, long value) {
+
+    /** Folosit de interogarea JPQL; locul e completat după sortare. */
+    public LeaderboardEntryDTO(Long playerId, String playerName, Integer shirtNumber,
+                               String playerProfileImageUrl, Long value) {
+        this(0, playerId, playerName, shirtNumber, playerProfileImageUrl, value == null ? 0 : value);
+    }
+
+    public LeaderboardEntryDTO withRank(int rank) {
+        return new LeaderboardEntryDTO(rank, playerId, playerName, shirtNumber, playerProfileImageUrl, value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.viitorul.app.dto;
+
+import java.util.List;
+
+/** Toate clasamentele pentru un sezon și/sau o competiție ({@code null} = toate). */
+public record LeaderboardsDTO(Long seasonId, Long competitionId,
+                              List<LeaderboardEntryDTO> goals,
+                              List<LeaderboardEntryDTO> assists,
+                              List<LeaderboardEntryDTO> cards,
+                              List<LeaderboardEntryDTO> appearances,
+                              List<LeaderboardEntryDTO> mvpVotes) {}
@@ -0,0 +1,48 @@
+package com.viitorul.app.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Poziția în listele de meciuri ordonate după (date, kickoffTime, id) descrescător.
+ * <p>
+ * Data/ora lipsă sunt înlocuite cu {@link #NO_DATE}/{@link #NO_TIME} (aceleași valori ca în
+ * {@code COALESCE}-ul din interogări), deci meciurile fără oră rămân primele din ziua lor,
+ * ca la {@code ORDER BY ... DESC} în PostgreSQL. Clientul primește poziția ca token opac.
+ */
+public record MatchCursor(LocalDate date, LocalTime kickoffTime, long id) {
+
+    public static final LocalDate NO_DATE = LocalDate.of(9999, 12, 31);
+    public static final LocalTime NO_TIME = LocalTime.of(23, 59, 59);
+
+    /** Înaintea primului meci: orice rând e „după” această poziție. */
+    public static final MatchCursor START = new MatchCursor(NO_DATE, NO_TIME, Long.MAX_VALUE);
+
+    public static MatchCursor after(MatchListRow row) {
+        return new MatchCursor(
+                row.date() != null ? row.date() : NO_DATE,
+                row.kickoffTime() != null ? row.kickoffTime() : NO_TIME,
+                row.id());
+    }
+
+    public String encode() {
+        String raw = date + "|" + kickoffTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String token) {
+        if (token == null || token.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new MatchCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
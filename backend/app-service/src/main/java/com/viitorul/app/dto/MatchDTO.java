@@ -69,4 +69,30 @@ public class MatchDTO {
                 .active(match.isActive())
                 .build();
     }
+
+    public static MatchDTO fromRow(MatchListRow row, List<Long> startingPlayerIds, List<Long> substitutePlayerIds) {
+        return MatchDTO.builder()
+                .id(row.id())
+                .homeTeamId(row.homeTeamId())
+                .awayTeamId(row.awayTeamId())
+                .homeTeamName(row.homeTeamName())
+                .awayTeamName(row.awayTeamName())
+                .homeTeamLogo(row.homeTeamLogo())
+                .awayTeamLogo(row.awayTeamLogo())
+                .date(row.date())
+                .kickoffTime(row.kickoffTime())
+                .location(row.location())
+                .competitionId(row.competitionId())
+                .competitionName(row.competitionName())
+                .seasonId(row.seasonId())
+                .seasonLabel(row.seasonLabel())
+                .homeGoals(row.homeGoals())
+                .awayGoals(row.awayGoals())
+                .notes(row.notes())
+                .matchReportUrl(row.matchReportUrl())
+                .startingPlayerIds(startingPlayerIds)
+                .substitutePlayerIds(substitutePlayerIds)
+                .active(row.active())
+                .build();
+    }
 }
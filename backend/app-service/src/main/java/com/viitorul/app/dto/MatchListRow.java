@@ -0,0 +1,20 @@
+package com.viitorul.app.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Un rând din listele de meciuri, citit direct cu JOIN-uri (fără entități, fără lazy loads).
+ * Lotul (id-urile jucătorilor) e adus separat, într-o singură interogare pentru toată pagina.
+ */
+public record MatchListRow(
+        Long id,
+        Long homeTeamId, String homeTeamName, String homeTeamLogo,
+        Long awayTeamId, String awayTeamName, String awayTeamLogo,
+        LocalDate date, LocalTime kickoffTime, String location,
+        Long competitionId, String competitionName,
+        Long seasonId, String seasonLabel,
+        Integer homeGoals, Integer awayGoals,
+        String notes, String matchReportUrl,
+        boolean active
+) {}
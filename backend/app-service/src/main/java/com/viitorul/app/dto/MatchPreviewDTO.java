@@ -0,0 +1,5 @@
+package com.viitorul.app.dto;
+
+/** Datele pentru pagina de prezentare a unui meci: bilanțul direct și forma celor două echipe în sezon. */
+public record MatchPreviewDTO(Long matchId, Long seasonId, HeadToHeadDTO headToHead,
+                              TeamFormDTO homeTeam, TeamFormDTO awayTeam) {}
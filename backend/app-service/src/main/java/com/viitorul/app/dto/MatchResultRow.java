@@ -0,0 +1,17 @@
+package com.viitorul.app.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Minimul necesar pentru formă / head-to-head: cine a jucat, când, scorul și sezonul. */
+public record MatchResultRow(
+        Long id, LocalDate date, LocalTime kickoffTime,
+        Long homeTeamId, Long awayTeamId,
+        Integer homeGoals, Integer awayGoals,
+        Long seasonId,
+        boolean active
+) {
+    public boolean isFinished() {
+        return active && homeGoals != null && awayGoals != null;
+    }
+}
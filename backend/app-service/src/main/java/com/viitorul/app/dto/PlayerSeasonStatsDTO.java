@@ -0,0 +1,15 @@
+package com.viitorul.app.dto;
+
+import com.viitorul.app.entity.PlayerSeasonStats;
+
+/** Totalurile unui jucător pe un sezon; {@code seasonId == null} = meciuri fără sezon. */
+public record PlayerSeasonStatsDTO(Long seasonId, int appearances, int starts, int goals, int assists,
+                                   int yellowCards, int redCards, int mvpWins, long mvpVotes) {
+
+    public static PlayerSeasonStatsDTO toDto(PlayerSeasonStats s) {
+        return new PlayerSeasonStatsDTO(
+                s.getSeasonId() == PlayerSeasonStats.NO_SEASON ? null : s.getSeasonId(),
+                s.getAppearances(), s.getStarts(), s.getGoals(), s.getAssists(),
+                s.getYellowCards(), s.getRedCards(), s.getMvpWins(), s.getMvpVotes());
+    }
+}
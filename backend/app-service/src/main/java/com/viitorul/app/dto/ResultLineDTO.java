@@ -0,0 +1,7 @@
+package com.viitorul.app.dto;
+
+import java.time.LocalDate;
+
+/** Un rezultat văzut din perspectiva unei echipe; {@code outcome} e W / D / L. */
+public record ResultLineDTO(Long matchId, LocalDate date, Long homeTeamId, Long awayTeamId,
+                            int homeGoals, int awayGoals, char outcome) {}
@@ -0,0 +1,4 @@
+package com.viitorul.app.dto;
+
+/** Bilanț acasă sau în deplasare (3 puncte la victorie, 1 la egal). */
+public record SplitDTO(int played, int wins, int draws, int losses, int goalsFor, int goalsAgainst, int points) {}
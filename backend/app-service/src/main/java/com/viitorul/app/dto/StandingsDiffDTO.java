@@ -0,0 +1,37 @@
+package com.viitorul.app.dto;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingsDiffDTO {
+    private Long fromSnapshotId;
+    private Long toSnapshotId;
+    private OffsetDateTime fromCreatedAt;
+    private OffsetDateTime toCreatedAt;
+    private List<Entry> rows;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private String teamName;
+        private Integer previousRank;
+        private Integer currentRank;
+        /** Pozitiv = a urcat în clasament. null dacă echipa lipsește dintr-unul din snapshot-uri. */
+        private Integer rankMove;
+        private Integer previousPoints;
+        private Integer currentPoints;
+        private Integer pointsDelta;
+        /** NEW, REMOVED, CHANGED sau UNCHANGED */
+        private String status;
+    }
+}
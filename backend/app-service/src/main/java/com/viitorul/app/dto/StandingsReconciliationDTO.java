@@ -0,0 +1,41 @@
+package com.viitorul.app.dto;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Clasamentul calculat din rezultatele noastre comparat cu ultimul snapshot (scrape sau manual). */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingsReconciliationDTO {
+    private Long seasonId;
+    private Long snapshotId;
+    private OffsetDateTime snapshotCreatedAt;
+    /** Fiecare echipă din snapshot există la noi, cu cel puțin tot atâtea meciuri jucate. */
+    private boolean complete;
+    /**
+     * Snapshot-ul e luat după ultimul nostru rezultat din sezon și nu e mai vechi de
+     * {@code app.standings.computed.max-snapshot-age}; altfel „complete” poate compara cu date expirate.
+     */
+    private boolean snapshotFresh;
+    private List<Discrepancy> discrepancies;
+    private List<String> missingInComputed;
+    private List<String> missingInSnapshot;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Discrepancy {
+        private String teamName;
+        /** rank, played, wins, draws, losses, goalsFor, goalsAgainst sau points */
+        private String field;
+        private Integer computed;
+        private Integer scraped;
+    }
+}
@@ -0,0 +1,17 @@
+package com.viitorul.app.dto;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingsSnapshotDTO {
+    private Long id;
+    private String contentHash;
+    private Integer rowCount;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package com.viitorul.app.dto;
+
+import java.util.List;
+
+/**
+ * Forma unei echipe într-un sezon ({@code seasonId == null} = tot istoricul).
+ * {@code form} e citit de la stânga (cel mai vechi) la dreapta (cel mai recent), ex. „WDLWW”;
+ * {@code goalDifferenceTrend} e golaverajul cumulat după fiecare meci, în ordine cronologică.
+ */
+public record TeamFormDTO(Long teamId, Long seasonId, String form, List<ResultLineDTO> lastMatches,
+                          SplitDTO home, SplitDTO away, List<Integer> goalDifferenceTrend) {}
@@ -0,0 +1,4 @@
+package com.viitorul.app.dto;
+
+/** O pereche (meci, jucător) la care tally-ul diferă de voturile reale. */
+public record VoteTallyMismatchDTO(Long matchId, Long playerId, long tallied, long actual) {}
@@ -31,8 +31,10 @@ public class Announcement {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String contentText;
 
-    @Column(nullable = false)
+    // scrise doar de AnnouncementOutboxService (UPDATE direct), ca o editare concurentă să nu le suprascrie
+    @Column(nullable = false, updatable = false)
     private boolean sentToSubscribers = false;
 
+    @Column(updatable = false)
     private OffsetDateTime sentAt;
 }
@@ -0,0 +1,62 @@
+package com.viitorul.app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Un mesaj de trimis pe RabbitMQ, scris în aceeași tranzacție cu anunțul.
+ * {@code payload} e deja JSON-ul final ({@code payloadType} = clasa pentru {@code __TypeId__});
+ * rândul e marcat trimis doar după confirmarea broker-ului.
+ */
+@Entity
+@Table(name = "announcement_outbox",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"announcement_id", "routing_key"}),
+        indexes = @Index(name = "idx_announcement_outbox_pending", columnList = "sent_at, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class AnnouncementOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    @Column(nullable = false)
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** Momentul publicării anunțului; lag-ul se măsoară de aici. */
+    @Column(nullable = false)
+    private OffsetDateTime dueAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+    /** Publicat de relay, confirmarea e așteptată până atunci; după, rândul poate fi reluat. */
+    @Column(name = "claimed_until")
+    private OffsetDateTime claimedUntil;
+
+    private int attempts;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,39 @@
+package com.viitorul.app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Numărul de voturi MVP per (meci, jucător), ținut la zi în aceeași tranzacție cu votul.
+ * Sursa de adevăr rămâne {@link MatchMvpVote}; tabela poate fi oricând reconstruită din ea.
+ */
+@Entity
+@Table(name = "match_mvp_tally")
+@IdClass(MatchMvpTally.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchMvpTally {
+
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(nullable = false)
+    private long votes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long matchId;
+        private Long playerId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.viitorul.app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Totalurile unui jucător pe un sezon, derivate din loturi, {@link MatchPlayerStat} și tally-ul MVP.
+ * Doar meciurile active contează; {@code seasonId = 0} adună meciurile fără sezon.
+ * Tabela poate fi oricând reconstruită din sursă.
+ */
+@Entity
+@Table(name = "player_season_stats")
+@IdClass(PlayerSeasonStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSeasonStats {
+
+    public static final long NO_SEASON = 0L;
+
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Id
+    @Column(name = "season_id")
+    private Long seasonId;
+
+    private int appearances;
+    private int starts;
+    private int goals;
+    private int assists;
+    private int yellowCards;
+    private int redCards;
+    private int mvpWins;
+
+    @Column(name = "mvp_votes", columnDefinition = "bigint not null default 0")
+    private long mvpVotes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long playerId;
+        private Long seasonId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.viitorul.app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Versiune compactă a unui clasament: rândurile sunt păstrate ca JSON într-o singură coloană,
+ * iar hash-ul conținutului ne spune dacă un scrape nou aduce ceva diferit.
+ */
+@Entity
+@Table(name = "standings_snapshot",
+        indexes = @Index(name = "ix_standings_snapshot_hash", columnList = "content_hash"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingsSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(columnDefinition = "TEXT")
+    private String sourceUrl;
+
+    @Column(nullable = false)
+    private int rowCount;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String rowsJson;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+}
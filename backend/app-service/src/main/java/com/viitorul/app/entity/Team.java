@@ -1,5 +1,6 @@
 package com.viitorul.app.entity;
 
+import com.viitorul.app.util.SearchKeys;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
@@ -18,4 +19,13 @@ public class Team {
     private String logo;
     private boolean active = true;
 
+    /** {@code SearchKeys.fold(name)}; indexat trigram pentru căutarea după nume. */
+    @Column(name = "search_key")
+    private String searchKey;
+
+    @PrePersist
+    @PreUpdate
+    void updateSearchKey() {
+        searchKey = SearchKeys.fold(name);
+    }
 }
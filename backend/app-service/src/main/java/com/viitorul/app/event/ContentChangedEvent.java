@@ -0,0 +1,31 @@
+package com.viitorul.app.event;
+
+/**
+ * Publicat (în proces) când o știre, un jucător, un meci, o echipă sau o competiție e
+ * creat(ă)/modificat(ă)/șters(ă), ca să poată fi invalidate cache-urile construite din ele
+ * (sitemap, preview-uri, fixtures etc.).
+ */
+public record ContentChangedEvent(Type type, Long id) {
+
+    public enum Type { ANNOUNCEMENT, PLAYER, MATCH, TEAM, COMPETITION }
+
+    public static ContentChangedEvent announcement(Long id) {
+        return new ContentChangedEvent(Type.ANNOUNCEMENT, id);
+    }
+
+    public static ContentChangedEvent player(Long id) {
+        return new ContentChangedEvent(Type.PLAYER, id);
+    }
+
+    public static ContentChangedEvent match(Long id) {
+        return new ContentChangedEvent(Type.MATCH, id);
+    }
+
+    public static ContentChangedEvent team(Long id) {
+        return new ContentChangedEvent(Type.TEAM, id);
+    }
+
+    public static ContentChangedEvent competition(Long id) {
+        return new ContentChangedEvent(Type.COMPETITION, id);
+    }
+}
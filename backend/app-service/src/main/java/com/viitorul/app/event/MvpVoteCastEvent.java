@@ -0,0 +1,4 @@
+package com.viitorul.app.event;
+
+/** Publicat în tranzacția unui vot MVP; ascultătorii îl primesc după commit. */
+public record MvpVoteCastEvent(Long matchId) {}
@@ -0,0 +1,6 @@
+package com.viitorul.app.event;
+
+import java.util.Set;
+
+/** Publicat când statisticile, lotul sau sezonul unui meci se schimbă; agregatele jucătorilor se recalculează după commit. */
+public record PlayerStatsChangedEvent(Set<Long> playerIds) {}
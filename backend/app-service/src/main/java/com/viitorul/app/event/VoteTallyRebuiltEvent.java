@@ -0,0 +1,4 @@
+package com.viitorul.app.event;
+
+/** Tally-ul MVP a fost reconstruit din voturi; {@code matchId == null} înseamnă toate meciurile. */
+public record VoteTallyRebuiltEvent(Long matchId) {}
@@ -0,0 +1,66 @@
+package com.viitorul.app.repository;
+
+import com.viitorul.app.entity.AnnouncementOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnnouncementOutboxRepository extends JpaRepository<AnnouncementOutbox, Long> {
+
+    /**
+     * Următorul lot scadent, blocat pentru revendicare; rândurile blocate sau revendicate de altă instanță
+     * sunt sărite, deci mai multe instanțe app-service pot rula relay-ul în paralel.
+     */
+    @Query(value = """
+        SELECT * FROM announcement_outbox
+         WHERE sent_at IS NULL AND next_attempt_at <= :now
+           AND (claimed_until IS NULL OR claimed_until < :now)
+         ORDER BY next_attempt_at, id
+         LIMIT :limit
+         FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<AnnouncementOutbox> lockDueBatch(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /** Așteaptă doar tranzacțiile scurte ale relay-ului (revendicare, rezultat), nu și confirmarea broker-ului. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AnnouncementOutbox> findByAnnouncementIdAndRoutingKeyAndSentAtIsNull(Long announcementId, String routingKey);
+
+    boolean existsByAnnouncementIdAndRoutingKey(Long announcementId, String routingKey);
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementOutbox o WHERE o.announcementId = :announcementId AND o.sentAt IS NULL")
+    int deleteUnsent(@Param("announcementId") Long announcementId);
+
+    @Modifying
+    @Query("""
+        UPDATE AnnouncementOutbox o
+           SET o.sentAt = :sentAt, o.attempts = o.attempts + 1, o.lastError = NULL, o.claimedUntil = NULL
+         WHERE o.id = :id AND o.sentAt IS NULL
+        """)
+    int markSent(@Param("id") Long id, @Param("sentAt") OffsetDateTime sentAt);
+
+    /** O editare venită între timp poate muta publicarea mai târziu; reîncercarea nu pleacă înaintea ei. */
+    @Modifying
+    @Query("""
+        UPDATE AnnouncementOutbox o
+           SET o.attempts = o.attempts + 1, o.lastError = :error, o.claimedUntil = NULL,
+               o.nextAttemptAt = CASE WHEN o.dueAt > :next THEN o.dueAt ELSE :next END
+         WHERE o.id = :id AND o.sentAt IS NULL
+        """)
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("next") OffsetDateTime next);
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementOutbox o WHERE o.sentAt < :before")
+    int deleteSentBefore(@Param("before") OffsetDateTime before);
+
+    long countBySentAtIsNullAndDueAtLessThanEqual(OffsetDateTime now);
+
+    Optional<AnnouncementOutbox> findFirstBySentAtIsNullAndDueAtLessThanEqualOrderByDueAtAsc(OffsetDateTime now);
+}
@@ -4,6 +4,7 @@ import com.viitorul.app.entity.Announcement;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -37,6 +38,73 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
             Pageable pageable
     );
 
-    List<Announcement> findByPublishedAtLessThanEqualAndSentToSubscribersFalse(OffsetDateTime now);
+    List<Announcement> findBySentToSubscribersFalse();
+
+    /** Setat doar de relay-ul outbox-ului, după confirmarea broker-ului. */
+    @Modifying
+    @Query("UPDATE Announcement a SET a.sentToSubscribers = true, a.sentAt = :sentAt WHERE a.id = :id")
+    int markSentToSubscribers(@Param("id") Long id, @Param("sentAt") OffsetDateTime sentAt);
+
+    /**
+     * Căutare full-text (vezi {@code AnnouncementSearchIndexInitializer}), ordonată după relevanță,
+     * cu keyset pe (rank, id). Snippet-urile se calculează doar pentru rândurile din pagină.
+     * Coloane: id, title, published_at, cover_url, rank, title_hl, snippet.
+     */
+    @Query(value = """
+           WITH q AS (SELECT websearch_to_tsquery('ro_unaccent', :q) AS query),
+           page AS (
+               SELECT h.id, h.rank FROM (
+                   SELECT a.id, ts_rank_cd(a.search_vector, q.query) AS rank
+                     FROM announcement a, q
+                    WHERE a.search_vector @@ q.query
+                      AND a.published_at <= :now
+               ) h
+               WHERE h.rank < CAST(:cRank AS real)
+                  OR (h.rank = CAST(:cRank AS real) AND h.id < :cId)
+               ORDER BY h.rank DESC, h.id DESC
+               LIMIT :limit
+           )
+           SELECT a.id, a.title, a.published_at, a.cover_url, p.rank,
+                  ts_headline('ro_unaccent', a.title, q.query, :titleOptions),
+                  ts_headline('ro_unaccent', a.content_text, q.query, :snippetOptions)
+             FROM page p
+             JOIN announcement a ON a.id = p.id
+            CROSS JOIN q
+            ORDER BY p.rank DESC, p.id DESC
+           """, nativeQuery = true)
+    List<Object[]> fullTextSearch(@Param("q") String q,
+                                  @Param("now") OffsetDateTime now,
+                                  @Param("cRank") String cursorRank,
+                                  @Param("cId") Long cursorId,
+                                  @Param("limit") int limit,
+                                  @Param("titleOptions") String titleOptions,
+                                  @Param("snippetOptions") String snippetOptions);
+
+    /**
+     * Varianta fără index full-text ({@code AnnouncementSearchIndexInitializer} a eșuat): LIKE pe titlu și
+     * text, keyset pe id. Coloane: id, title, published_at, cover_url, începutul textului.
+     */
+    @Query(value = """
+           SELECT a.id, a.title, a.published_at, a.cover_url, LEFT(a.content_text, 240)
+             FROM announcement a
+            WHERE a.published_at <= :now
+              AND a.id < :cId
+              AND (LOWER(a.title) LIKE LOWER(CONCAT('%', :q, '%'))
+                   OR LOWER(a.content_text) LIKE LOWER(CONCAT('%', :q, '%')))
+            ORDER BY a.id DESC
+            LIMIT :limit
+           """, nativeQuery = true)
+    List<Object[]> likeSearch(@Param("q") String q,
+                              @Param("now") OffsetDateTime now,
+                              @Param("cId") Long cursorId,
+                              @Param("limit") int limit);
+
+    // sitemap: keyset pe id, doar coloanele necesare (id, title, publishedAt)
+    @Query("""
+           SELECT a.id, a.title, a.publishedAt FROM Announcement a
+           WHERE a.id > :afterId
+           ORDER BY a.id ASC
+           """)
+    List<Object[]> findSitemapEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
 
 }
@@ -0,0 +1,75 @@
+package com.viitorul.app.repository;
+
+import com.viitorul.app.entity.MatchMvpTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MatchMvpTallyRepository extends JpaRepository<MatchMvpTally, MatchMvpTally.Key> {
+
+    @Query("SELECT t FROM MatchMvpTally t WHERE t.matchId = :matchId AND t.votes > 0")
+    List<MatchMvpTally> findByMatchId(@Param("matchId") Long matchId);
+
+    /** Toți jucătorii votați vreodată la meci, inclusiv cei rămași la 0 după mutarea unui vot. */
+    @Query("SELECT t.playerId FROM MatchMvpTally t WHERE t.matchId = :matchId")
+    List<Long> findPlayerIdsByMatchId(@Param("matchId") Long matchId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO match_mvp_tally (match_id, player_id, votes) VALUES (:matchId, :playerId, 1)
+        ON CONFLICT (match_id, player_id) DO UPDATE SET votes = match_mvp_tally.votes + 1
+        """, nativeQuery = true)
+    int increment(@Param("matchId") Long matchId, @Param("playerId") Long playerId);
+
+    @Modifying
+    @Query(value = """
+        UPDATE match_mvp_tally SET votes = votes - 1
+         WHERE match_id = :matchId AND player_id = :playerId AND votes > 0
+        """, nativeQuery = true)
+    int decrement(@Param("matchId") Long matchId, @Param("playerId") Long playerId);
+
+    /** Blochează upsert-urile concurente cât timp reconstruim (ele iau ROW EXCLUSIVE). */
+    @Modifying
+    @Query(value = "LOCK TABLE match_mvp_tally IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM match_mvp_tally WHERE match_id = :matchId", nativeQuery = true)
+    int deleteByMatchId(@Param("matchId") Long matchId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO match_mvp_tally (match_id, player_id, votes)
+        SELECT match_id, player_id, COUNT(*) FROM match_mvp_vote
+         WHERE match_id = :matchId
+         GROUP BY match_id, player_id
+        """, nativeQuery = true)
+    int rebuildMatch(@Param("matchId") Long matchId);
+
+    @Modifying
+    @Query(value = "DELETE FROM match_mvp_tally", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO match_mvp_tally (match_id, player_id, votes)
+        SELECT match_id, player_id, COUNT(*) FROM match_mvp_vote
+         GROUP BY match_id, player_id
+        """, nativeQuery = true)
+    int rebuildAll();
+
+    /** [match_id, player_id, tally, numărătoare reală] pentru perechile care diferă. */
+    @Query(value = """
+        SELECT COALESCE(t.match_id, v.match_id), COALESCE(t.player_id, v.player_id),
+               COALESCE(t.votes, 0), COALESCE(v.cnt, 0)
+          FROM (SELECT match_id, player_id, votes FROM match_mvp_tally WHERE votes > 0) t
+          FULL OUTER JOIN (SELECT match_id, player_id, COUNT(*) AS cnt
+                             FROM match_mvp_vote GROUP BY match_id, player_id) v
+            ON t.match_id = v.match_id AND t.player_id = v.player_id
+         WHERE COALESCE(t.votes, 0) <> COALESCE(v.cnt, 0)
+        """, nativeQuery = true)
+    List<Object[]> findMismatches();
+}
@@ -0,0 +1,38 @@
+package com.viitorul.app.repository;
+
+import com.viitorul.app.entity.MatchPlayerStat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserare în lot pentru statisticile de meci.
+ * <p>
+ * Cu {@code GenerationType.IDENTITY} Hibernate nu poate grupa INSERT-urile (are nevoie de id după fiecare),
+ * așa că rândurile noi trec direct prin JDBC batch. Rulează în tranzacția JPA curentă (aceeași conexiune).
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchPlayerStatBatchRepository {
+
+    private static final String INSERT = """
+            INSERT INTO match_player_stat (match_id, player_id, goals, assists, yellow_cards, red_card)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<MatchPlayerStat> stats) {
+        if (stats.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT, stats, stats.size(), (ps, s) -> {
+            ps.setLong(1, s.getMatch().getId());
+            ps.setLong(2, s.getPlayer().getId());
+            ps.setInt(3, s.getGoals());
+            ps.setInt(4, s.getAssists());
+            ps.setInt(5, s.getYellowCards());
+            ps.setBoolean(6, s.isRedCard());
+        });
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,20 @@ public interface MatchPlayerStatRepository extends JpaRepository<MatchPlayerStat
     Optional<MatchPlayerStat> findByMatch_IdAndPlayer_Id(Long matchId, Long playerId);
     List<MatchPlayerStat> findByMatch_Id(Long matchId);
 
+    @Query("SELECT s.player.id FROM MatchPlayerStat s WHERE s.match.id = :matchId")
+    List<Long> findPlayerIdsByMatchId(@Param("matchId") Long matchId);
+
+    /** Statisticile existente ale unui meci pentru jucătorii din lot, cu jucătorul adus în același SELECT. */
+    @Query("""
+        SELECT s FROM MatchPlayerStat s
+        JOIN FETCH s.player p
+        WHERE s.match.id = :matchId AND p.id IN :playerIds
+        """)
+    List<MatchPlayerStat> findForMatchAndPlayers(
+            @Param("matchId") Long matchId,
+            @Param("playerIds") Collection<Long> playerIds
+    );
+
     @Query("""
         SELECT s FROM MatchPlayerStat s
         JOIN s.match m
@@ -1,37 +1,75 @@
 package com.viitorul.app.repository;
 
+import com.viitorul.app.dto.MatchListRow;
+import com.viitorul.app.dto.MatchResultRow;
 import com.viitorul.app.entity.Match;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
-    @Query("""
-            SELECT m FROM Match m
+    /** SELECT-ul comun pentru listele de meciuri: o singură interogare, fără entități. */
+    String LIST_ROW_SELECT = """
+            SELECT new com.viitorul.app.dto.MatchListRow(
+                m.id, ht.id, ht.name, ht.logo, at.id, at.name, at.logo,
+                m.date, m.kickoffTime, m.location, c.id, c.name, s.id, s.label,
+                m.homeGoals, m.awayGoals, m.notes, m.matchReportUrl, m.active)
+            FROM Match m
+            JOIN m.homeTeam ht
+            JOIN m.awayTeam at
+            LEFT JOIN m.competition c
+            LEFT JOIN m.season s
+            """;
+
+    @Query(LIST_ROW_SELECT + """
             WHERE m.active = true
               AND (m.homeGoals IS NULL OR m.awayGoals IS NULL)
               AND m.date >= CURRENT_DATE
             ORDER BY m.date ASC, m.kickoffTime ASC
             """)
-    List<Match> findUpcomingMatches();
+    List<MatchListRow> findUpcomingMatches();
+
+    @Query(LIST_ROW_SELECT)
+    List<MatchListRow> findAllListRows();
+
+    /**
+     * Lotul pentru o pagină de meciuri: [match_id, player_id, 'S' (titular) / 'R' (rezervă)].
+     * Tabelele de legătură n-au coloană de ordine, deci ordonăm explicit (meci, titulari întâi, id jucător),
+     * ca lista să fie aceeași la fiecare cerere.
+     */
+    @Query(value = """
+            SELECT match_id, player_id, kind FROM (
+                SELECT match_id, player_id, 'S' AS kind FROM match_starting_players WHERE match_id IN (:matchIds)
+                UNION ALL
+                SELECT match_id, player_id, 'R' AS kind FROM match_substitute_players WHERE match_id IN (:matchIds)
+            ) squad
+            ORDER BY match_id, kind DESC, player_id
+            """, nativeQuery = true)
+    List<Object[]> findSquadPlayerIds(@Param("matchIds") Collection<Long> matchIds);
 
     Optional<Match> findFirstByActiveTrueAndHomeGoalsIsNotNullAndAwayGoalsIsNotNullOrderByDateDescKickoffTimeDescIdDesc();
 
 
+    /** Filtru pe echipă; {@code :anyTeam = true} îl dezactivează ({@code :teamIds} trebuie totuși să fie nevid). */
+    String TEAM_FILTER = """
+              AND (:anyTeam = true OR m.homeTeam.id IN :teamIds OR m.awayTeam.id IN :teamIds)
+            """;
+
     /**
-     * Căutare fără diacritice doar pe numele echipelor + filtrare sezon (ID sau LABEL), ambele opționale.
+     * Filtrul pentru rezultate: meciuri încheiate, sezon (ID sau LABEL) și echipă, toate opționale.
+     * Căutarea text e rezolvată înainte în {@code :teamIds} (vezi {@code TeamRepository.findIdsBySearchKeyContaining});
+     * {@code :anyTeam = true} dezactivează filtrul pe echipă. Presupune alias-urile {@code m, s}.
      * IMPORTANT: forțăm CAST(... AS string) pe parametri înainte de unaccent() ca să evităm unaccent(bytea).
      */
-    @Query(value = """
-            SELECT m FROM Match m
-            LEFT JOIN m.season s
-            JOIN m.homeTeam ht
-            JOIN m.awayTeam at
+    String FINISHED_FILTER = """
             WHERE m.active = true
               AND m.homeGoals IS NOT NULL
               AND m.awayGoals IS NOT NULL
@@ -41,43 +79,46 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
                    LOWER(FUNCTION('unaccent', COALESCE(s.label,'')))
                      = LOWER(FUNCTION('unaccent', CAST(:seasonLabel AS string)))
               )
+            """ + TEAM_FILTER;
+
+    /** Meciuri active, opțional doar ale echipelor din {@code :teamIds}. */
+    String ACTIVE_FILTER = """
+            WHERE m.active = true
+            """ + TEAM_FILTER;
+
+    /**
+     * Keyset: rândurile strict după cursor în ordinea (date, kickoffTime, id) descrescător.
+     * Valorile din COALESCE sunt {@code MatchCursor.NO_DATE/NO_TIME}; expresiile sunt exact cele din
+     * indexul {@code idx_match_list_keyset} (vezi {@code MatchListIndexInitializer}), iar primul
+     * {@code <=} e redundant logic, dar dă planificatorului limita de pornire a scanării pe index.
+     */
+    String SEEK_AFTER_CURSOR = """
+              AND COALESCE(m.date, {d '9999-12-31'}) <= :cDate
               AND (
-                    :q IS NULL OR :q = '' OR
-                    LOWER(FUNCTION('unaccent', ht.name)) LIKE
-                      CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-                    OR
-                    LOWER(FUNCTION('unaccent', at.name)) LIKE
-                      CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-                  )
+                    COALESCE(m.date, {d '9999-12-31'}) < :cDate
+                 OR (COALESCE(m.date, {d '9999-12-31'}) = :cDate
+                     AND COALESCE(m.kickoffTime, {t '23:59:59'}) < :cTime)
+                 OR (COALESCE(m.date, {d '9999-12-31'}) = :cDate
+                     AND COALESCE(m.kickoffTime, {t '23:59:59'}) = :cTime
+                     AND m.id < :cId)
+              )
+            ORDER BY COALESCE(m.date, {d '9999-12-31'}) DESC,
+                     COALESCE(m.kickoffTime, {t '23:59:59'}) DESC,
+                     m.id DESC
+            """;
+
+    @Query(value = LIST_ROW_SELECT + FINISHED_FILTER + """
             ORDER BY m.date DESC, m.kickoffTime DESC, m.id DESC
             """,
             countQuery = """
                     SELECT COUNT(m) FROM Match m
                     LEFT JOIN m.season s
-                    JOIN m.homeTeam ht
-                    JOIN m.awayTeam at
-                    WHERE m.active = true
-                      AND m.homeGoals IS NOT NULL
-                      AND m.awayGoals IS NOT NULL
-                      AND (:seasonId IS NULL OR (s IS NOT NULL AND s.id = :seasonId))
-                      AND (
-                           :seasonLabel IS NULL OR
-                           LOWER(FUNCTION('unaccent', COALESCE(s.label,'')))
-                             = LOWER(FUNCTION('unaccent', CAST(:seasonLabel AS string)))
-                      )
-                      AND (
-                            :q IS NULL OR :q = '' OR
-                            LOWER(FUNCTION('unaccent', ht.name)) LIKE
-                              CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-                            OR
-                            LOWER(FUNCTION('unaccent', at.name)) LIKE
-                              CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-                          )
-                    """)
-    Page<Match> searchFinishedMatches(@Param("q") String q,
-                                      @Param("seasonId") Long seasonId,
-                                      @Param("seasonLabel") String seasonLabel,
-                                      Pageable pageable);
+                    """ + FINISHED_FILTER)
+    Page<MatchListRow> searchFinishedMatches(@Param("anyTeam") boolean anyTeam,
+                                             @Param("teamIds") Collection<Long> teamIds,
+                                             @Param("seasonId") Long seasonId,
+                                             @Param("seasonLabel") String seasonLabel,
+                                             Pageable pageable);
 
     @Query("""
             SELECT DISTINCT s.label
@@ -91,22 +132,71 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
             """)
     List<String> findDistinctSeasonLabelsForFinished();
 
-    Page<Match> findAllByActiveTrueOrderByDateDesc(Pageable pageable);
-
-    @Query("""
-            SELECT m FROM Match m
-            LEFT JOIN m.homeTeam ht
-            LEFT JOIN m.awayTeam at
+    @Query(value = LIST_ROW_SELECT + """
             WHERE m.active = true
-              AND (
-                :q IS NULL OR :q = '' OR
-                LOWER(FUNCTION('unaccent', COALESCE(ht.name, ''))) LIKE
-                  CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-                OR
-                LOWER(FUNCTION('unaccent', COALESCE(at.name, ''))) LIKE
-                  CONCAT('%', LOWER(FUNCTION('unaccent', CAST(:q AS string))), '%')
-              )
+            ORDER BY m.date DESC
+            """,
+            countQuery = "SELECT COUNT(m) FROM Match m WHERE m.active = true")
+    Page<MatchListRow> findActiveListRows(Pageable pageable);
+
+    @Query(value = LIST_ROW_SELECT + ACTIVE_FILTER + """
             ORDER BY m.date DESC, m.kickoffTime DESC, m.id DESC
+            """,
+            countQuery = "SELECT COUNT(m) FROM Match m " + ACTIVE_FILTER)
+    Page<MatchListRow> searchAllByTeams(@Param("anyTeam") boolean anyTeam,
+                                        @Param("teamIds") Collection<Long> teamIds,
+                                        Pageable pageable);
+
+    /** Varianta keyset a lui {@link #searchFinishedMatches}; fără COUNT, limita vine din {@code pageable}. */
+    @Query(LIST_ROW_SELECT + FINISHED_FILTER + SEEK_AFTER_CURSOR)
+    List<MatchListRow> seekFinishedMatches(@Param("anyTeam") boolean anyTeam,
+                                           @Param("teamIds") Collection<Long> teamIds,
+                                           @Param("seasonId") Long seasonId,
+                                           @Param("seasonLabel") String seasonLabel,
+                                           @Param("cDate") LocalDate cursorDate,
+                                           @Param("cTime") LocalTime cursorTime,
+                                           @Param("cId") Long cursorId,
+                                           Pageable pageable);
+
+    /** Varianta keyset a listei de meciuri active (/page). */
+    @Query(LIST_ROW_SELECT + ACTIVE_FILTER + SEEK_AFTER_CURSOR)
+    List<MatchListRow> seekActiveMatches(@Param("anyTeam") boolean anyTeam,
+                                         @Param("teamIds") Collection<Long> teamIds,
+                                         @Param("cDate") LocalDate cursorDate,
+                                         @Param("cTime") LocalTime cursorTime,
+                                         @Param("cId") Long cursorId,
+                                         Pageable pageable);
+
+    // sitemap: keyset pe id, fără join-uri (id, date, homeGoals, awayGoals)
+    @Query("""
+            SELECT m.id, m.date, m.homeGoals, m.awayGoals FROM Match m
+            WHERE m.active = true AND m.id > :afterId
+            ORDER BY m.id ASC
+            """)
+    List<Object[]> findSitemapEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    String RESULT_ROW_SELECT = """
+            SELECT new com.viitorul.app.dto.MatchResultRow(
+                m.id, m.date, m.kickoffTime, m.homeTeam.id, m.awayTeam.id,
+                m.homeGoals, m.awayGoals, s.id, m.active)
+            FROM Match m
+            LEFT JOIN m.season s
+            """;
+
+    /** Toate rezultatele (meciuri active cu scor), pentru motorul de formă / head-to-head. */
+    @Query(RESULT_ROW_SELECT + """
+            WHERE m.active = true AND m.homeGoals IS NOT NULL AND m.awayGoals IS NOT NULL
             """)
-    Page<Match> searchAllByTeamNames(@Param("q") String q, Pageable pageable);
+    List<MatchResultRow> findAllResultRows();
+
+    /** Rezultatele unui sezon, pentru clasamentul calculat. */
+    @Query(RESULT_ROW_SELECT + """
+            WHERE m.active = true AND s.id = :seasonId
+              AND m.homeGoals IS NOT NULL AND m.awayGoals IS NOT NULL
+            """)
+    List<MatchResultRow> findResultRowsBySeason(@Param("seasonId") Long seasonId);
+
+    /** Un singur meci, indiferent de stare (actualizarea incrementală decide ce face cu el). */
+    @Query(RESULT_ROW_SELECT + " WHERE m.id = :id")
+    Optional<MatchResultRow> findResultRow(@Param("id") Long id);
 }
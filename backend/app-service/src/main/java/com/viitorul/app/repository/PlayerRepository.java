@@ -1,7 +1,10 @@
 package com.viitorul.app.repository;
 
 import com.viitorul.app.entity.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -14,4 +17,12 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findAllByOrderByNameAsc();
 
     boolean existsByIdAndIsActiveTrue(Long id);
+
+    // sitemap: keyset pe id, doar jucători activi (id, name)
+    @Query("""
+           SELECT p.id, p.name FROM Player p
+           WHERE p.isActive = true AND p.id > :afterId
+           ORDER BY p.id ASC
+           """)
+    List<Object[]> findSitemapEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,121 @@
+package com.viitorul.app.repository;
+
+import com.viitorul.app.dto.LeaderboardEntryDTO;
+import com.viitorul.app.entity.PlayerSeasonStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PlayerSeasonStatsRepository extends JpaRepository<PlayerSeasonStats, PlayerSeasonStats.Key> {
+
+    /** {@code :all = true} => toți jucătorii; altfel doar {@code :playerIds}. */
+    String PLAYER_FILTER = "(:all = true OR player_id IN (:playerIds))";
+
+    /** Între {@code LEADER_SELECT} și {@code LEADER_FROM} vine expresia agregată a metricii. */
+    String LEADER_SELECT = "SELECT new com.viitorul.app.dto.LeaderboardEntryDTO("
+            + "p.id, p.name, p.shirtNumber, p.profileImageUrl, ";
+
+    String LEADER_FROM = """
+        )
+        FROM PlayerSeasonStats s
+        JOIN Player p ON p.id = s.playerId
+        LEFT JOIN CompetitionSeason cs ON cs.id = s.seasonId
+        """;
+
+    String SCOPE = """
+        WHERE (:seasonId IS NULL OR s.seasonId = :seasonId)
+          AND (:competitionId IS NULL OR cs.competition.id = :competitionId)
+        GROUP BY p.id, p.name, p.shirtNumber, p.profileImageUrl
+        """;
+
+    List<PlayerSeasonStats> findByPlayerIdOrderBySeasonIdDesc(Long playerId);
+
+    /** Refresh-urile concurente (și rebuild-ul) se serializează; citirile nu sunt blocate. */
+    @Modifying
+    @Query(value = "LOCK TABLE player_season_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRefresh();
+
+    @Modifying
+    @Query(value = "DELETE FROM player_season_stats WHERE " + PLAYER_FILTER, nativeQuery = true)
+    int deleteForPlayers(@Param("all") boolean all, @Param("playerIds") Collection<Long> playerIds);
+
+    /**
+     * Recalculează totalurile din sursă: o linie per (jucător, meci) din loturi, statistici și tally-ul MVP
+     * (câștigători = toți cei la egalitate pe primul loc), apoi grupare pe sezon. Doar meciurile active.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO player_season_stats
+               (player_id, season_id, appearances, starts, goals, assists, yellow_cards, red_cards, mvp_wins, mvp_votes)
+        SELECT x.player_id, COALESCE(m.season_id, 0),
+               COUNT(*) FILTER (WHERE x.played), COUNT(*) FILTER (WHERE x.started),
+               SUM(x.goals), SUM(x.assists), SUM(x.yellows), SUM(x.reds),
+               COUNT(*) FILTER (WHERE x.mvp), SUM(x.votes)
+          FROM (SELECT player_id, match_id,
+                       bool_or(played) AS played, bool_or(started) AS started,
+                       SUM(goals) AS goals, SUM(assists) AS assists, SUM(yellows) AS yellows, SUM(reds) AS reds,
+                       bool_or(mvp) AS mvp, SUM(votes) AS votes
+                  FROM (SELECT player_id, match_id, TRUE AS played, TRUE AS started,
+                               0 AS goals, 0 AS assists, 0 AS yellows, 0 AS reds, FALSE AS mvp, 0 AS votes
+                          FROM match_starting_players
+                        UNION ALL
+                        SELECT player_id, match_id, TRUE, FALSE, 0, 0, 0, 0, FALSE, 0
+                          FROM match_substitute_players
+                        UNION ALL
+                        SELECT player_id, match_id, TRUE, FALSE,
+                               goals, assists, yellow_cards, CASE WHEN red_card THEN 1 ELSE 0 END, FALSE, 0
+                          FROM match_player_stat
+                        UNION ALL
+                        SELECT player_id, match_id, FALSE, FALSE, 0, 0, 0, 0, rk = 1, votes
+                          FROM (SELECT player_id, match_id, votes,
+                                       RANK() OVER (PARTITION BY match_id ORDER BY votes DESC) AS rk
+                                  FROM match_mvp_tally WHERE votes > 0) t) c
+                 WHERE """ + PLAYER_FILTER + """
+
+                 GROUP BY player_id, match_id) x
+          JOIN match m ON m.id = x.match_id AND m.active = true
+         GROUP BY x.player_id, COALESCE(m.season_id, 0)
+        """, nativeQuery = true)
+    int insertForPlayers(@Param("all") boolean all, @Param("playerIds") Collection<Long> playerIds);
+
+    /** Un clasament = un singur GROUP BY; {@code null} pe sezon/competiție înseamnă „toate”. */
+    @Query(LEADER_SELECT + "SUM(s.goals)" + LEADER_FROM + SCOPE + """
+        HAVING SUM(s.goals) > 0
+        ORDER BY SUM(s.goals) DESC, SUM(s.appearances) ASC, p.name ASC
+        """)
+    List<LeaderboardEntryDTO> goalsLeaders(@Param("seasonId") Long seasonId,
+                                           @Param("competitionId") Long competitionId, Pageable pageable);
+
+    @Query(LEADER_SELECT + "SUM(s.assists)" + LEADER_FROM + SCOPE + """
+        HAVING SUM(s.assists) > 0
+        ORDER BY SUM(s.assists) DESC, SUM(s.appearances) ASC, p.name ASC
+        """)
+    List<LeaderboardEntryDTO> assistsLeaders(@Param("seasonId") Long seasonId,
+                                             @Param("competitionId") Long competitionId, Pageable pageable);
+
+    @Query(LEADER_SELECT + "SUM(s.yellowCards + s.redCards)" + LEADER_FROM + SCOPE + """
+        HAVING SUM(s.yellowCards + s.redCards) > 0
+        ORDER BY SUM(s.yellowCards + s.redCards) DESC, SUM(s.redCards) DESC, p.name ASC
+        """)
+    List<LeaderboardEntryDTO> cardsLeaders(@Param("seasonId") Long seasonId,
+                                           @Param("competitionId") Long competitionId, Pageable pageable);
+
+    @Query(LEADER_SELECT + "SUM(s.appearances)" + LEADER_FROM + SCOPE + """
+        HAVING SUM(s.appearances) > 0
+        ORDER BY SUM(s.appearances) DESC, SUM(s.starts) DESC, p.name ASC
+        """)
+    List<LeaderboardEntryDTO> appearancesLeaders(@Param("seasonId") Long seasonId,
+                                                 @Param("competitionId") Long competitionId, Pageable pageable);
+
+    @Query(LEADER_SELECT + "SUM(s.mvpVotes)" + LEADER_FROM + SCOPE + """
+        HAVING SUM(s.mvpVotes) > 0
+        ORDER BY SUM(s.mvpVotes) DESC, SUM(s.mvpWins) DESC, p.name ASC
+        """)
+    List<LeaderboardEntryDTO> mvpVotesLeaders(@Param("seasonId") Long seasonId,
+                                              @Param("competitionId") Long competitionId, Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.viitorul.app.repository;
+
+import com.viitorul.app.entity.StandingsSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingsSnapshotRepository extends JpaRepository<StandingsSnapshot, Long> {
+
+    Optional<StandingsSnapshot> findTopByOrderByIdDesc();
+
+    @Query("""
+            SELECT s FROM StandingsSnapshot s
+            WHERE s.sourceUrl IS NULL OR s.sourceUrl NOT LIKE :pattern
+            ORDER BY s.id DESC
+            """)
+    List<StandingsSnapshot> findLatestNotLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("""
+            SELECT s FROM StandingsSnapshot s
+            WHERE (s.sourceUrl IS NULL OR s.sourceUrl NOT LIKE :pattern)
+              AND s.createdAt >= :since
+            ORDER BY s.id DESC
+            """)
+    List<StandingsSnapshot> findLatestNotLikeSince(@Param("pattern") String pattern,
+                                                  @Param("since") OffsetDateTime since,
+                                                  Pageable pageable);
+
+    Optional<StandingsSnapshot> findTopByIdLessThanOrderByIdDesc(Long id);
+
+    // listă fără coloana JSON (id, hash, rowCount, createdAt)
+    @Query("""
+       SELECT s.id, s.contentHash, s.rowCount, s.createdAt
+       FROM StandingsSnapshot s
+       ORDER BY s.id DESC
+    """)
+    List<Object[]> findHeaders(Pageable pageable);
+}
@@ -2,9 +2,15 @@ package com.viitorul.app.repository;
 
 import com.viitorul.app.entity.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
     List<Team> findByActiveTrue();
+
+    /** {@code key} trebuie să fie deja trecut prin {@code SearchKeys.fold}. */
+    @Query("SELECT t.id FROM Team t WHERE t.searchKey LIKE CONCAT('%', :key, '%')")
+    List<Long> findIdsBySearchKeyContaining(@Param("key") String key);
 }
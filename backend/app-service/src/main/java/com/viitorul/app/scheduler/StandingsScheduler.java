@@ -1,6 +1,8 @@
 package com.viitorul.app.scheduler;
 
+import com.viitorul.app.config.ComputedStandingsProperties;
 import com.viitorul.app.dto.StandingsResponseDTO;
+import com.viitorul.app.service.ComputedStandingsService;
 import com.viitorul.app.service.StandingsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,8 @@ import org.springframework.stereotype.Component;
 public class StandingsScheduler {
 
     private final StandingsService standingsService;
+    private final ComputedStandingsService computedStandings;
+    private final ComputedStandingsProperties computedProps;
 
     @Scheduled(cron = "0 0 14,17 * * ?", zone = "Europe/Bucharest")
     public void runTwicePerDay() {
@@ -26,6 +30,20 @@ public class StandingsScheduler {
                 return;
             }
 
+            // dacă rezultatele noastre acoperă tot ce avea ultimul snapshot al sezonului și acel snapshot e
+            // mai nou decât ultimul nostru rezultat, nu mai pornim browserul; altfel scrape-ul îl reîmprospătează
+            Long seasonId = computedProps.getScheduledSeasonId();
+            if (seasonId != null) {
+                var computed = computedStandings.rowsIfComplete(seasonId);
+                if (computed.isPresent()) {
+                    standingsService.saveComputed(seasonId, computed.get());
+                    log.info("[StandingsScheduler {}] OK din rezultatele proprii (sezon {}).", label, seasonId);
+                    return;
+                }
+                log.info("[StandingsScheduler {}] Date proprii incomplete sau snapshot vechi pentru sezonul {}, fac scrape.",
+                        label, seasonId);
+            }
+
             StandingsResponseDTO conf = standingsService.getConfigOnly();
             String url = conf.getSourceUrl();
             if (url == null || url.isBlank()) {
@@ -71,6 +71,11 @@ public class JwtUtilsApp {
         throw (last != null) ? last : new JwtException("JWT parse failed");
     }
 
+    /** Claims verificate (semnătură + exp); aruncă {@link JwtException} dacă token-ul nu e valid. */
+    public Claims claims(String token) {
+        return parse(token);
+    }
+
     public boolean valid(String token) {
         try { parse(token); return true; } catch (RuntimeException e) { return false; }
     }
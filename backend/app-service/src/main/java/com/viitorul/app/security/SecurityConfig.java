@@ -39,6 +39,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,  "/api/app/matches/*/votes/summary").permitAll()
                         .requestMatchers(HttpMethod.GET,  "/api/app/matches/auth/me").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/app/matches/*/stats").permitAll()
+                        .requestMatchers("/api/app/matches/votes/tally/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // --- REGULI GENERALE ---
                         .requestMatchers(HttpMethod.GET, "/api/app/**").permitAll()
@@ -0,0 +1,336 @@
+package com.viitorul.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viitorul.app.config.AnnouncementOutboxProperties;
+import com.viitorul.app.config.RabbitMQConfig;
+import com.viitorul.app.entity.Announcement;
+import com.viitorul.app.entity.AnnouncementOutbox;
+import com.viitorul.app.repository.AnnouncementOutboxRepository;
+import com.viitorul.app.repository.AnnouncementRepository;
+import com.viitorul.app.util.Slugs;
+import com.viitorul.common.events.AnnouncementPublishedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox-ul tranzacțional pentru {@code announcements.published}.
+ * <p>
+ * {@link #enqueue}/{@link #refresh}/{@link #discard} rulează în tranzacția care salvează anunțul, deci
+ * mesajul există dacă și numai dacă anunțul există. Relay-ul revendică loturi scadente ({@code FOR UPDATE
+ * SKIP LOCKED} + {@code claimed_until}, într-o tranzacție scurtă), le publică cu publisher confirms în afara
+ * oricărei tranzacții și marchează trimise doar rândurile confirmate (ack, fără return); restul se reîncearcă
+ * cu backoff exponențial. Livrarea e deci „cel puțin o dată”.
+ * <p>
+ * Lock-urile pe rânduri nu sunt ținute cât așteptăm broker-ul (până la {@code confirm-timeout}), deci o
+ * editare a anunțului ({@link #refresh}) nu se blochează. Un anunț editat în timp ce mesajul lui e în zbor
+ * pleacă cu conținutul de dinainte, ca și când editarea ar fi venit după trimitere.
+ * <p>
+ * Metrici: {@code announcement.outbox.pending}, {@code announcement.outbox.oldest.age} (secunde),
+ * {@code announcement.outbox.lag} (scadență → confirmare) și {@code announcement.outbox.publish}
+ * (tag {@code outcome}).
+ */
+@Slf4j
+@Service
+public class AnnouncementOutboxService {
+
+    private static final String PAYLOAD_TYPE = AnnouncementPublishedEvent.class.getName();
+    private static final String TYPE_ID_HEADER = "__TypeId__"; // ca Jackson2JsonMessageConverter
+    // peste confirm-timeout: publicarea însăși poate aștepta conexiunea la broker
+    private static final Duration CLAIM_MARGIN = Duration.ofMinutes(1);
+
+    private final AnnouncementOutboxRepository outboxRepo;
+    private final AnnouncementRepository announcementRepo;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final AnnouncementOutboxProperties props;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate tx;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    public AnnouncementOutboxService(AnnouncementOutboxRepository outboxRepo,
+                                     AnnouncementRepository announcementRepo,
+                                     RabbitTemplate rabbitTemplate,
+                                     ObjectMapper objectMapper,
+                                     AnnouncementOutboxProperties props,
+                                     MeterRegistry meterRegistry,
+                                     PlatformTransactionManager txManager) {
+        this.outboxRepo = outboxRepo;
+        this.announcementRepo = announcementRepo;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.tx = new TransactionTemplate(txManager);
+        Gauge.builder("announcement.outbox.pending", pending, AtomicLong::get)
+                .description("Mesaje scadente încă neconfirmate de broker")
+                .register(meterRegistry);
+        Gauge.builder("announcement.outbox.oldest.age", oldestAgeSeconds, AtomicLong::get)
+                .description("Vechimea celui mai vechi mesaj scadent netrimis")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Mesajul pentru un anunț nou; pleacă la {@code publishedAt} (acum sau programat). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Announcement a) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        AnnouncementOutbox row = new AnnouncementOutbox();
+        row.setAnnouncementId(a.getId());
+        row.setExchange(RabbitMQConfig.APP_EXCHANGE);
+        row.setRoutingKey(RabbitMQConfig.ANN_ROUTING_KEY);
+        row.setPayloadType(PAYLOAD_TYPE);
+        row.setPayload(payload(a));
+        row.setDueAt(a.getPublishedAt());
+        row.setNextAttemptAt(a.getPublishedAt());
+        row.setCreatedAt(now);
+        outboxRepo.save(row);
+    }
+
+    /** Anunț editat înainte de trimitere: conținutul și scadența mesajului urmează anunțul. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Announcement a) {
+        outboxRepo.findByAnnouncementIdAndRoutingKeyAndSentAtIsNull(a.getId(), RabbitMQConfig.ANN_ROUTING_KEY)
+                .ifPresent(row -> {
+                    row.setPayload(payload(a));
+                    row.setDueAt(a.getPublishedAt());
+                    // o reîncercare deja programată nu e adusă înainte, dar nici nu pleacă înainte de publicare
+                    row.setNextAttemptAt(row.getAttempts() == 0 || row.getNextAttemptAt().isBefore(a.getPublishedAt())
+                            ? a.getPublishedAt()
+                            : row.getNextAttemptAt());
+                });
+    }
+
+    /** Anunț șters: mesajele netrimise dispar odată cu el. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void discard(Long announcementId) {
+        outboxRepo.deleteUnsent(announcementId);
+    }
+
+    /** Anunțurile netrimise de dinaintea outbox-ului (vechiul flag {@code sentToSubscribers}). */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer created = tx.execute(s -> {
+            int n = 0;
+            for (Announcement a : announcementRepo.findBySentToSubscribersFalse()) {
+                if (outboxRepo.existsByAnnouncementIdAndRoutingKey(a.getId(), RabbitMQConfig.ANN_ROUTING_KEY)) continue;
+                enqueue(a);
+                n++;
+            }
+            return n;
+        });
+        if (created != null && created > 0) {
+            log.info("[Outbox] {} anunțuri netrimise preluate în outbox", created);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:5000}", initialDelayString = "${app.outbox.initial-delay-ms:10000}")
+    public void relay() {
+        try {
+            // loturi succesive cât timp sunt pline și confirmate integral
+            while (true) {
+                BatchResult r = relayBatch();
+                if (r.size() < props.getBatchSize() || r.confirmed() < r.size()) break;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[Outbox] Relay întrerupt: {}", ex.toString());
+        } finally {
+            updateGauges();
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Europe/Bucharest")
+    @Transactional
+    public void purgeSent() {
+        int n = outboxRepo.deleteSentBefore(OffsetDateTime.now(ZoneOffset.UTC).minus(props.getRetention()));
+        if (n > 0) log.info("[Outbox] Șterse {} mesaje trimise", n);
+    }
+
+    private record BatchResult(int size, int confirmed) {}
+
+    private record InFlight(AnnouncementOutbox row, CorrelationData correlation, String error) {}
+
+    private BatchResult relayBatch() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        // 1) revendică lotul și eliberează lock-urile; o instanță căzută de aici încolo îl lasă să expire
+        List<AnnouncementOutbox> batch = tx.execute(s -> {
+            List<AnnouncementOutbox> rows = outboxRepo.lockDueBatch(now, props.getBatchSize());
+            OffsetDateTime until = now.plus(props.getConfirmTimeout()).plus(CLAIM_MARGIN);
+            rows.forEach(r -> r.setClaimedUntil(until));
+            return rows;
+        });
+        if (batch == null || batch.isEmpty()) return new BatchResult(0, 0);
+
+        // 2) publică tot lotul, 3) așteaptă confirmările în paralel, nu unul câte unul
+        List<InFlight> inFlight = new ArrayList<>(batch.size());
+        for (AnnouncementOutbox row : batch) {
+            CorrelationData cd = new CorrelationData(String.valueOf(row.getId()));
+            try {
+                rabbitTemplate.send(row.getExchange(), row.getRoutingKey(), message(row), cd);
+                inFlight.add(new InFlight(row, cd, null));
+            } catch (RuntimeException ex) {
+                countPublish("error");
+                inFlight.add(new InFlight(row, cd, ex.toString()));
+            }
+        }
+
+        long deadline = System.nanoTime() + props.getConfirmTimeout().toNanos();
+        List<String> errors = new ArrayList<>(inFlight.size());
+        for (InFlight f : inFlight) {
+            errors.add(f.error() != null ? f.error() : awaitConfirm(f.correlation(), deadline));
+        }
+
+        // 4) rezultatele, într-o tranzacție scurtă
+        Integer done = tx.execute(s -> {
+            int n = 0;
+            for (int i = 0; i < inFlight.size(); i++) {
+                AnnouncementOutbox row = inFlight.get(i).row();
+                if (errors.get(i) == null) {
+                    markSent(row);
+                    n++;
+                } else {
+                    markFailed(row, errors.get(i));
+                }
+            }
+            return n;
+        });
+        int confirmed = done == null ? 0 : done;
+        log.info("[Outbox] Lot de {}: {} confirmate", batch.size(), confirmed);
+        return new BatchResult(batch.size(), confirmed);
+    }
+
+    /** {@code null} = ack fără return; altfel motivul eșecului. */
+    private String awaitConfirm(CorrelationData cd, long deadline) {
+        String outcome;
+        String detail = null;
+        try {
+            CorrelationData.Confirm confirm = cd.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                outcome = "nack";
+                detail = confirm.getReason();
+            } else if (cd.getReturned() != null) {
+                // fără coadă legată: broker-ul confirmă, dar mesajul nu a ajuns nicăieri
+                outcome = "returned";
+                detail = cd.getReturned().getReplyText();
+            } else {
+                outcome = "ack";
+            }
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } catch (ExecutionException e) {
+            outcome = "error";
+            detail = String.valueOf(e.getCause());
+        }
+        countPublish(outcome);
+        if (outcome.equals("ack")) return null;
+        return detail == null ? outcome : outcome + ": " + detail;
+    }
+
+    private void countPublish(String outcome) {
+        meterRegistry.counter("announcement.outbox.publish", "outcome", outcome).increment();
+    }
+
+    private void markSent(AnnouncementOutbox row) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        // 0 => anunțul a fost șters între timp (discard)
+        if (outboxRepo.markSent(row.getId(), now) == 0) return;
+        announcementRepo.markSentToSubscribers(row.getAnnouncementId(), now);
+        Duration lag = Duration.between(row.getDueAt(), now);
+        meterRegistry.timer("announcement.outbox.lag").record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    private void markFailed(AnnouncementOutbox row, String error) {
+        int attempts = row.getAttempts() + 1;
+        Duration backoff = props.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(props.getMaxBackoff()) > 0) backoff = props.getMaxBackoff();
+        outboxRepo.markFailed(row.getId(), error, OffsetDateTime.now(ZoneOffset.UTC).plus(backoff));
+        log.warn("[Outbox] Mesajul {} (anunț {}) neconfirmat, încercarea {}: {}",
+                row.getId(), row.getAnnouncementId(), attempts, error);
+    }
+
+    private void updateGauges() {
+        try {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            pending.set(outboxRepo.countBySentAtIsNullAndDueAtLessThanEqual(now));
+            oldestAgeSeconds.set(outboxRepo.findFirstBySentAtIsNullAndDueAtLessThanEqualOrderByDueAtAsc(now)
+                    .map(o -> Math.max(0, Duration.between(o.getDueAt(), now).toSeconds()))
+                    .orElse(0L));
+        } catch (RuntimeException ex) {
+            log.debug("[Outbox] Metricile nu au putut fi actualizate: {}", ex.toString());
+        }
+    }
+
+    /** Același format ca {@code convertAndSend} cu {@code Jackson2JsonMessageConverter}. */
+    private static Message message(AnnouncementOutbox row) {
+        MessageProperties mp = new MessageProperties();
+        mp.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        mp.setContentEncoding(StandardCharsets.UTF_8.name());
+        mp.setMessageId("announcement-outbox-" + row.getId());
+        mp.setHeader(TYPE_ID_HEADER, row.getPayloadType());
+        return new Message(row.getPayload().getBytes(StandardCharsets.UTF_8), mp);
+    }
+
+    private String payload(Announcement a) {
+        try {
+            return objectMapper.writeValueAsString(toPublishedEvent(a));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize announcement " + a.getId(), e);
+        }
+    }
+
+    private static AnnouncementPublishedEvent toPublishedEvent(Announcement a) {
+        String raw = (a.getContentText() != null && !a.getContentText().isBlank())
+                ? a.getContentText()
+                : (a.getContentHtml() != null ? a.getContentHtml() : "");
+
+        String excerpt = buildExcerpt(raw, 180, /*isHtml*/ a.getContentText() == null);
+        String url = buildPublicUrl(a.getId(), a.getTitle());
+        return new AnnouncementPublishedEvent(a.getId(), a.getTitle(), excerpt, a.getCoverUrl(), url);
+    }
+
+    private static String buildExcerpt(String input, int max, boolean isHtml) {
+        if (input == null) return "";
+        String txt = isHtml ? stripHtml(input) : input;
+        txt = txt.replaceAll("\\s+", " ").trim();
+        return txt.length() <= max ? txt : txt.substring(0, Math.max(0, max - 1)) + "…";
+    }
+
+    private static String stripHtml(String html) {
+        return html.replaceAll("<[^>]*>", " ");
+    }
+
+
+    private static String buildPublicUrl(Long id, String title) {
+        String slug = Slugs.slugify(title == null ? "" : title);
+        return String.format("https://%s/stiri/%d/%s", "viitorulrachiteni.ro", id, slug);
+    }
+}
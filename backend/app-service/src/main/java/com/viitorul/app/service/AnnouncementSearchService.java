@@ -0,0 +1,122 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.config.AnnouncementSearchIndexInitializer;
+import com.viitorul.app.dto.AnnouncementSearchHitDTO;
+import com.viitorul.app.dto.CursorPageDTO;
+import com.viitorul.app.repository.AnnouncementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Căutarea în știri (titlu + text) peste indexul {@code tsvector}: relevanță cu {@code ts_rank_cd},
+ * fragmente evidențiate cu {@code ts_headline} și paginare keyset pe (rank, id).
+ * Query-ul utilizatorului e interpretat de {@code websearch_to_tsquery} („ghilimele”, OR, -exclus).
+ * Fără index (inițializarea a eșuat) căutarea cade pe LIKE, cu rank 0 și ordinea după id.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnouncementSearchService {
+
+    // ts_headline marchează cu caractere de control; le înlocuim cu <mark> după escaparea HTML
+    private static final String START = "\u0002";
+    private static final String STOP = "\u0003";
+    private static final String TITLE_OPTIONS =
+            "HighlightAll=true, StartSel=\"" + START + "\", StopSel=\"" + STOP + "\"";
+    private static final String SNIPPET_OPTIONS =
+            "MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" … \", "
+                    + "StartSel=\"" + START + "\", StopSel=\"" + STOP + "\"";
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementSearchIndexInitializer searchIndex;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AnnouncementSearchHitDTO> search(String q, String cursor, int size) {
+        if (q == null || q.isBlank()) return new CursorPageDTO<>(List.of(), null, null);
+
+        Cursor after = Cursor.decode(cursor);
+        if (!searchIndex.isReady()) return likeSearch(q.trim(), after, size);
+
+        List<Object[]> rows = announcementRepository.fullTextSearch(q.trim(), OffsetDateTime.now(ZoneOffset.UTC),
+                after.rank(), after.id(), size + 1, TITLE_OPTIONS, SNIPPET_OPTIONS);
+
+        boolean hasMore = rows.size() > size;
+        List<AnnouncementSearchHitDTO> hits = (hasMore ? rows.subList(0, size) : rows).stream()
+                .map(r -> new AnnouncementSearchHitDTO(
+                        ((Number) r[0]).longValue(),
+                        (String) r[1],
+                        highlight((String) r[5]),
+                        highlight((String) r[6]),
+                        toOffsetDateTime(r[2]),
+                        (String) r[3],
+                        ((Number) r[4]).floatValue()))
+                .toList();
+
+        String next = null;
+        if (hasMore) {
+            AnnouncementSearchHitDTO last = hits.get(hits.size() - 1);
+            next = new Cursor(Float.toString(last.rank()), last.id()).encode();
+        }
+        return new CursorPageDTO<>(hits, next, null);
+    }
+
+    private CursorPageDTO<AnnouncementSearchHitDTO> likeSearch(String q, Cursor after, int size) {
+        List<Object[]> rows = announcementRepository.likeSearch(q, OffsetDateTime.now(ZoneOffset.UTC), after.id(), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<AnnouncementSearchHitDTO> hits = (hasMore ? rows.subList(0, size) : rows).stream()
+                .map(r -> new AnnouncementSearchHitDTO(
+                        ((Number) r[0]).longValue(),
+                        (String) r[1],
+                        highlight((String) r[1]),
+                        highlight((String) r[4]),
+                        toOffsetDateTime(r[2]),
+                        (String) r[3],
+                        0f))
+                .toList();
+        String next = hasMore ? new Cursor("0.0", hits.get(hits.size() - 1).id()).encode() : null;
+        return new CursorPageDTO<>(hits, next, null);
+    }
+
+    private static String highlight(String raw) {
+        if (raw == null) return "";
+        return HtmlUtils.htmlEscape(raw).replace(START, "<mark>").replace(STOP, "</mark>");
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object v) {
+        if (v instanceof OffsetDateTime o) return o;
+        if (v instanceof Instant i) return i.atOffset(ZoneOffset.UTC);
+        if (v instanceof Timestamp t) return t.toInstant().atOffset(ZoneOffset.UTC);
+        return null;
+    }
+
+    /** Poziția după (rank, id); rank-ul e trimis ca text ca să se compare exact cu {@code real} din SQL. */
+    private record Cursor(String rank, long id) {
+        static final Cursor START = new Cursor("Infinity", Long.MAX_VALUE);
+
+        String encode() {
+            String raw = rank + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            if (token == null || token.isBlank()) return START;
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+                return new Cursor(Float.toString(Float.parseFloat(parts[0])), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+}
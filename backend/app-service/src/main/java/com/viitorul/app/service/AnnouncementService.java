@@ -1,13 +1,11 @@
 package com.viitorul.app.service;
 
-import com.viitorul.app.config.RabbitMQConfig;
 import com.viitorul.app.dto.AnnouncementDTO;
 import com.viitorul.app.entity.Announcement;
+import com.viitorul.app.event.ContentChangedEvent;
 import com.viitorul.app.repository.AnnouncementRepository;
-import com.viitorul.common.events.AnnouncementPublishedEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,7 +23,8 @@ import java.util.stream.Collectors;
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final AnnouncementOutboxService outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AnnouncementDTO createAnnouncement(AnnouncementDTO dto) {
@@ -35,7 +34,11 @@ public class AnnouncementService {
             entity.setPublishedAt(OffsetDateTime.now(ZoneOffset.UTC));
         }
             entity.setSentToSubscribers(false);
-        return AnnouncementDTO.fromEntity(announcementRepository.save(entity));
+        Announcement saved = announcementRepository.save(entity);
+        // mesajul pentru abonați intră în outbox în aceeași tranzacție; relay-ul îl trimite la publishedAt
+        outbox.enqueue(saved);
+        eventPublisher.publishEvent(ContentChangedEvent.announcement(saved.getId()));
+        return AnnouncementDTO.fromEntity(saved);
     }
 
     @Transactional(readOnly = true)
@@ -98,6 +101,8 @@ public class AnnouncementService {
 
 
             Announcement saved = announcementRepository.save(existing);
+            outbox.refresh(saved);
+            eventPublisher.publishEvent(ContentChangedEvent.announcement(saved.getId()));
             return AnnouncementDTO.fromEntity(saved);
         });
     }
@@ -105,72 +110,11 @@ public class AnnouncementService {
     @Transactional
     public boolean deleteAnnouncement(Long id) {
         if (announcementRepository.existsById(id)) {
+            outbox.discard(id);
             announcementRepository.deleteById(id);
+            eventPublisher.publishEvent(ContentChangedEvent.announcement(id));
             return true;
         }
         return false;
     }
-
-    @Scheduled(fixedDelay = 60_000L, initialDelay = 10_000L)
-    @Transactional
-    public void scanAndDispatchPublishedAnnouncements() {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<Announcement> ready = announcementRepository
-                .findByPublishedAtLessThanEqualAndSentToSubscribersFalse(now);
-
-        for (Announcement a : ready) {
-            // 1) marchează ca trimis (idempotency)
-            a.setSentToSubscribers(true);
-            a.setSentAt(now);
-            announcementRepository.save(a);
-
-            // 2) publică evenimentul
-            String raw = (a.getContentText() != null && !a.getContentText().isBlank())
-                    ? a.getContentText()
-                    : (a.getContentHtml() != null ? a.getContentHtml() : "");
-
-            String excerpt = buildExcerpt(raw, 180, /*isHtml*/ a.getContentText() == null);
-            String url = buildPublicUrl(a.getId(), a.getTitle());
-
-            AnnouncementPublishedEvent ev = new AnnouncementPublishedEvent(
-                    a.getId(),
-                    a.getTitle(),
-                    excerpt,
-                    a.getCoverUrl(),
-                    url
-            );
-
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.APP_EXCHANGE,
-                    RabbitMQConfig.ANN_ROUTING_KEY,
-                    ev
-            );
-        }
-    }
-
-    private String buildExcerpt(String input, int max, boolean isHtml) {
-        if (input == null) return "";
-        String txt = isHtml ? stripHtml(input) : input;
-        txt = txt.replaceAll("\\s+", " ").trim();
-        return txt.length() <= max ? txt : txt.substring(0, Math.max(0, max - 1)) + "…";
-    }
-
-    private String stripHtml(String html) {
-        return html.replaceAll("<[^>]*>", " ");
-    }
-
-    private String slugify(String s) {
-        if (s == null) return "";
-        String base = java.text.Normalizer.normalize(s, java.text.Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-                .toLowerCase()
-                .replaceAll("[^a-z0-9]+", "-")
-                .replaceAll("(^-|-$)", "");
-        return base.length() > 80 ? base.substring(0, 80) : base;
-    }
-
-    private String buildPublicUrl(Long id, String title) {
-        String slug = slugify(title == null ? "" : title);
-        return String.format("https://%s/stiri/%d/%s", "viitorulrachiteni.ro", id, slug);
-    }
 }
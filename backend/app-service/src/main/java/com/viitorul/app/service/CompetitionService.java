@@ -5,9 +5,11 @@ import com.viitorul.app.dto.CompetitionDTO;
 import com.viitorul.app.dto.CompetitionSeasonDTO;
 import com.viitorul.app.entity.Competition;
 import com.viitorul.app.entity.CompetitionSeason;
+import com.viitorul.app.event.ContentChangedEvent;
 import com.viitorul.app.repository.CompetitionRepository;
 import com.viitorul.app.repository.CompetitionSeasonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,6 +24,9 @@ public class CompetitionService {
     @Autowired
     private CompetitionSeasonRepository seasonRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ---------- COMPETITIONS ----------
     public List<CompetitionDTO> getAllCompetitions() {
         return competitionRepository.findByActiveTrue().stream()
@@ -62,6 +67,8 @@ public class CompetitionService {
                 .orElseThrow(() -> new RuntimeException("Competition not found"));
         c.setName(dto.getName());
         Competition saved = competitionRepository.save(c);
+        // numele competiției/sezonului apar în meciurile din cache
+        eventPublisher.publishEvent(ContentChangedEvent.competition(id));
         return CompetitionDTO.fromEntity(saved, true);
     }
 
@@ -70,6 +77,7 @@ public class CompetitionService {
                 .orElseThrow(() -> new RuntimeException("Competition not found"));
         c.setActive(false);
         competitionRepository.save(c);
+        eventPublisher.publishEvent(ContentChangedEvent.competition(id));
     }
 
     // ---------- SEASONS ----------
@@ -105,6 +113,7 @@ public class CompetitionService {
         }
         s.setLabel(dto.getLabel());
         CompetitionSeason saved = seasonRepository.save(s);
+        eventPublisher.publishEvent(ContentChangedEvent.competition(competitionId));
         return CompetitionSeasonDTO.fromEntity(saved);
     }
 
@@ -113,5 +122,6 @@ public class CompetitionService {
                 .orElseThrow(() -> new RuntimeException("Season not found"));
         s.setActive(false);
         seasonRepository.save(s);
+        eventPublisher.publishEvent(ContentChangedEvent.competition(competitionId));
     }
 }
@@ -0,0 +1,331 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.config.ComputedStandingsProperties;
+import com.viitorul.app.config.ComputedStandingsProperties.TieBreaker;
+import com.viitorul.app.dto.MatchResultRow;
+import com.viitorul.app.dto.StandingsReconciliationDTO;
+import com.viitorul.app.dto.StandingsResponseDTO;
+import com.viitorul.app.dto.StandingsRowDTO;
+import com.viitorul.app.entity.StandingsSnapshot;
+import com.viitorul.app.entity.Team;
+import com.viitorul.app.event.ContentChangedEvent;
+import com.viitorul.app.repository.CompetitionSeasonRepository;
+import com.viitorul.app.repository.MatchRepository;
+import com.viitorul.app.repository.TeamRepository;
+import com.viitorul.app.util.SearchKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Clasamentul unui {@code CompetitionSeason} calculat din rezultatele din baza noastră de date,
+ * ca alternativă la scrape-ul de pe frf-ajf.ro.
+ * <p>
+ * Pentru fiecare sezon cerut ținem în memorie contribuția fiecărui meci și totalurile pe echipă; la
+ * modificarea unui meci (după commit) scădem contribuția veche și o adunăm pe cea nouă, fără a reciti
+ * sezonul. Ordinea: puncte, apoi departajările din {@code app.standings.computed.tie-breakers}.
+ * {@link #reconcile(Long)} compară rezultatul cu ultimul snapshot al sezonului venit din scrape / introdus
+ * manual. Un snapshot luat înaintea ultimului nostru rezultat (sau mai vechi de {@code max-snapshot-age}) nu
+ * mai dovedește nimic: clasamentul calculat nu e publicat în locul scrape-ului până nu vine unul nou.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ComputedStandingsService {
+
+    private static final ZoneId ZONE_RO = ZoneId.of("Europe/Bucharest");
+
+    private final MatchRepository matchRepository;
+    private final CompetitionSeasonRepository seasonRepository;
+    private final TeamRepository teamRepository;
+    private final StandingsSnapshotService snapshotService;
+    private final ComputedStandingsProperties props;
+
+    /**
+     * Sezon → tabel, în ordinea ultimei folosiri; sezonul programat plus cel mult {@code max-cached-seasons}
+     * altele (endpoint-urile sunt publice). Modificat doar sub {@code this}.
+     */
+    private final Map<Long, SeasonTable> tables = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Rândurile ordonate și intervalul rezultatelor, luate sub același lock. */
+    private record View(List<StandingsRowDTO> rows, OffsetDateTime updatedAt,
+                        LocalDateTime firstResultAt, LocalDateTime lastResultAt) {}
+
+    public StandingsResponseDTO getTable(Long seasonId) {
+        View v = view(seasonId);
+        return StandingsResponseDTO.builder()
+                .lastUpdated(v.updatedAt())
+                .rows(v.rows())
+                .build();
+    }
+
+    /**
+     * Rândurile calculate, doar dacă acoperă tot ce are ultimul snapshot al sezonului și acel snapshot
+     * e proaspăt (altfel gol, iar scheduler-ul face scrape).
+     */
+    public Optional<List<StandingsRowDTO>> rowsIfComplete(Long seasonId) {
+        View v = view(seasonId);
+        StandingsReconciliationDTO r = reconcile(seasonId, v);
+        return r.isComplete() && r.isSnapshotFresh() && !v.rows().isEmpty()
+                ? Optional.of(v.rows()) : Optional.empty();
+    }
+
+    public StandingsReconciliationDTO reconcile(Long seasonId) {
+        return reconcile(seasonId, view(seasonId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent e) {
+        if (e.type() != ContentChangedEvent.Type.MATCH) return;
+        synchronized (this) {
+            if (tables.isEmpty()) return;
+            try {
+                MatchResultRow row = matchRepository.findResultRow(e.id()).orElse(null);
+                tables.values().forEach(t -> t.remove(e.id()));
+                if (row != null && row.isFinished() && tables.containsKey(row.seasonId())) {
+                    tables.get(row.seasonId()).add(row);
+                }
+            } catch (RuntimeException ex) {
+                // sezoanele vor fi recitite la următoarea cerere
+                log.warn("[ComputedStandings] Actualizare eșuată pentru meciul {}: {}", e.id(), ex.toString());
+                tables.clear();
+            }
+        }
+    }
+
+    // ===================== Helpers =====================
+
+    private synchronized View view(Long seasonId) {
+        SeasonTable t = table(seasonId);
+        return new View(rank(t), t.updatedAt, t.firstResultAt(), t.lastResultAt());
+    }
+
+    private SeasonTable table(Long seasonId) {
+        if (seasonId == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "seasonId is required");
+        SeasonTable t = tables.get(seasonId);
+        if (t == null) {
+            if (!seasonRepository.existsById(seasonId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Season not found");
+            }
+            t = new SeasonTable();
+            for (MatchResultRow r : matchRepository.findResultRowsBySeason(seasonId)) t.add(r);
+            tables.put(seasonId, t);
+            evictLeastRecentlyUsed();
+        }
+        return t;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Long pinned = props.getScheduledSeasonId();
+        int others = tables.containsKey(pinned) ? tables.size() - 1 : tables.size();
+        for (Iterator<Long> it = tables.keySet().iterator(); it.hasNext() && others > props.getMaxCachedSeasons(); ) {
+            if (it.next().equals(pinned)) continue;
+            it.remove();
+            others--;
+        }
+    }
+
+    private List<StandingsRowDTO> rank(SeasonTable t) {
+        Map<Long, String> names = new HashMap<>();
+        for (Team team : teamRepository.findAllById(t.totals.keySet())) names.put(team.getId(), team.getName());
+
+        List<Long> order = new ArrayList<>(t.totals.keySet());
+        order.sort(Comparator.comparingInt((Long id) -> -points(t.totals.get(id))));
+
+        // grupurile la egalitate de puncte se ordonează după departajări (cele directe: doar între ele)
+        List<Long> ranked = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); ) {
+            int j = i;
+            int pts = points(t.totals.get(order.get(i)));
+            while (j < order.size() && points(t.totals.get(order.get(j))) == pts) j++;
+            List<Long> group = new ArrayList<>(order.subList(i, j));
+            if (group.size() > 1) group.sort(tieBreak(t, group, names));
+            ranked.addAll(group);
+            i = j;
+        }
+
+        List<StandingsRowDTO> rows = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Long id = ranked.get(i);
+            int[] s = t.totals.get(id);
+            rows.add(StandingsRowDTO.builder()
+                    .rank(i + 1)
+                    .teamName(names.getOrDefault(id, "#" + id))
+                    .played(s[P]).wins(s[W]).draws(s[D]).losses(s[L])
+                    .goalsFor(s[GF]).goalsAgainst(s[GA])
+                    .points(points(s))
+                    .build());
+        }
+        return rows;
+    }
+
+    private Comparator<Long> tieBreak(SeasonTable t, List<Long> group, Map<Long, String> names) {
+        Map<Long, int[]> h2h = t.miniTable(new HashSet<>(group));
+        Comparator<Long> c = (a, b) -> 0;
+        for (TieBreaker tb : props.getTieBreakers()) {
+            c = c.thenComparing(switch (tb) {
+                case HEAD_TO_HEAD_POINTS -> desc(id -> points(h2h.get(id)));
+                case HEAD_TO_HEAD_GOAL_DIFFERENCE -> desc(id -> h2h.get(id)[GF] - h2h.get(id)[GA]);
+                case HEAD_TO_HEAD_GOALS_FOR -> desc(id -> h2h.get(id)[GF]);
+                case GOAL_DIFFERENCE -> desc(id -> t.totals.get(id)[GF] - t.totals.get(id)[GA]);
+                case GOALS_FOR -> desc(id -> t.totals.get(id)[GF]);
+                case WINS -> desc(id -> t.totals.get(id)[W]);
+            });
+        }
+        return c.thenComparing(id -> SearchKeys.fold(names.getOrDefault(id, "")));
+    }
+
+    private static Comparator<Long> desc(ToIntFunction<Long> key) {
+        return (a, b) -> Integer.compare(key.applyAsInt(b), key.applyAsInt(a));
+    }
+
+    private int points(int[] s) {
+        return s[W] * props.getPointsForWin() + s[D] * props.getPointsForDraw();
+    }
+
+    private StandingsReconciliationDTO reconcile(Long seasonId, View v) {
+        List<StandingsRowDTO> computed = v.rows();
+        // snapshot-urile dinaintea primului rezultat al sezonului sunt ale altui sezon
+        OffsetDateTime seasonStart = v.firstResultAt() == null ? null
+                : v.firstResultAt().toLocalDate().atStartOfDay(ZONE_RO).toOffsetDateTime();
+        Optional<StandingsSnapshot> latest = snapshotService.findLatestExternal(seasonStart);
+        List<StandingsRowDTO> scraped = latest.map(snapshotService::rowsOf).orElse(List.of());
+        boolean fresh = latest.map(s -> isFresh(s.getCreatedAt(), v.lastResultAt())).orElse(false);
+
+        Map<String, StandingsRowDTO> ours = new LinkedHashMap<>();
+        computed.forEach(r -> ours.put(SearchKeys.fold(r.getTeamName()), r));
+
+        List<StandingsReconciliationDTO.Discrepancy> diffs = new ArrayList<>();
+        List<String> missingInComputed = new ArrayList<>();
+        boolean complete = latest.isPresent();
+        for (StandingsRowDTO s : scraped) {
+            StandingsRowDTO c = ours.remove(SearchKeys.fold(s.getTeamName()));
+            if (c == null) {
+                missingInComputed.add(s.getTeamName());
+                complete = false;
+                continue;
+            }
+            if (s.getPlayed() != null && c.getPlayed() < s.getPlayed()) complete = false;
+            compare(diffs, s.getTeamName(), "rank", c.getRank(), s.getRank());
+            compare(diffs, s.getTeamName(), "played", c.getPlayed(), s.getPlayed());
+            compare(diffs, s.getTeamName(), "wins", c.getWins(), s.getWins());
+            compare(diffs, s.getTeamName(), "draws", c.getDraws(), s.getDraws());
+            compare(diffs, s.getTeamName(), "losses", c.getLosses(), s.getLosses());
+            compare(diffs, s.getTeamName(), "goalsFor", c.getGoalsFor(), s.getGoalsFor());
+            compare(diffs, s.getTeamName(), "goalsAgainst", c.getGoalsAgainst(), s.getGoalsAgainst());
+            compare(diffs, s.getTeamName(), "points", c.getPoints(), s.getPoints());
+        }
+
+        return StandingsReconciliationDTO.builder()
+                .seasonId(seasonId)
+                .snapshotId(latest.map(StandingsSnapshot::getId).orElse(null))
+                .snapshotCreatedAt(latest.map(StandingsSnapshot::getCreatedAt).orElse(null))
+                .complete(complete)
+                .snapshotFresh(fresh)
+                .discrepancies(diffs)
+                .missingInComputed(missingInComputed)
+                .missingInSnapshot(ours.values().stream().map(StandingsRowDTO::getTeamName).toList())
+                .build();
+    }
+
+    /** Luat după ultimul nostru rezultat (altfel poate nu-l conține încă) și nu mai vechi de {@code max-snapshot-age}. */
+    private boolean isFresh(OffsetDateTime createdAt, LocalDateTime lastResultAt) {
+        if (createdAt == null) return false;
+        if (createdAt.isBefore(OffsetDateTime.now(ZONE_RO).minus(props.getMaxSnapshotAge()))) return false;
+        return lastResultAt == null || createdAt.isAfter(lastResultAt.atZone(ZONE_RO).toOffsetDateTime());
+    }
+
+    private static void compare(List<StandingsReconciliationDTO.Discrepancy> out, String team, String field,
+                                Integer computed, Integer scraped) {
+        if (scraped == null || Objects.equals(computed, scraped)) return;
+        out.add(StandingsReconciliationDTO.Discrepancy.builder()
+                .teamName(team).field(field).computed(computed).scraped(scraped)
+                .build());
+    }
+
+    // indici în vectorii de totaluri
+    private static final int P = 0, W = 1, D = 2, L = 3, GF = 4, GA = 5;
+
+    /** Contribuțiile meciurilor unui sezon și totalurile pe echipă, ținute la zi incremental. */
+    private static final class SeasonTable {
+        private record Result(long home, long away, int homeGoals, int awayGoals, LocalDateTime endsAt) {}
+
+        private final Map<Long, Result> byMatch = new HashMap<>();
+        private final Map<Long, int[]> totals = new HashMap<>();
+        private OffsetDateTime updatedAt = OffsetDateTime.now(ZONE_RO);
+
+        void add(MatchResultRow r) {
+            Result res = new Result(r.homeTeamId(), r.awayTeamId(), r.homeGoals(), r.awayGoals(), endsAt(r));
+            byMatch.put(r.id(), res);
+            apply(totals, res, +1);
+            updatedAt = OffsetDateTime.now(ZONE_RO);
+        }
+
+        void remove(Long matchId) {
+            Result res = byMatch.remove(matchId);
+            if (res == null) return;
+            apply(totals, res, -1);
+            totals.values().removeIf(s -> s[P] == 0);
+            updatedAt = OffsetDateTime.now(ZONE_RO);
+        }
+
+        LocalDateTime firstResultAt() {
+            return byMatch.values().stream().map(Result::endsAt).filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder()).orElse(null);
+        }
+
+        LocalDateTime lastResultAt() {
+            return byMatch.values().stream().map(Result::endsAt).filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder()).orElse(null);
+        }
+
+        /** Fără oră de start: sfârșitul zilei, ca un snapshot din aceeași zi să nu treacă drept proaspăt. */
+        private static LocalDateTime endsAt(MatchResultRow r) {
+            if (r.date() == null) return null;
+            return r.kickoffTime() == null
+                    ? r.date().atTime(LocalTime.MAX)
+                    : r.date().atTime(r.kickoffTime()).plusHours(2);
+        }
+
+        /** Totaluri doar din meciurile directe dintre echipele din {@code group}. */
+        Map<Long, int[]> miniTable(Set<Long> group) {
+            Map<Long, int[]> mini = new HashMap<>();
+            group.forEach(id -> mini.put(id, new int[6]));
+            for (Result r : byMatch.values()) {
+                if (group.contains(r.home()) && group.contains(r.away())) apply(mini, r, +1);
+            }
+            return mini;
+        }
+
+        private static void apply(Map<Long, int[]> into, Result r, int sign) {
+            int[] h = into.computeIfAbsent(r.home(), k -> new int[6]);
+            int[] a = into.computeIfAbsent(r.away(), k -> new int[6]);
+            h[P] += sign;
+            a[P] += sign;
+            h[GF] += sign * r.homeGoals();
+            h[GA] += sign * r.awayGoals();
+            a[GF] += sign * r.awayGoals();
+            a[GA] += sign * r.homeGoals();
+            if (r.homeGoals() > r.awayGoals()) {
+                h[W] += sign;
+                a[L] += sign;
+            } else if (r.homeGoals() < r.awayGoals()) {
+                a[W] += sign;
+                h[L] += sign;
+            } else {
+                h[D] += sign;
+                a[D] += sign;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.viitorul.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viitorul.app.dto.MatchDTO;
+import com.viitorul.app.event.ContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Starea „fixtures” de pe homepage — următorul meci, ultimul rezultat și lista „upcoming” —
+ * ținută în memorie ca JSON deja serializat, cu ETag/Last-Modified pentru GET-uri condiționale.
+ * <p>
+ * Se invalidează după commit-ul oricărei modificări de meci, echipă (nume, logo) sau competiție
+ * și la miezul nopții (ora României),
+ * când meciurile de ieri ies din „upcoming”; prima citire după invalidare reconstruiește totul
+ * din două interogări.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FixturesCache {
+
+    private final MatchService matchService;
+    private final ObjectMapper objectMapper;
+
+    private volatile State current;
+    private volatile boolean stale = true;
+
+    /** {@code body == null} => resursa nu există (ex. niciun meci programat). */
+    public record Doc(byte[] body, String etag, long lastModified) {
+        public boolean exists() {
+            return body != null;
+        }
+    }
+
+    private record State(Doc next, Doc last, Doc upcoming) {}
+
+    public Doc next() {
+        return state().next();
+    }
+
+    public Doc last() {
+        return state().last();
+    }
+
+    public Doc upcoming() {
+        return state().upcoming();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent e) {
+        switch (e.type()) {
+            case MATCH, TEAM, COMPETITION -> invalidate();
+            default -> { }
+        }
+    }
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "Europe/Bucharest")
+    public void invalidate() {
+        stale = true;
+    }
+
+    private State state() {
+        State s = current;
+        if (!stale && s != null) return s;
+        synchronized (this) {
+            if (stale || current == null) {
+                // o invalidare venită în timpul build-ului rămâne valabilă pentru următoarea citire
+                stale = false;
+                try {
+                    current = build(current);
+                } catch (RuntimeException e) {
+                    stale = true;
+                    throw e;
+                }
+            }
+            return current;
+        }
+    }
+
+    private State build(State previous) {
+        long now = System.currentTimeMillis() / 1000 * 1000; // rezoluția header-ului HTTP e la secundă
+        List<MatchDTO> upcoming = matchService.getUpcomingMatches();
+        MatchDTO next = upcoming.isEmpty() ? null : upcoming.get(0);
+        MatchDTO last = matchService.findLastFinished().orElse(null);
+        return new State(
+                doc(next, previous == null ? null : previous.next(), now),
+                doc(last, previous == null ? null : previous.last(), now),
+                doc(upcoming, previous == null ? null : previous.upcoming(), now));
+    }
+
+    private Doc doc(Object value, Doc previous, long now) {
+        if (value == null) return new Doc(null, null, now);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu pot serializa meciurile", e);
+        }
+        String etag = "\"" + sha256(body).substring(0, 32) + "\"";
+        // conținut identic => păstrăm Last-Modified-ul vechi
+        if (previous != null && etag.equals(previous.etag())) return previous;
+        return new Doc(body, etag, now);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.dto.LeaderboardEntryDTO;
+import com.viitorul.app.dto.LeaderboardsDTO;
+import com.viitorul.app.repository.PlayerSeasonStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clasamentele clubului (goluri, pase decisive, cartonașe, prezențe, voturi MVP) pe sezon și/sau competiție.
+ * <p>
+ * Fiecare metrică e un singur GROUP BY peste {@code player_season_stats}; rezultatul (primii
+ * {@link #MAX_LIMIT}) e ținut în memorie per (sezon, competiție) și golit după commit-ul oricărui
+ * refresh al agregatelor, adică după orice modificare de statistici, loturi sau voturi MVP.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    public static final int MAX_LIMIT = 50;
+    private static final int MAX_SCOPES = 256;
+
+    public enum Metric { GOALS, ASSISTS, CARDS, APPEARANCES, MVP_VOTES }
+
+    private record Scope(Long seasonId, Long competitionId) {}
+
+    private final PlayerSeasonStatsRepository statsRepo;
+    private final Map<Scope, LeaderboardsDTO> cache = new ConcurrentHashMap<>();
+    // un calcul pornit înainte de invalidare nu are voie să pună în cache date vechi
+    private final AtomicLong generation = new AtomicLong();
+
+    public LeaderboardsDTO all(Long seasonId, Long competitionId, int limit) {
+        LeaderboardsDTO full = load(new Scope(seasonId, competitionId));
+        return new LeaderboardsDTO(seasonId, competitionId,
+                top(full.goals(), limit), top(full.assists(), limit), top(full.cards(), limit),
+                top(full.appearances(), limit), top(full.mvpVotes(), limit));
+    }
+
+    public List<LeaderboardEntryDTO> metric(Long seasonId, Long competitionId, Metric metric, int limit) {
+        LeaderboardsDTO full = load(new Scope(seasonId, competitionId));
+        return top(switch (metric) {
+            case GOALS -> full.goals();
+            case ASSISTS -> full.assists();
+            case CARDS -> full.cards();
+            case APPEARANCES -> full.appearances();
+            case MVP_VOTES -> full.mvpVotes();
+        }, limit);
+    }
+
+    /** Acceptă {@code goals}, {@code mvp-votes}, {@code mvpVotes}, {@code MVP_VOTES} etc. */
+    public static Metric parseMetric(String value) {
+        String key = value == null ? "" : value.replaceAll("[^A-Za-z]", "").toUpperCase(Locale.ROOT);
+        for (Metric m : Metric.values()) {
+            if (m.name().replace("_", "").equals(key)) return m;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown metric: " + value);
+    }
+
+    /** Golește cache-ul după commit (sau imediat, dacă nu suntem într-o tranzacție). */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private LeaderboardsDTO load(Scope scope) {
+        LeaderboardsDTO cached = cache.get(scope);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        PageRequest top = PageRequest.of(0, MAX_LIMIT);
+        Long s = scope.seasonId(), c = scope.competitionId();
+        LeaderboardsDTO fresh = new LeaderboardsDTO(s, c,
+                ranked(statsRepo.goalsLeaders(s, c, top)),
+                ranked(statsRepo.assistsLeaders(s, c, top)),
+                ranked(statsRepo.cardsLeaders(s, c, top)),
+                ranked(statsRepo.appearancesLeaders(s, c, top)),
+                ranked(statsRepo.mvpVotesLeaders(s, c, top)));
+
+        if (generation.get() == gen) {
+            if (cache.size() >= MAX_SCOPES) cache.clear();
+            cache.putIfAbsent(scope, fresh);
+        }
+        return fresh;
+    }
+
+    private static List<LeaderboardEntryDTO> ranked(List<LeaderboardEntryDTO> rows) {
+        List<LeaderboardEntryDTO> out = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LeaderboardEntryDTO row = rows.get(i);
+            boolean tie = i > 0 && rows.get(i - 1).value() == row.value();
+            out.add(row.withRank(tie ? out.get(i - 1).rank() : i + 1));
+        }
+        return List.copyOf(out);
+    }
+
+    private static List<LeaderboardEntryDTO> top(List<LeaderboardEntryDTO> list, int limit) {
+        return list.size() <= limit ? list : list.subList(0, limit);
+    }
+}
@@ -1,17 +1,34 @@
 package com.viitorul.app.service;
 
+import com.viitorul.app.dto.CursorPageDTO;
+import com.viitorul.app.dto.MatchCursor;
 import com.viitorul.app.dto.MatchDTO;
+import com.viitorul.app.dto.MatchListRow;
 import com.viitorul.app.dto.MatchPlayerStatDTO;
 import com.viitorul.app.entity.*;
+import com.viitorul.app.event.ContentChangedEvent;
+import com.viitorul.app.event.PlayerStatsChangedEvent;
 import com.viitorul.app.repository.*;
+import com.viitorul.app.util.SearchKeys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +38,11 @@ public class MatchService {
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
     private final MatchPlayerStatRepository statRepository;
+    private final MatchPlayerStatBatchRepository statBatchRepository;
+    private final MatchMvpTallyRepository tallyRepository;
     private final CompetitionRepository competitionRepository;
     private final CompetitionSeasonRepository seasonRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MatchDTO addMatch(MatchDTO dto) {
         Team homeTeam = teamRepository.findById(dto.getHomeTeamId()).orElseThrow();
@@ -65,39 +85,31 @@ public class MatchService {
                 .active(true)
                 .build();
 
-        return MatchDTO.toDto(matchRepository.save(match));
+        Match saved = matchRepository.save(match);
+        eventPublisher.publishEvent(ContentChangedEvent.match(saved.getId()));
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(lineupIds(saved)));
+        return MatchDTO.toDto(saved);
     }
 
     public Page<MatchDTO> getAllMatchesPaged(String q, Pageable pageable) {
-        Page<Match> page = (q == null || q.isBlank())
-                ? matchRepository.findAllByActiveTrueOrderByDateDesc(pageable)
-                : matchRepository.searchAllByTeamNames(q, pageable);
+        List<Long> teamIds = resolveTeamIds(q);
+        if (teamIds != null && teamIds.isEmpty()) return Page.empty(pageable);
 
-        return page.map(MatchDTO::toDto);
+        Page<MatchListRow> page = (teamIds == null)
+                ? matchRepository.findActiveListRows(pageable)
+                : matchRepository.searchAllByTeams(false, teamIds, pageable);
+
+        return new PageImpl<>(toListDtos(page.getContent()), pageable, page.getTotalElements());
     }
 
     public List<MatchDTO> getUpcomingMatches() {
-        return matchRepository.findUpcomingMatches().stream()
-                .map(MatchDTO::toDto)
-                .toList();
+        return toListDtos(matchRepository.findUpcomingMatches());
     }
 
-    public MatchDTO getLastFinished() {
-        // varianta 1: derived query
+    public Optional<MatchDTO> findLastFinished() {
         return matchRepository
                 .findFirstByActiveTrueAndHomeGoalsIsNotNullAndAwayGoalsIsNotNullOrderByDateDescKickoffTimeDescIdDesc()
-                .map(MatchDTO::toDto)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No finished matches"));
-    }
-
-    /**
-     * ULTIMUL ADĂUGAT: următorul meci (primul din lista „upcoming”).
-     */
-    public MatchDTO getNextMatch() {
-        return matchRepository.findUpcomingMatches().stream()
-                .findFirst()
-                .map(MatchDTO::toDto)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No upcoming matches"));
+                .map(MatchDTO::toDto);
     }
 
     public MatchDTO getMatchById(Long id) {
@@ -115,6 +127,7 @@ public class MatchService {
     public MatchDTO updateMatch(Long id, MatchDTO dto) {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Match not found"));
+        Set<Long> affected = affectedPlayers(match);
 
         Team homeTeam = teamRepository.findById(dto.getHomeTeamId())
                 .orElseThrow(() -> new RuntimeException("Home team not found"));
@@ -158,7 +171,11 @@ public class MatchService {
                 ? playerRepository.findAllById(dto.getSubstitutePlayerIds())
                 : List.of());
 
-        return MatchDTO.toDto(matchRepository.save(match));
+        Match saved = matchRepository.save(match);
+        eventPublisher.publishEvent(ContentChangedEvent.match(saved.getId()));
+        affected.addAll(lineupIds(saved));
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(affected));
+        return MatchDTO.toDto(saved);
     }
 
     public MatchPlayerStatDTO addOrUpdatePlayerStat(Long matchId, MatchPlayerStatDTO dto) {
@@ -175,7 +192,9 @@ public class MatchService {
                 })
                 .orElse(dto.toEntity(match, player));
 
-        return MatchPlayerStatDTO.toDto(statRepository.save(stat));
+        MatchPlayerStatDTO saved = MatchPlayerStatDTO.toDto(statRepository.save(stat));
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(Set.of(player.getId())));
+        return saved;
     }
 
     public Match getMatchEntity(Long id) {
@@ -183,15 +202,72 @@ public class MatchService {
     }
 
     public List<MatchDTO> getAllMatches() {
-        return matchRepository.findAll().stream().map(MatchDTO::toDto).toList();
+        return toListDtos(matchRepository.findAllListRows());
     }
 
 
     public Page<MatchDTO> getFinishedMatchesPaged(String q, Long seasonId, String seasonLabel, Pageable pageable) {
-        return matchRepository.searchFinishedMatches(q, seasonId, seasonLabel, pageable)
-                .map(MatchDTO::toDto);
+        List<Long> teamIds = resolveTeamIds(q);
+        if (teamIds != null && teamIds.isEmpty()) return Page.empty(pageable);
+
+        Page<MatchListRow> page = matchRepository.searchFinishedMatches(
+                teamIds == null, teamParam(teamIds), seasonId, seasonLabel, pageable);
+        return new PageImpl<>(toListDtos(page.getContent()), pageable, page.getTotalElements());
+    }
+
+
+    /** Rezultate cu keyset pagination: fără OFFSET și fără COUNT (decât dacă {@code withTotal}). */
+    public CursorPageDTO<MatchDTO> getFinishedMatchesSeek(String q, Long seasonId, String seasonLabel,
+                                                          String cursor, int size, boolean withTotal) {
+        MatchCursor after = MatchCursor.decode(cursor);
+        List<Long> teamIds = resolveTeamIds(q);
+        if (teamIds != null && teamIds.isEmpty()) return new CursorPageDTO<>(List.of(), null, withTotal ? 0L : null);
+
+        List<MatchListRow> rows = matchRepository.seekFinishedMatches(teamIds == null, teamParam(teamIds),
+                seasonId, seasonLabel, after.date(), after.kickoffTime(), after.id(), PageRequest.of(0, size + 1));
+        Long total = withTotal
+                ? matchRepository.searchFinishedMatches(teamIds == null, teamParam(teamIds),
+                        seasonId, seasonLabel, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        return toCursorPage(rows, size, total);
+    }
+
+    /** Lista de meciuri active (/page) cu keyset pagination. */
+    public CursorPageDTO<MatchDTO> getActiveMatchesSeek(String q, String cursor, int size, boolean withTotal) {
+        MatchCursor after = MatchCursor.decode(cursor);
+        List<Long> teamIds = resolveTeamIds(q);
+        if (teamIds != null && teamIds.isEmpty()) return new CursorPageDTO<>(List.of(), null, withTotal ? 0L : null);
+
+        List<MatchListRow> rows = matchRepository.seekActiveMatches(teamIds == null, teamParam(teamIds),
+                after.date(), after.kickoffTime(), after.id(), PageRequest.of(0, size + 1));
+        Long total = withTotal
+                ? matchRepository.searchAllByTeams(teamIds == null, teamParam(teamIds), PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        return toCursorPage(rows, size, total);
+    }
+
+    /**
+     * Căutarea text după echipă, rezolvată o singură dată pe tabela mică {@code teams} (index trigram
+     * pe {@code search_key}). {@code null} = fără filtru; listă goală = nicio echipă nu se potrivește.
+     */
+    private List<Long> resolveTeamIds(String q) {
+        String key = SearchKeys.fold(q);
+        if (key.isEmpty()) return null;
+        return teamRepository.findIdsBySearchKeyContaining(key);
+    }
+
+    /** IN () nu e valid, așa că fără filtru trimitem un id care nu există. */
+    private static List<Long> teamParam(List<Long> teamIds) {
+        return teamIds != null ? teamIds : List.of(-1L);
     }
 
+    /** {@code rows} are cel mult {@code size + 1} elemente; al {@code size + 1}-lea doar semnalează că mai urmează. */
+    private CursorPageDTO<MatchDTO> toCursorPage(List<MatchListRow> rows, int size, Long total) {
+        boolean hasMore = rows.size() > size;
+        List<MatchListRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? MatchCursor.after(pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(toListDtos(pageRows), next, total);
+    }
 
     public List<String> getFinishedSeasons() {
         return matchRepository.findDistinctSeasonLabelsForFinished();
@@ -207,6 +283,7 @@ public class MatchService {
     public MatchDTO patchMatch(Long id, MatchDTO dto) {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Match not found"));
+        Set<Long> affected = affectedPlayers(match);
 
         if (dto.getDate() != null) match.setDate(dto.getDate());
         if (dto.getKickoffTime() != null) match.setKickoffTime(dto.getKickoffTime());
@@ -252,12 +329,54 @@ public class MatchService {
             match.setSubstitutePlayers(playerRepository.findAllById(dto.getSubstitutePlayerIds()));
         }
 
-        return MatchDTO.toDto(matchRepository.save(match));
+        Match saved = matchRepository.save(match);
+        eventPublisher.publishEvent(ContentChangedEvent.match(saved.getId()));
+        affected.addAll(lineupIds(saved));
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(affected));
+        return MatchDTO.toDto(saved);
     }
 
+    /**
+     * Salvează statisticile întregului lot într-o singură tranzacție: meciul, jucătorii și statisticile
+     * existente vin din câte o interogare, UPDATE-urile pleacă la flush în lot (Hibernate), iar rândurile
+     * noi printr-un JDBC batch. Dacă același jucător apare de două ori, ultima valoare câștigă.
+     */
+    @Transactional
     public List<MatchPlayerStatDTO> addOrUpdatePlayerStatsBatch(Long matchId, List<MatchPlayerStatDTO> dtos) {
-        return dtos.stream()
-                .map(dto -> addOrUpdatePlayerStat(matchId, dto))
+        if (dtos.isEmpty()) return List.of();
+        Match match = matchRepository.findById(matchId).orElseThrow(() -> new RuntimeException("Match not found"));
+
+        Map<Long, MatchPlayerStatDTO> byPlayer = new LinkedHashMap<>();
+        dtos.forEach(dto -> byPlayer.put(dto.getPlayerId(), dto));
+
+        Map<Long, Player> players = new HashMap<>();
+        playerRepository.findAllById(byPlayer.keySet()).forEach(p -> players.put(p.getId(), p));
+        if (players.size() != byPlayer.size()) throw new RuntimeException("Player not found");
+
+        Map<Long, MatchPlayerStat> existing = new HashMap<>();
+        statRepository.findForMatchAndPlayers(matchId, byPlayer.keySet())
+                .forEach(s -> existing.put(s.getPlayer().getId(), s));
+
+        Map<Long, MatchPlayerStat> saved = new HashMap<>();
+        List<MatchPlayerStat> inserts = new ArrayList<>();
+        byPlayer.forEach((playerId, dto) -> {
+            MatchPlayerStat stat = existing.get(playerId);
+            if (stat != null) {
+                stat.setGoals(dto.getGoals());
+                stat.setAssists(dto.getAssists());
+                stat.setYellowCards(dto.getYellowCards());
+                stat.setRedCard(dto.isRedCard());
+            } else {
+                stat = dto.toEntity(match, players.get(playerId));
+                inserts.add(stat);
+            }
+            saved.put(playerId, stat);
+        });
+        statBatchRepository.insertAll(inserts);
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(Set.copyOf(byPlayer.keySet())));
+
+        return byPlayer.keySet().stream()
+                .map(id -> MatchPlayerStatDTO.toDto(saved.get(id)))
                 .toList();
     }
 
@@ -266,5 +385,46 @@ public class MatchService {
                 .orElseThrow(() -> new RuntimeException("Match not found"));
         match.setActive(false);
         matchRepository.save(match);
+        eventPublisher.publishEvent(ContentChangedEvent.match(id));
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(affectedPlayers(match)));
+    }
+
+    /** Jucătorii ale căror agregate pe sezon depind de meci: lot, statistici și voturi MVP. */
+    private Set<Long> affectedPlayers(Match match) {
+        Set<Long> ids = lineupIds(match);
+        ids.addAll(statRepository.findPlayerIdsByMatchId(match.getId()));
+        ids.addAll(tallyRepository.findPlayerIdsByMatchId(match.getId()));
+        return ids;
+    }
+
+    private static Set<Long> lineupIds(Match match) {
+        Set<Long> ids = new HashSet<>();
+        if (match.getStartingPlayers() != null) match.getStartingPlayers().forEach(p -> ids.add(p.getId()));
+        if (match.getSubstitutePlayers() != null) match.getSubstitutePlayers().forEach(p -> ids.add(p.getId()));
+        return ids;
+    }
+
+    /**
+     * Rânduri → DTO-uri. Lotul tuturor meciurilor din listă vine dintr-o singură interogare,
+     * deci numărul de interogări nu depinde de mărimea paginii.
+     */
+    private List<MatchDTO> toListDtos(List<MatchListRow> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        Map<Long, List<Long>> starting = new HashMap<>();
+        Map<Long, List<Long>> substitutes = new HashMap<>();
+        List<Long> ids = rows.stream().map(MatchListRow::id).toList();
+        for (Object[] r : matchRepository.findSquadPlayerIds(ids)) {
+            Long matchId = ((Number) r[0]).longValue();
+            Long playerId = ((Number) r[1]).longValue();
+            Map<Long, List<Long>> target = "S".equals(String.valueOf(r[2])) ? starting : substitutes;
+            target.computeIfAbsent(matchId, k -> new ArrayList<>()).add(playerId);
+        }
+
+        return rows.stream()
+                .map(row -> MatchDTO.fromRow(row,
+                        starting.getOrDefault(row.id(), List.of()),
+                        substitutes.getOrDefault(row.id(), List.of())))
+                .toList();
     }
 }
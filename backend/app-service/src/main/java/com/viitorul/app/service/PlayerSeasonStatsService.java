@@ -0,0 +1,117 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.dto.PlayerSeasonStatsDTO;
+import com.viitorul.app.event.MvpVoteCastEvent;
+import com.viitorul.app.event.PlayerStatsChangedEvent;
+import com.viitorul.app.repository.MatchMvpTallyRepository;
+import com.viitorul.app.repository.PlayerSeasonStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agregatele jucător × sezon din {@code player_season_stats}.
+ * <p>
+ * După commit-ul unei modificări se recalculează doar jucătorii atinși (toate sezoanele lor, ca să prindă
+ * și mutarea unui meci dintr-un sezon în altul). Voturile MVP vin des, așa că meciurile votate sunt doar
+ * marcate și procesate grupat la {@code app.stats.vote-refresh-ms}. Tabela se poate reconstrui oricând;
+ * orice refresh golește clasamentele din {@link LeaderboardService}.
+ */
+@Slf4j
+@Service
+public class PlayerSeasonStatsService {
+
+    private final PlayerSeasonStatsRepository statsRepo;
+    private final MatchMvpTallyRepository tallyRepo;
+    private final LeaderboardService leaderboards;
+    private final TransactionTemplate requiresNew;
+    private final Set<Long> votedMatches = ConcurrentHashMap.newKeySet();
+
+    public PlayerSeasonStatsService(PlayerSeasonStatsRepository statsRepo,
+                                    MatchMvpTallyRepository tallyRepo,
+                                    LeaderboardService leaderboards,
+                                    PlatformTransactionManager txManager) {
+        this.statsRepo = statsRepo;
+        this.tallyRepo = tallyRepo;
+        this.leaderboards = leaderboards;
+        this.requiresNew = new TransactionTemplate(txManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerSeasonStatsDTO> forPlayer(Long playerId) {
+        return statsRepo.findByPlayerIdOrderBySeasonIdDesc(playerId).stream()
+                .map(PlayerSeasonStatsDTO::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> playerIds) {
+        if (playerIds.isEmpty()) return;
+        statsRepo.lockForRefresh();
+        statsRepo.deleteForPlayers(false, playerIds);
+        statsRepo.insertForPlayers(false, playerIds);
+        leaderboards.invalidateAfterCommit();
+    }
+
+    @Transactional
+    public int rebuildAll() {
+        statsRepo.lockForRefresh();
+        statsRepo.deleteForPlayers(true, List.of(-1L));
+        int rows = statsRepo.insertForPlayers(true, List.of(-1L));
+        leaderboards.invalidateAfterCommit();
+        return rows;
+    }
+
+    /** Prima pornire după introducerea tabelei: o umplem din sursă. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (statsRepo.count() > 0) return;
+        Integer rows = requiresNew.execute(s -> rebuildAll());
+        log.info("[PlayerSeasonStats] Construite {} rânduri jucător × sezon", rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(PlayerStatsChangedEvent e) {
+        refreshInNewTransaction(e.playerIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(MvpVoteCastEvent e) {
+        votedMatches.add(e.matchId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.vote-refresh-ms:10000}")
+    public void flushVotedMatches() {
+        if (votedMatches.isEmpty()) return;
+        Set<Long> players = new HashSet<>();
+        for (Long matchId : List.copyOf(votedMatches)) {
+            votedMatches.remove(matchId);
+            players.addAll(tallyRepo.findPlayerIdsByMatchId(matchId));
+        }
+        refreshInNewTransaction(players);
+    }
+
+    /** Rulează după commit-ul emitentului, deci are nevoie de propria tranzacție; o eroare nu e propagată. */
+    private void refreshInNewTransaction(Collection<Long> playerIds) {
+        if (playerIds.isEmpty()) return;
+        try {
+            requiresNew.executeWithoutResult(s -> refresh(playerIds));
+        } catch (RuntimeException ex) {
+            log.warn("[PlayerSeasonStats] Refresh eșuat pentru {} jucători: {}", playerIds.size(), ex.toString());
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.viitorul.app.service;
 
 import com.viitorul.app.dto.PlayerDTO;
 import com.viitorul.app.entity.Player;
+import com.viitorul.app.event.ContentChangedEvent;
 import com.viitorul.app.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -15,6 +17,7 @@ import java.util.List;
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PlayerDTO addPlayer(PlayerDTO dto) {
         Player player = Player.builder()
@@ -26,6 +29,7 @@ public class PlayerService {
                 .build();
 
         Player saved = playerRepository.save(player);
+        eventPublisher.publishEvent(ContentChangedEvent.player(saved.getId()));
         return PlayerDTO.toDto(saved);
     }
 
@@ -65,7 +69,9 @@ public class PlayerService {
             p.setIsActive(dto.getIsActive());
         }
 
-        return PlayerDTO.toDto(playerRepository.save(p));
+        Player saved = playerRepository.save(p);
+        eventPublisher.publishEvent(ContentChangedEvent.player(id));
+        return PlayerDTO.toDto(saved);
     }
 
     /** Soft delete: dezactivează jucătorul în loc să-l șteargă fizic. */
@@ -78,6 +84,7 @@ public class PlayerService {
         }
         p.setIsActive(false);
         playerRepository.save(p);
+        eventPublisher.publishEvent(ContentChangedEvent.player(id));
     }
 
     public void activatePlayer(Long id) {
@@ -86,6 +93,7 @@ public class PlayerService {
         if (Boolean.TRUE.equals(p.getIsActive())) return;
         p.setIsActive(true);
         playerRepository.save(p);
+        eventPublisher.publishEvent(ContentChangedEvent.player(id));
     }
 
     public void deactivatePlayer(Long id) {
@@ -94,5 +102,6 @@ public class PlayerService {
         if (Boolean.FALSE.equals(p.getIsActive())) return;
         p.setIsActive(false);
         playerRepository.save(p);
+        eventPublisher.publishEvent(ContentChangedEvent.player(id));
     }
 }
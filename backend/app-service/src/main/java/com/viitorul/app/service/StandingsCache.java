@@ -0,0 +1,91 @@
+package com.viitorul.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viitorul.app.dto.StandingsResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Clasamentul public, deja serializat în JSON, ținut în memorie.
+ * Citirile nu ating baza de date; intrarea e înlocuită atomic după commit-ul unei modificări.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StandingsCache {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Entry> current = new AtomicReference<>();
+
+    /** Corpul JSON + validatorii HTTP. Array-ul nu e modificat după construcție. */
+    public record Entry(byte[] body, String etag, long lastModified) {}
+
+    public Entry get(Supplier<StandingsResponseDTO> loader) {
+        Entry e = current.get();
+        if (e != null) return e;
+        synchronized (this) {
+            e = current.get();
+            if (e == null) {
+                e = build(loader.get(), null);
+                current.set(e);
+            }
+            return e;
+        }
+    }
+
+    /** Reîncarcă după commit (sau imediat, dacă nu suntem într-o tranzacție). */
+    public void refreshAfterCommit(Supplier<StandingsResponseDTO> loader) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(loader);
+                }
+            });
+        } else {
+            refresh(loader);
+        }
+    }
+
+    private synchronized void refresh(Supplier<StandingsResponseDTO> loader) {
+        try {
+            current.set(build(loader.get(), current.get()));
+        } catch (RuntimeException e) {
+            // următoarea citire va reîncărca din DB
+            log.warn("[StandingsCache] Refresh eșuat: {}", e.toString());
+            current.set(null);
+        }
+    }
+
+    private Entry build(StandingsResponseDTO dto, Entry previous) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu pot serializa clasamentul", e);
+        }
+        String etag = "\"" + sha256(body).substring(0, 32) + "\"";
+        // conținut identic => păstrăm Last-Modified-ul vechi
+        if (previous != null && previous.etag().equals(etag)) return previous;
+        long now = System.currentTimeMillis() / 1000 * 1000; // rezoluția header-ului HTTP e la secundă
+        return new Entry(body, etag, now);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+}
@@ -28,6 +28,8 @@ public class StandingsService {
     private final StandingsRowRepository rowRepository;
     private final StandingsConfigRepository configRepository;
     private final HeadlessPageFetcher pageFetcher; // <- nou
+    private final StandingsSnapshotService snapshotService;
+    private final StandingsCache standingsCache;
 
     private static final ZoneId ZONE_RO = ZoneId.of("Europe/Bucharest");
     private static final String UA =
@@ -47,6 +49,11 @@ public class StandingsService {
                 .build();
     }
 
+    /** Varianta servită public: JSON pre-serializat din memorie, fără interogări. */
+    public StandingsCache.Entry getCurrentCached() {
+        return standingsCache.get(this::getCurrent);
+    }
+
     public StandingsResponseDTO getConfigOnly() {
         var config = getOrCreateConfig();
         return StandingsResponseDTO.builder()
@@ -59,38 +66,7 @@ public class StandingsService {
 
     @Transactional
     public StandingsResponseDTO saveManual(StandingsSaveRequestDTO req) {
-        var snapshot = OffsetDateTime.now(ZONE_RO);
-
-        var config = getOrCreateConfig();
-        config.setSourceUrl(req.getSourceUrl());
-        config.setUpdatedAt(snapshot);
-        configRepository.save(config);
-
-        rowRepository.deleteAllInBatch();
-
-        var entities = req.getRows().stream().map(r -> StandingsRow.builder()
-                .rank(r.getRank())
-                .teamName(r.getTeamName())
-                .teamUrl(r.getTeamUrl())
-                .played(r.getPlayed())
-                .wins(r.getWins())
-                .draws(r.getDraws())
-                .losses(r.getLosses())
-                .goalsFor(r.getGoalsFor())
-                .goalsAgainst(r.getGoalsAgainst())
-                .points(r.getPoints())
-                .snapshotAt(snapshot)
-                .build()
-        ).toList();
-
-        rowRepository.saveAll(entities);
-
-        return StandingsResponseDTO.builder()
-                .sourceUrl(config.getSourceUrl())
-                .scheduleEnabled(config.isScheduleEnabled())
-                .lastUpdated(snapshot)
-                .rows(entities.stream().map(StandingsRowDTO::toDto).toList())
-                .build();
+        return persistIfChanged(req.getRows(), req.getSourceUrl());
     }
 
     /**
@@ -110,25 +86,18 @@ public class StandingsService {
             doc = getDocumentViaJsoup(url); // poate arunca IOException
         }
 
-        var rows = extractRows(doc);
-        var snapshot = OffsetDateTime.now(ZONE_RO);
-
-        var config = getOrCreateConfig();
-        config.setSourceUrl(url);
-        config.setUpdatedAt(snapshot);
-        configRepository.save(config);
-
-        rowRepository.deleteAllInBatch();
-
-        var entities = rowsToEntities(rows, snapshot);
-        rowRepository.saveAll(entities);
+        return persistIfChanged(extractRows(doc), url);
+    }
 
-        return StandingsResponseDTO.builder()
-                .sourceUrl(config.getSourceUrl())
-                .scheduleEnabled(config.isScheduleEnabled())
-                .lastUpdated(snapshot)
-                .rows(entities.stream().map(StandingsRowDTO::toDto).toList())
-                .build();
+    /**
+     * Publică drept clasament curent rândurile calculate din rezultatele noastre (fără browser).
+     * URL-ul sursă din config rămâne neschimbat, ca scrape-ul să poată fi reluat oricând; snapshot-ul
+     * e marcat {@code computed:season:<id>}, ca reconcilierea să compare tot cu ultimul scrape.
+     */
+    @Transactional
+    public StandingsResponseDTO saveComputed(Long seasonId, List<StandingsRowDTO> rows) {
+        return persistIfChanged(rows, getOrCreateConfig().getSourceUrl(),
+                StandingsSnapshotService.COMPUTED_SOURCE_PREFIX + "season:" + seasonId);
     }
 
     @Transactional
@@ -137,6 +106,15 @@ public class StandingsService {
         c.setScheduleEnabled(enabled);
         c.setUpdatedAt(OffsetDateTime.now(ZONE_RO));
         configRepository.save(c);
+        standingsCache.refreshAfterCommit(this::getCurrent);
+    }
+
+    public List<StandingsSnapshotDTO> getSnapshots(int limit) {
+        return snapshotService.list(limit);
+    }
+
+    public StandingsDiffDTO diff(Long fromId, Long toId) {
+        return snapshotService.diff(fromId, toId);
     }
 
     public boolean isScheduleEnabled() {
@@ -145,6 +123,53 @@ public class StandingsService {
 
     // ===================== Helpers =====================
 
+    /**
+     * Rescrie {@code standings_row} doar dacă rândurile diferă de ultimul snapshot (după hash);
+     * altfel actualizează doar config-ul și păstrează datele existente.
+     */
+    private StandingsResponseDTO persistIfChanged(List<StandingsRowDTO> rows, String sourceUrl) {
+        return persistIfChanged(rows, sourceUrl, sourceUrl);
+    }
+
+    private StandingsResponseDTO persistIfChanged(List<StandingsRowDTO> rows, String sourceUrl, String snapshotSource) {
+        var now = OffsetDateTime.now(ZONE_RO);
+
+        var config = getOrCreateConfig();
+        config.setSourceUrl(sourceUrl);
+        config.setUpdatedAt(now);
+        configRepository.save(config);
+        standingsCache.refreshAfterCommit(this::getCurrent);
+
+        String hash = snapshotService.hash(rows);
+        var latest = snapshotService.findLatest();
+
+        OffsetDateTime lastUpdated;
+        if (latest.isPresent() && latest.get().getContentHash().equals(hash)) {
+            log.info("[Standings] Clasament neschimbat ({}), nu rescriu tabela.", hash.substring(0, 12));
+            lastUpdated = rowRepository.findMaxSnapshotAt();
+        } else if (latest.isEmpty() && hash.equals(snapshotService.hash(currentRows()))) {
+            // prima rulare după migrare: datele existente devin versiunea inițială
+            lastUpdated = rowRepository.findMaxSnapshotAt();
+            snapshotService.save(rows, snapshotSource, hash, lastUpdated != null ? lastUpdated : now);
+        } else {
+            rowRepository.deleteAllInBatch();
+            rowRepository.saveAll(rowsToEntities(rows, now));
+            snapshotService.save(rows, snapshotSource, hash, now);
+            lastUpdated = now;
+        }
+
+        return StandingsResponseDTO.builder()
+                .sourceUrl(config.getSourceUrl())
+                .scheduleEnabled(config.isScheduleEnabled())
+                .lastUpdated(lastUpdated)
+                .rows(rows)
+                .build();
+    }
+
+    private List<StandingsRowDTO> currentRows() {
+        return rowRepository.findLatestSnapshot().stream().map(StandingsRowDTO::toDto).toList();
+    }
+
     private List<StandingsRow> rowsToEntities(List<StandingsRowDTO> rows, OffsetDateTime snapshot) {
         return rows.stream().map(r -> StandingsRow.builder()
                 .rank(r.getRank())
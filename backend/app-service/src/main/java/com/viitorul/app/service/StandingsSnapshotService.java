@@ -0,0 +1,203 @@
+package com.viitorul.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viitorul.app.dto.StandingsDiffDTO;
+import com.viitorul.app.dto.StandingsRowDTO;
+import com.viitorul.app.dto.StandingsSnapshotDTO;
+import com.viitorul.app.entity.StandingsSnapshot;
+import com.viitorul.app.repository.StandingsSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Istoricul clasamentului: fiecare versiune distinctă (după hash-ul conținutului) e păstrată
+ * o singură dată în {@code standings_snapshot}, ca JSON compact.
+ */
+@Service
+@RequiredArgsConstructor
+public class StandingsSnapshotService {
+
+    /** {@code sourceUrl} al snapshot-urilor publicate din clasamentul calculat (nu dintr-un scrape). */
+    public static final String COMPUTED_SOURCE_PREFIX = "computed:";
+
+    private static final TypeReference<List<StandingsRowDTO>> ROWS_TYPE = new TypeReference<>() {};
+
+    private final StandingsSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    /** SHA-256 peste rândurile ordonate după loc; ordinea din HTML nu contează. */
+    public String hash(List<StandingsRowDTO> rows) {
+        List<StandingsRowDTO> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator
+                .comparing(StandingsRowDTO::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(StandingsRowDTO::getTeamName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        StringBuilder sb = new StringBuilder();
+        for (StandingsRowDTO r : sorted) {
+            sb.append(r.getRank()).append('|')
+                    .append(r.getTeamName()).append('|')
+                    .append(r.getTeamUrl()).append('|')
+                    .append(r.getPlayed()).append('|')
+                    .append(r.getWins()).append('|')
+                    .append(r.getDraws()).append('|')
+                    .append(r.getLosses()).append('|')
+                    .append(r.getGoalsFor()).append('|')
+                    .append(r.getGoalsAgainst()).append('|')
+                    .append(r.getPoints()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StandingsSnapshot> findLatest() {
+        return snapshotRepository.findTopByOrderByIdDesc();
+    }
+
+    /**
+     * Ultima versiune venită din afară (scrape sau introdusă manual), nu din clasamentul calculat,
+     * luată după {@code since} (începutul sezonului); {@code null} = fără limită.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StandingsSnapshot> findLatestExternal(OffsetDateTime since) {
+        String pattern = COMPUTED_SOURCE_PREFIX + "%";
+        List<StandingsSnapshot> found = since == null
+                ? snapshotRepository.findLatestNotLike(pattern, PageRequest.of(0, 1))
+                : snapshotRepository.findLatestNotLikeSince(pattern, since, PageRequest.of(0, 1));
+        return found.stream().findFirst();
+    }
+
+    public List<StandingsRowDTO> rowsOf(StandingsSnapshot snapshot) {
+        return readRows(snapshot.getRowsJson());
+    }
+
+    @Transactional
+    public StandingsSnapshot save(List<StandingsRowDTO> rows, String sourceUrl, String hash, OffsetDateTime at) {
+        return snapshotRepository.save(StandingsSnapshot.builder()
+                .contentHash(hash)
+                .sourceUrl(sourceUrl)
+                .rowCount(rows.size())
+                .rowsJson(writeRows(rows))
+                .createdAt(at)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingsSnapshotDTO> list(int limit) {
+        int size = Math.min(Math.max(limit, 1), 200);
+        return snapshotRepository.findHeaders(PageRequest.of(0, size)).stream()
+                .map(r -> StandingsSnapshotDTO.builder()
+                        .id((Long) r[0])
+                        .contentHash((String) r[1])
+                        .rowCount((Integer) r[2])
+                        .createdAt((OffsetDateTime) r[3])
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Diferența dintre două versiuni. Implicit: ultima versiune față de cea dinaintea ei.
+     */
+    @Transactional(readOnly = true)
+    public StandingsDiffDTO diff(Long fromId, Long toId) {
+        StandingsSnapshot to = (toId != null)
+                ? snapshotRepository.findById(toId).orElseThrow(() -> notFound(toId))
+                : snapshotRepository.findTopByOrderByIdDesc()
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No standings snapshots"));
+        StandingsSnapshot from = (fromId != null)
+                ? snapshotRepository.findById(fromId).orElseThrow(() -> notFound(fromId))
+                : snapshotRepository.findTopByIdLessThanOrderByIdDesc(to.getId()).orElse(null);
+
+        List<StandingsRowDTO> before = from != null ? readRows(from.getRowsJson()) : List.of();
+        List<StandingsRowDTO> after = readRows(to.getRowsJson());
+
+        return StandingsDiffDTO.builder()
+                .fromSnapshotId(from != null ? from.getId() : null)
+                .toSnapshotId(to.getId())
+                .fromCreatedAt(from != null ? from.getCreatedAt() : null)
+                .toCreatedAt(to.getCreatedAt())
+                .rows(compare(before, after))
+                .build();
+    }
+
+    // ===================== Helpers =====================
+
+    private static List<StandingsDiffDTO.Entry> compare(List<StandingsRowDTO> before, List<StandingsRowDTO> after) {
+        Map<String, StandingsRowDTO> prev = new LinkedHashMap<>();
+        for (StandingsRowDTO r : before) prev.put(key(r), r);
+
+        List<StandingsDiffDTO.Entry> out = new ArrayList<>();
+        for (StandingsRowDTO cur : after) {
+            StandingsRowDTO old = prev.remove(key(cur));
+            if (old == null) {
+                out.add(entry(cur.getTeamName(), null, cur, "NEW"));
+                continue;
+            }
+            boolean same = Objects.equals(old.getRank(), cur.getRank())
+                    && Objects.equals(old.getPoints(), cur.getPoints())
+                    && Objects.equals(old.getPlayed(), cur.getPlayed());
+            out.add(entry(cur.getTeamName(), old, cur, same ? "UNCHANGED" : "CHANGED"));
+        }
+        for (StandingsRowDTO gone : prev.values()) {
+            out.add(entry(gone.getTeamName(), gone, null, "REMOVED"));
+        }
+        return out;
+    }
+
+    private static StandingsDiffDTO.Entry entry(String team, StandingsRowDTO old, StandingsRowDTO cur, String status) {
+        Integer prevRank = old != null ? old.getRank() : null;
+        Integer curRank = cur != null ? cur.getRank() : null;
+        Integer prevPts = old != null ? old.getPoints() : null;
+        Integer curPts = cur != null ? cur.getPoints() : null;
+        return StandingsDiffDTO.Entry.builder()
+                .teamName(team)
+                .previousRank(prevRank)
+                .currentRank(curRank)
+                .rankMove(prevRank != null && curRank != null ? prevRank - curRank : null)
+                .previousPoints(prevPts)
+                .currentPoints(curPts)
+                .pointsDelta(prevPts != null && curPts != null ? curPts - prevPts : null)
+                .status(status)
+                .build();
+    }
+
+    private static String key(StandingsRowDTO r) {
+        return r.getTeamName() == null ? "" : r.getTeamName().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String writeRows(List<StandingsRowDTO> rows) {
+        try {
+            return objectMapper.writeValueAsString(rows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu pot serializa clasamentul", e);
+        }
+    }
+
+    private List<StandingsRowDTO> readRows(String json) {
+        try {
+            return objectMapper.readValue(json, ROWS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Snapshot de clasament corupt", e);
+        }
+    }
+
+    private static ResponseStatusException notFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Standings snapshot " + id + " not found");
+    }
+}
@@ -0,0 +1,257 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.dto.HeadToHeadDTO;
+import com.viitorul.app.dto.MatchPreviewDTO;
+import com.viitorul.app.dto.MatchResultRow;
+import com.viitorul.app.dto.ResultLineDTO;
+import com.viitorul.app.dto.SplitDTO;
+import com.viitorul.app.dto.TeamFormDTO;
+import com.viitorul.app.event.ContentChangedEvent;
+import com.viitorul.app.repository.MatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Head-to-head, formă (ultimele N), bilanț acasă/deplasare și trendul golaverajului, calculate din memorie.
+ * <p>
+ * Toate rezultatele sunt încărcate o dată, într-o singură interogare, într-o structură pe coloane
+ * (array-uri paralele, ordonate cronologic) plus un index echipă → poziții. După commit-ul unei
+ * modificări de meci (add/update/patch/softDelete) se citește doar acel meci și se înlocuiește
+ * instantaneul, fără a re-scana istoricul din DB.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamFormEngine {
+
+    public static final int DEFAULT_FORM_LENGTH = 5;
+    public static final int MAX_FORM_LENGTH = 20;
+
+    private final MatchRepository matchRepository;
+
+    /** {@code null} până la prima citire. */
+    private volatile History history;
+
+    public HeadToHeadDTO headToHead(Long teamId, Long opponentId, int lastN) {
+        return history().headToHead(teamId, opponentId, lastN);
+    }
+
+    public TeamFormDTO form(Long teamId, Long seasonId, int n) {
+        return history().form(teamId, seasonId, n);
+    }
+
+    public MatchPreviewDTO preview(Long matchId) {
+        MatchResultRow m = matchRepository.findResultRow(matchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found"));
+        History h = history();
+        return new MatchPreviewDTO(matchId, m.seasonId(),
+                h.headToHead(m.homeTeamId(), m.awayTeamId(), DEFAULT_FORM_LENGTH),
+                h.form(m.homeTeamId(), m.seasonId(), DEFAULT_FORM_LENGTH),
+                h.form(m.awayTeamId(), m.seasonId(), DEFAULT_FORM_LENGTH));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent e) {
+        if (e.type() != ContentChangedEvent.Type.MATCH) return;
+        // sub același lock ca încărcarea: o încărcare în curs (poate dinainte de commit) e urmată de înlocuire
+        synchronized (this) {
+            if (history == null) return;
+            try {
+                history = history.replace(e.id(), matchRepository.findResultRow(e.id()).orElse(null));
+            } catch (RuntimeException ex) {
+                // următoarea citire reîncarcă tot istoricul
+                log.warn("[TeamFormEngine] Actualizare eșuată pentru meciul {}: {}", e.id(), ex.toString());
+                history = null;
+            }
+        }
+    }
+
+    private History history() {
+        History h = history;
+        if (h != null) return h;
+        synchronized (this) {
+            if (history == null) {
+                List<MatchResultRow> rows = matchRepository.findAllResultRows();
+                history = History.of(rows.stream().map(Entry::of).toList());
+                log.info("[TeamFormEngine] Încărcate {} rezultate", rows.size());
+            }
+            return history;
+        }
+    }
+
+    /** Un rezultat, cu data/ora ca numere (sortare ieftină) și sezonul 0 când lipsește. */
+    private record Entry(long id, int day, int second, long home, long away, int homeGoals, int awayGoals, long season) {
+
+        static final int NO_DAY = (int) LocalDate.of(9999, 12, 31).toEpochDay();
+        static final int NO_SECOND = LocalTime.MAX.toSecondOfDay();
+        static final Comparator<Entry> CHRONOLOGICAL = Comparator.comparingInt(Entry::day)
+                .thenComparingInt(Entry::second)
+                .thenComparingLong(Entry::id);
+
+        static Entry of(MatchResultRow r) {
+            return new Entry(r.id(),
+                    r.date() == null ? NO_DAY : (int) r.date().toEpochDay(),
+                    r.kickoffTime() == null ? NO_SECOND : r.kickoffTime().toSecondOfDay(),
+                    r.homeTeamId(), r.awayTeamId(), r.homeGoals(), r.awayGoals(),
+                    r.seasonId() == null ? 0L : r.seasonId());
+        }
+    }
+
+    /** Instantaneu imutabil, pe coloane; înlocuit integral la fiecare modificare. */
+    private static final class History {
+        private final long[] ids;
+        private final int[] days;
+        private final int[] seconds;
+        private final long[] home;
+        private final long[] away;
+        private final int[] homeGoals;
+        private final int[] awayGoals;
+        private final long[] seasons;
+        private final Map<Long, int[]> byTeam;
+
+        private History(int n) {
+            ids = new long[n];
+            days = new int[n];
+            seconds = new int[n];
+            home = new long[n];
+            away = new long[n];
+            homeGoals = new int[n];
+            awayGoals = new int[n];
+            seasons = new long[n];
+            byTeam = new HashMap<>();
+        }
+
+        static History of(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(Entry.CHRONOLOGICAL);
+            History h = new History(sorted.size());
+            Map<Long, int[]> positions = new HashMap<>();
+            Map<Long, Integer> counts = new HashMap<>();
+            for (int i = 0; i < sorted.size(); i++) {
+                Entry e = sorted.get(i);
+                h.ids[i] = e.id();
+                h.days[i] = e.day();
+                h.seconds[i] = e.second();
+                h.home[i] = e.home();
+                h.away[i] = e.away();
+                h.homeGoals[i] = e.homeGoals();
+                h.awayGoals[i] = e.awayGoals();
+                h.seasons[i] = e.season();
+                add(positions, counts, e.home(), i);
+                if (e.away() != e.home()) add(positions, counts, e.away(), i);
+            }
+            positions.forEach((team, arr) -> h.byTeam.put(team, Arrays.copyOf(arr, counts.get(team))));
+            return h;
+        }
+
+        private static void add(Map<Long, int[]> positions, Map<Long, Integer> counts, long team, int i) {
+            int c = counts.merge(team, 1, Integer::sum);
+            int[] arr = positions.computeIfAbsent(team, k -> new int[8]);
+            if (c > arr.length) positions.put(team, arr = Arrays.copyOf(arr, arr.length * 2));
+            arr[c - 1] = i;
+        }
+
+        /** Scoate meciul {@code id} și, dacă e un rezultat valid, îl pune la loc cu datele noi. */
+        History replace(Long id, MatchResultRow row) {
+            List<Entry> entries = new ArrayList<>(ids.length + 1);
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) continue;
+                entries.add(new Entry(ids[i], days[i], seconds[i], home[i], away[i], homeGoals[i], awayGoals[i], seasons[i]));
+            }
+            if (row != null && row.isFinished()) entries.add(Entry.of(row));
+            return of(entries);
+        }
+
+        HeadToHeadDTO headToHead(Long teamId, Long opponentId, int lastN) {
+            int played = 0, wins = 0, draws = 0, losses = 0, gf = 0, ga = 0;
+            List<ResultLineDTO> last = new ArrayList<>();
+            int[] idx = opponentId == null ? new int[0] : positions(teamId);
+            for (int k = idx.length - 1; k >= 0; k--) {
+                int i = idx[k];
+                if (opponent(i, teamId) != opponentId) continue;
+                char outcome = outcome(i, teamId);
+                played++;
+                if (outcome == 'W') wins++;
+                else if (outcome == 'D') draws++;
+                else losses++;
+                gf += goalsFor(i, teamId);
+                ga += goalsAgainst(i, teamId);
+                if (last.size() < lastN) last.add(line(i, outcome));
+            }
+            return new HeadToHeadDTO(teamId, opponentId, played, wins, draws, losses, gf, ga, List.copyOf(last));
+        }
+
+        TeamFormDTO form(Long teamId, Long seasonId, int n) {
+            int[] idx = positions(teamId);
+            int[] homeSplit = new int[6], awaySplit = new int[6]; // P W D L GF GA
+            List<Integer> trend = new ArrayList<>();
+            List<ResultLineDTO> recent = new ArrayList<>();
+            int gd = 0;
+
+            for (int i : idx) {
+                if (seasonId != null && seasons[i] != seasonId) continue;
+                char outcome = outcome(i, teamId);
+                int[] split = home[i] == teamId ? homeSplit : awaySplit;
+                split[0]++;
+                split[outcome == 'W' ? 1 : outcome == 'D' ? 2 : 3]++;
+                split[4] += goalsFor(i, teamId);
+                split[5] += goalsAgainst(i, teamId);
+                gd += goalsFor(i, teamId) - goalsAgainst(i, teamId);
+                trend.add(gd);
+                recent.add(line(i, outcome));
+                if (recent.size() > n) recent.remove(0);
+            }
+
+            StringBuilder form = new StringBuilder(recent.size());
+            recent.forEach(r -> form.append(r.outcome()));
+            List<ResultLineDTO> newestFirst = new ArrayList<>(recent);
+            Collections.reverse(newestFirst);
+            return new TeamFormDTO(teamId, seasonId, form.toString(), List.copyOf(newestFirst),
+                    split(homeSplit), split(awaySplit), List.copyOf(trend));
+        }
+
+        private int[] positions(Long teamId) {
+            return teamId == null ? new int[0] : byTeam.getOrDefault(teamId, new int[0]);
+        }
+
+        private long opponent(int i, long teamId) {
+            return home[i] == teamId ? away[i] : home[i];
+        }
+
+        private int goalsFor(int i, long teamId) {
+            return home[i] == teamId ? homeGoals[i] : awayGoals[i];
+        }
+
+        private int goalsAgainst(int i, long teamId) {
+            return home[i] == teamId ? awayGoals[i] : homeGoals[i];
+        }
+
+        private char outcome(int i, long teamId) {
+            int diff = goalsFor(i, teamId) - goalsAgainst(i, teamId);
+            return diff > 0 ? 'W' : diff == 0 ? 'D' : 'L';
+        }
+
+        private ResultLineDTO line(int i, char outcome) {
+            LocalDate date = days[i] == Entry.NO_DAY ? null : LocalDate.ofEpochDay(days[i]);
+            return new ResultLineDTO(ids[i], date, home[i], away[i], homeGoals[i], awayGoals[i], outcome);
+        }
+
+        private static SplitDTO split(int[] s) {
+            return new SplitDTO(s[0], s[1], s[2], s[3], s[4], s[5], s[1] * 3 + s[2]);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.viitorul.app.service;
 
 import com.viitorul.app.dto.TeamDTO;
 import com.viitorul.app.entity.Team;
+import com.viitorul.app.event.ContentChangedEvent;
 import com.viitorul.app.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +18,9 @@ public class TeamService {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<TeamDTO> getAllTeams() {
         return teamRepository.findByActiveTrue().stream()
                 .map(this::mapToDTO)
@@ -33,7 +38,9 @@ public class TeamService {
         Team team = new Team();
         team.setName(dto.getName());
         team.setLogo(dto.getLogo());
-        return mapToDTO(teamRepository.save(team));
+        Team saved = teamRepository.save(team);
+        eventPublisher.publishEvent(ContentChangedEvent.team(saved.getId()));
+        return mapToDTO(saved);
     }
 
     public TeamDTO updateTeam(Long id, TeamDTO dto) {
@@ -42,7 +49,10 @@ public class TeamService {
                 .orElseThrow(() -> new RuntimeException("Team not found"));
         team.setName(dto.getName());
         team.setLogo(dto.getLogo());
-        return mapToDTO(teamRepository.save(team));
+        Team saved = teamRepository.save(team);
+        // numele/logo-ul apar în meciurile din cache (fixtures, preview-uri)
+        eventPublisher.publishEvent(ContentChangedEvent.team(id));
+        return mapToDTO(saved);
     }
 
     public void deactivateTeam(Long id) {
@@ -50,6 +60,7 @@ public class TeamService {
                 .orElseThrow(() -> new RuntimeException("Team not found"));
         team.setActive(false);
         teamRepository.save(team);
+        eventPublisher.publishEvent(ContentChangedEvent.team(id));
     }
 
     private TeamDTO mapToDTO(Team team) {
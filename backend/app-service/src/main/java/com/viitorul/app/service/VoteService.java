@@ -5,14 +5,15 @@ import com.viitorul.app.dto.VoteSummaryDTO;
 import com.viitorul.app.entity.Match;
 import com.viitorul.app.entity.MatchMvpVote;
 import com.viitorul.app.entity.Player;
+import com.viitorul.app.event.MvpVoteCastEvent;
 import com.viitorul.app.repository.MatchMvpVoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -25,6 +26,8 @@ public class VoteService {
     private final MatchMvpVoteRepository repo;
     private final MatchService matchService;
     private final PlayerService playerService;
+    private final VoteTallyService tallyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Verifică: meci finalizat + jucător în [titulari ∪ rezerve] */
     private void validateBallot(Match match, Long playerId) {
@@ -54,7 +57,8 @@ public class VoteService {
         return false;
     }
 
-    /** Creează/înlocuiește votul utilizatorului pentru un meci. */
+    /** Creează/înlocuiește votul utilizatorului pentru un meci; tally-ul e actualizat în aceeași tranzacție. */
+    @Transactional
     public void upsertVote(Long matchId, Long playerId, String userEmail) {
         if (playerId == null) {
             throw new ResponseStatusException(BAD_REQUEST, "playerId is required.");
@@ -68,17 +72,21 @@ public class VoteService {
 
         Player player = playerService.getPlayerEntity(playerId); // vezi notele de mai jos
 
-        var existing = repo.findByMatchIdAndUserEmail(matchId, userEmail).orElse(null);
+        var existing = repo.findForUpdate(matchId, userEmail).orElse(null);
         if (existing == null) {
             repo.save(MatchMvpVote.builder()
                     .match(match)
                     .player(player)
                     .userEmail(userEmail)
                     .build());
+            tallyService.recordVote(matchId, null, playerId);
         } else {
+            Long previous = existing.getPlayer().getId();
             existing.setPlayer(player); // “schimbă votul”
             repo.save(existing);
+            tallyService.recordVote(matchId, previous, playerId);
         }
+        eventPublisher.publishEvent(new MvpVoteCastEvent(matchId)); // stream-ul SSE, după commit
     }
 
     /** Votul meu pentru meciul X. */
@@ -91,16 +99,8 @@ public class VoteService {
                 .orElse(new MyVoteDTO(null));
     }
 
-    /** Sumar voturi: playerId → count, plus total. */
+    /** Sumar voturi: playerId → count, plus total (din tally, fără agregare). */
     public VoteSummaryDTO summary(Long matchId) {
-        List<Object[]> rows = repo.countByPlayer(matchId);
-        Map<Long, Long> totals = new HashMap<>();
-        for (Object[] r : rows) {
-            Long pid = ((Number) r[0]).longValue();
-            Long cnt = ((Number) r[1]).longValue();
-            totals.put(pid, cnt);
-        }
-        long total = repo.countByMatchId(matchId);
-        return new VoteSummaryDTO(totals, total);
+        return tallyService.summary(matchId);
     }
 }
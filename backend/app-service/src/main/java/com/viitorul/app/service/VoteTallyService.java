@@ -0,0 +1,108 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.dto.VoteSummaryDTO;
+import com.viitorul.app.dto.VoteTallyMismatchDTO;
+import com.viitorul.app.entity.MatchMvpTally;
+import com.viitorul.app.event.VoteTallyRebuiltEvent;
+import com.viitorul.app.repository.MatchMvpTallyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Voturile MVP agregate pe (meci, jucător).
+ * <p>
+ * Contoarele sunt modificate prin UPDATE-uri atomice în tranzacția votului, deci sumarul e doar
+ * o citire pe cheie primară, fără GROUP BY peste {@code match_mvp_vote}. Tabela se reconstruiește
+ * la pornire ({@code app.votes.rebuild-tally-on-startup}) sau la cerere, iar
+ * {@link #findMismatches()} o compară cu voturile brute.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteTallyService {
+
+    private final MatchMvpTallyRepository tallyRepo;
+    private final PlatformTransactionManager txManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.votes.rebuild-tally-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    /** Un vot nou ({@code fromPlayerId == null}) sau mutat de la un jucător la altul. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVote(Long matchId, Long fromPlayerId, Long toPlayerId) {
+        if (Objects.equals(fromPlayerId, toPlayerId)) return;
+        if (fromPlayerId != null) tallyRepo.decrement(matchId, fromPlayerId);
+        tallyRepo.increment(matchId, toPlayerId);
+    }
+
+    @Transactional(readOnly = true)
+    public VoteSummaryDTO summary(Long matchId) {
+        Map<Long, Long> totals = new HashMap<>();
+        long total = 0;
+        for (MatchMvpTally t : tallyRepo.findByMatchId(matchId)) {
+            totals.put(t.getPlayerId(), t.getVotes());
+            total += t.getVotes();
+        }
+        return new VoteSummaryDTO(totals, total);
+    }
+
+    @Transactional
+    public void rebuild(Long matchId) {
+        tallyRepo.lockForRebuild();
+        tallyRepo.deleteByMatchId(matchId);
+        tallyRepo.rebuildMatch(matchId);
+        eventPublisher.publishEvent(new VoteTallyRebuiltEvent(matchId)); // stream-urile deschise, după commit
+    }
+
+    @Transactional
+    public int rebuildAll() {
+        return doRebuildAll();
+    }
+
+    private int doRebuildAll() {
+        tallyRepo.lockForRebuild();
+        tallyRepo.deleteAllRows();
+        int rows = tallyRepo.rebuildAll();
+        eventPublisher.publishEvent(new VoteTallyRebuiltEvent(null));
+        return rows;
+    }
+
+    /** Gol dacă tally-ul corespunde exact voturilor din {@code match_mvp_vote}. */
+    @Transactional(readOnly = true)
+    public List<VoteTallyMismatchDTO> findMismatches() {
+        return tallyRepo.findMismatches().stream()
+                .map(r -> new VoteTallyMismatchDTO(
+                        ((Number) r[0]).longValue(),
+                        ((Number) r[1]).longValue(),
+                        ((Number) r[2]).longValue(),
+                        ((Number) r[3]).longValue()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) return;
+        try {
+            // apel intern: fără proxy, deci tranzacția e deschisă explicit
+            Integer rows = new TransactionTemplate(txManager).execute(status -> doRebuildAll());
+            log.info("[VoteTally] Reconstruit din voturi: {} rânduri", rows);
+        } catch (RuntimeException e) {
+            log.warn("[VoteTally] Reconstrucția la pornire a eșuat: {}", e.toString());
+        }
+    }
+}
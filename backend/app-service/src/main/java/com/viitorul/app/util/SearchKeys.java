@@ -0,0 +1,23 @@
+package com.viitorul.app.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Cheia de căutare pentru texte scurte (ex. nume de echipe): aceleași reguli ca la slug-uri —
+ * NFD + eliminarea diacriticelor (ă, â, î, ș/ş, ț/ţ → a, a, i, s, t), lowercase —
+ * dar cu spațiu ca separator, ca o căutare „după bucăți” să funcționeze cu LIKE '%q%'.
+ */
+public final class SearchKeys {
+
+    private SearchKeys() {}
+
+    public static String fold(String s) {
+        if (s == null) return "";
+        String nfd = Normalizer.normalize(s, Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        return nfd.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+    }
+}
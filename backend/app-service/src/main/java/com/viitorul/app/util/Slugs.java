@@ -0,0 +1,25 @@
+package com.viitorul.app.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Slug-ul din URL-urile publice ({@code /stiri/{id}/{slug}}, {@code /players/{id}/{slug}}), identic cu
+ * {@code slugify} din frontend: lowercase, fără diacritice, „-” ca separator, maxim 80 de caractere.
+ * Preview-urile, sitemap-ul și emailurile trebuie să producă exact URL-ul canonic al paginii.
+ */
+public final class Slugs {
+
+    private static final int MAX_LENGTH = 80;
+
+    private Slugs() {}
+
+    public static String slugify(String s) {
+        if (s == null) return "";
+        String slug = Normalizer.normalize(s.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("(^-+|-+$)", "");
+        return slug.length() > MAX_LENGTH ? slug.substring(0, MAX_LENGTH) : slug;
+    }
+}
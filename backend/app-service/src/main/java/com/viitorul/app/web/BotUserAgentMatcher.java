@@ -0,0 +1,165 @@
+package com.viitorul.app.web;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Detectează crawlerele de preview după User-Agent, fără regex.
+ * <p>
+ * Fragmentele sunt aduse la lowercase o singură dată și compilate într-un automat Aho-Corasick
+ * (tabel de tranziții complet pe ASCII), deci un UA e parcurs o singură dată, caracter cu caracter,
+ * indiferent câte fragmente avem. Lista poate fi reîncărcată la cald dintr-un fișier
+ * ({@code app.share-preview.bot-user-agents-file}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BotUserAgentMatcher {
+
+    private final SharePreviewProperties props;
+
+    private volatile Automaton automaton = Automaton.compile(List.of());
+    private volatile long fileLastModified = -1;
+
+    @PostConstruct
+    void init() {
+        automaton = Automaton.compile(props.getBotUserAgents());
+        reloadFromFile();
+    }
+
+    public boolean isBot(String userAgent) {
+        return userAgent != null && automaton.matches(userAgent);
+    }
+
+    @Scheduled(fixedDelayString = "${app.share-preview.bot-user-agents-reload-ms:30000}")
+    public void reloadFromFile() {
+        String file = props.getBotUserAgentsFile();
+        if (file == null || file.isBlank()) return;
+
+        Path path = Path.of(file);
+        try {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == fileLastModified) return;
+
+            List<String> patterns = Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(l -> !l.isEmpty() && !l.startsWith("#"))
+                    .toList();
+            automaton = Automaton.compile(patterns);
+            fileLastModified = modified;
+            log.info("[BotUserAgentMatcher] Încărcate {} fragmente UA din {}", patterns.size(), file);
+        } catch (IOException e) {
+            log.warn("[BotUserAgentMatcher] Nu pot citi {}: {}", file, e.toString());
+        }
+    }
+
+    /** Automat imutabil; înlocuit atomic la reîncărcare. */
+    static final class Automaton {
+        private static final int ALPHABET = 128;
+
+        private final int[] next;        // state * ALPHABET + char -> state
+        private final boolean[] accept;  // starea conține (prin fail links) sfârșitul unui fragment
+
+        private Automaton(int[] next, boolean[] accept) {
+            this.next = next;
+            this.accept = accept;
+        }
+
+        boolean matches(String s) {
+            if (accept.length == 0) return false;
+            int state = 0;
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                if (c >= ALPHABET) {
+                    state = 0;
+                    continue;
+                }
+                if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+                state = next[state * ALPHABET + c];
+                if (accept[state]) return true;
+            }
+            return false;
+        }
+
+        static Automaton compile(Collection<String> patterns) {
+            List<int[]> go = new ArrayList<>();
+            List<Boolean> out = new ArrayList<>();
+            go.add(newRow());
+            out.add(false);
+
+            for (String p : patterns) {
+                if (p == null || p.isBlank()) continue;
+                String lower = p.trim().toLowerCase(Locale.ROOT);
+                if (!lower.chars().allMatch(c -> c < ALPHABET)) {
+                    log.warn("[BotUserAgentMatcher] Ignor fragmentul non-ASCII '{}'", p);
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < lower.length(); i++) {
+                    char c = lower.charAt(i);
+                    int to = go.get(state)[c];
+                    if (to < 0) {
+                        to = go.size();
+                        go.add(newRow());
+                        out.add(false);
+                        go.get(state)[c] = to;
+                    }
+                    state = to;
+                }
+                out.set(state, true);
+            }
+
+            // BFS: fail links + completarea tranzițiilor lipsă => DFA
+            int states = go.size();
+            int[] fail = new int[states];
+            boolean[] accept = new boolean[states];
+            for (int i = 0; i < states; i++) accept[i] = out.get(i);
+
+            Deque<Integer> queue = new ArrayDeque<>();
+            int[] root = go.get(0);
+            for (int c = 0; c < ALPHABET; c++) {
+                if (root[c] < 0) {
+                    root[c] = 0;
+                } else {
+                    fail[root[c]] = 0;
+                    queue.add(root[c]);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int r = queue.poll();
+                accept[r] |= accept[fail[r]];
+                int[] row = go.get(r);
+                int[] failRow = go.get(fail[r]);
+                for (int c = 0; c < ALPHABET; c++) {
+                    int s = row[c];
+                    if (s < 0) {
+                        row[c] = failRow[c];
+                    } else {
+                        fail[s] = failRow[c];
+                        queue.add(s);
+                    }
+                }
+            }
+
+            if (states == 1) return new Automaton(new int[0], new boolean[0]);
+            int[] next = new int[states * ALPHABET];
+            for (int i = 0; i < states; i++) System.arraycopy(go.get(i), 0, next, i * ALPHABET, ALPHABET);
+            return new Automaton(next, accept);
+        }
+
+        private static int[] newRow() {
+            int[] row = new int[ALPHABET];
+            Arrays.fill(row, -1);
+            return row;
+        }
+    }
+}
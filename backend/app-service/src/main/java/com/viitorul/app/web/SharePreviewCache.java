@@ -0,0 +1,107 @@
+package com.viitorul.app.web;
+
+import com.viitorul.app.event.ContentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU mărginit pentru HTML-ul de preview (Open Graph) trimis crawlerelor.
+ * <p>
+ * Cheia e (tip, id, origin). Când un link e distribuit într-un grup mare, zeci de crawlere cer
+ * aceeași pagină aproape simultan: primul apel randează (o singură interogare în DB), ceilalți
+ * așteaptă același rezultat. Intrările sunt invalidate la modificarea entității (o echipă sau o
+ * competiție modificată invalidează toate preview-urile de meci) și expiră oricum după
+ * {@code app.share-preview.ttl-ms}.
+ */
+@Slf4j
+@Component
+public class SharePreviewCache {
+
+    public enum Kind { NEWS, PLAYER, MATCH, DONATIONS, CONTACT }
+
+    public record Key(Kind kind, Long id, String origin) {}
+
+    /** HTML gata encodat; {@code body == null} înseamnă „nu avem preview” (ex. știre inexistentă). */
+    public record Rendered(byte[] body, long createdAt) {}
+
+    private final int capacity;
+    private final long ttlMs;
+    private final Map<Key, CompletableFuture<Rendered>> lru;
+
+    public SharePreviewCache(SharePreviewProperties props) {
+        this.capacity = Math.max(16, props.getCacheSize());
+        this.ttlMs = props.getTtlMs();
+        this.lru = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Rendered>> eldest) {
+                return size() > SharePreviewCache.this.capacity;
+            }
+        };
+    }
+
+    public Rendered get(Key key, Supplier<byte[]> render) {
+        CompletableFuture<Rendered> f;
+        boolean owner = false;
+        synchronized (lru) {
+            f = lru.get(key);
+            if (f == null || isExpired(f)) {
+                f = new CompletableFuture<>();
+                lru.put(key, f);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            try {
+                f.complete(new Rendered(render.get(), System.currentTimeMillis()));
+            } catch (RuntimeException e) {
+                f.completeExceptionally(e);
+                synchronized (lru) {
+                    lru.remove(key, f);
+                }
+            }
+        }
+
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    public void invalidate(Kind kind, Long id) {
+        synchronized (lru) {
+            lru.keySet().removeIf(k -> k.kind() == kind && Objects.equals(k.id(), id));
+        }
+    }
+
+    public void invalidateAll(Kind kind) {
+        synchronized (lru) {
+            lru.keySet().removeIf(k -> k.kind() == kind);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent e) {
+        switch (e.type()) {
+            case ANNOUNCEMENT -> invalidate(Kind.NEWS, e.id());
+            case PLAYER -> invalidate(Kind.PLAYER, e.id());
+            case MATCH -> invalidate(Kind.MATCH, e.id());
+            case TEAM, COMPETITION -> invalidateAll(Kind.MATCH);
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<Rendered> f) {
+        if (!f.isDone() || f.isCompletedExceptionally()) return false;
+        return System.currentTimeMillis() - f.getNow(null).createdAt() > ttlMs;
+    }
+}
@@ -3,6 +3,7 @@ package com.viitorul.app.web;
 
 import com.viitorul.app.entity.Announcement;
 import com.viitorul.app.repository.AnnouncementRepository;
+import com.viitorul.app.util.Slugs;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
@@ -48,7 +49,7 @@ public class SharePreviewController {
 
         Announcement a = opt.get();
 
-        String slug   = slugify(a.getTitle());
+        String slug   = Slugs.slugify(a.getTitle());
         String url    = FRONTEND_ORIGIN + "/stiri/" + a.getId() + "/" + slug;
 
         // Imagine OG (prefer CDNs absolute); dacă e relativă, prefixeaz-o cu frontend
@@ -118,10 +119,4 @@ public class SharePreviewController {
         return s.length() <= n ? s : s.substring(0, n - 1) + "…";
     }
 
-    private static String slugify(String s) {
-        if (s == null) return "";
-        String n = java.text.Normalizer.normalize(s.toLowerCase(), java.text.Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+","");
-        return n.replaceAll("[^a-z0-9]+","-").replaceAll("(^-|-$)","");
-    }
 }
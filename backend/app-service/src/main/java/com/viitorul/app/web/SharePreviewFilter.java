@@ -1,12 +1,13 @@
 package com.viitorul.app.web;
 
-import com.viitorul.app.dto.MatchDTO;
 import com.viitorul.app.entity.Announcement;
 import com.viitorul.app.entity.Player;
 import com.viitorul.app.entity.Match;
+import com.viitorul.app.entity.Team;
 import com.viitorul.app.repository.AnnouncementRepository;
 import com.viitorul.app.repository.PlayerRepository;
 import com.viitorul.app.repository.MatchRepository;
+import com.viitorul.app.util.Slugs;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -16,14 +17,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
@@ -32,22 +30,19 @@ public class SharePreviewFilter extends OncePerRequestFilter {
     private final AnnouncementRepository announcementRepository;
     private final PlayerRepository playerRepository;
     private final MatchRepository matchRepository;
+    private final SharePreviewCache previewCache;
 
-    private static final Pattern BOT_UA = Pattern.compile(
-            "(facebookexternalhit|facebot|Twitterbot|LinkedInBot|Slackbot|WhatsApp|Discordbot|TelegramBot|Embedly|Pinterest|vkShare)",
-            Pattern.CASE_INSENSITIVE
-    );
+    private final BotUserAgentMatcher botMatcher;
 
-    private static final Pattern NEWS_PATH   = Pattern.compile("^/stiri/(\\d+)(?:/.*)?$");
-    private static final Pattern PLAYER_PATH = Pattern.compile("^/players/(\\d+)(?:/.*)?$");
-    private static final Pattern MATCH_PATH  = Pattern.compile("^/matches/(\\d+)(?:/.*)?$");
+    private static final String NEWS_PREFIX   = "/stiri/";
+    private static final String PLAYER_PREFIX = "/players/";
+    private static final String MATCH_PREFIX  = "/matches/";
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
 
-        final String ua = Optional.ofNullable(req.getHeader("User-Agent")).orElse("");
-        if (!BOT_UA.matcher(ua).find()) {
+        if (!botMatcher.isBot(req.getHeader("User-Agent"))) {
             chain.doFilter(req, res);
             return;
         }
@@ -56,134 +51,78 @@ public class SharePreviewFilter extends OncePerRequestFilter {
         final String origin = req.getScheme() + "://" + req.getServerName()
                 + ((req.getServerPort() == 80 || req.getServerPort() == 443) ? "" : ":" + req.getServerPort());
 
+        SharePreviewCache.Rendered preview = null;
+
         // ====== ȘTIRE ======
-        Matcher mNews = NEWS_PATH.matcher(path);
-        if (mNews.matches()) {
-            Long id = Long.valueOf(mNews.group(1));
-            Optional<Announcement> opt = announcementRepository.findById(id);
-            if (opt.isPresent()) {
-                Announcement a = opt.get();
-                String title = escape(a.getTitle());
-                String desc = escape(Optional.ofNullable(a.getContentText()).orElse(""))
-                        .replaceAll("\\s+", " ")
-                        .trim();
-                if (desc.length() > 200) desc = desc.substring(0, 200) + "…";
-
-                String cover = a.getCoverUrl() != null && !a.getCoverUrl().isBlank()
-                        ? abs(origin, a.getCoverUrl())
-                        : origin + "/favicon.png";
-                String url = origin + "/stiri/" + a.getId() + "/" + slugify(a.getTitle());
-
-                String published = a.getPublishedAt() != null
-                        ? a.getPublishedAt().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)
-                        : "";
-
-                String html = """
-                        <!doctype html>
-                        <html lang="ro"><head>
-                        <meta charset="utf-8"/>
-                        <title>%s</title>
-                        <link rel="canonical" href="%s"/>
-                        <meta name="description" content="%s"/>
-
-                        <meta property="og:site_name" content="ACS Viitorul Răchiteni"/>
-                        <meta property="og:type" content="article"/>
-                        <meta property="og:title" content="%s"/>
-                        <meta property="og:description" content="%s"/>
-                        <meta property="og:url" content="%s"/>
-                        <meta property="og:image" content="%s"/>
-
-                        <meta name="twitter:card" content="summary_large_image"/>
-                        <meta name="twitter:title" content="%s"/>
-                        <meta name="twitter:description" content="%s"/>
-                        <meta name="twitter:image" content="%s"/>
-
-                        <script type="application/ld+json">
-                        {
-                          "@context":"https://schema.org",
-                          "@type":"Article",
-                          "headline":"%s",
-                          "datePublished":"%s",
-                          "image":["%s"],
-                          "mainEntityOfPage":{"@type":"WebPage","@id":"%s"}
-                        }
-                        </script>
-                        </head><body>Preview...</body></html>
-                        """.formatted(
-                        title, url, desc,
-                        title, desc, url, cover,
-                        title, desc, cover,
-                        title, published, cover, url
-                );
-
-                res.setStatus(200);
-                res.setContentType("text/html; charset=UTF-8");
-                res.getWriter().write(html);
-                return;
-            }
+        Long id = idAfter(path, NEWS_PREFIX);
+        if (id != null) {
+            preview = previewCache.get(new SharePreviewCache.Key(SharePreviewCache.Kind.NEWS, id, origin),
+                    () -> utf8(renderNews(id, origin)));
         }
 
         // ====== PLAYER ======
-        Matcher mPlayer = PLAYER_PATH.matcher(path);
-        if (mPlayer.matches()) {
-            Long pid = Long.valueOf(mPlayer.group(1));
-            String url = origin + path;
-
-            String title = "Profil jucător – ACS Viitorul Răchiteni";
-            String desc = "Profil jucător ACS Viitorul Răchiteni.";
-            String image = origin + "/favicon.png";
-
-            Optional<Player> opt = playerRepository.findById(pid);
-            if (opt.isPresent()) {
-                Player p = opt.get();
-                String name = Optional.ofNullable(p.getName()).orElse("Jucător");
-                title = escape(name + " – Profil jucător – ACS Viitorul Răchiteni");
-                String post = Optional.ofNullable(p.getPosition()).orElse("Jucător");
-                String nr = p.getShirtNumber() != null ? " • #" + p.getShirtNumber() : "";
-                desc = escape(post + nr);
-                if (p.getProfileImageUrl() != null && !p.getProfileImageUrl().isBlank()) {
-                    image = abs(origin, p.getProfileImageUrl());
-                }
-                url = origin + "/players/" + p.getId() + "/" + slugify(name);
-            }
+        Long pid = idAfter(path, PLAYER_PREFIX);
+        if (preview == null && pid != null) {
+            preview = previewCache.get(new SharePreviewCache.Key(SharePreviewCache.Kind.PLAYER, pid, origin),
+                    () -> utf8(renderPlayer(pid, origin)));
+        }
 
-            String html = baseStaticHtml(title, desc, url, image, "profile");
+        // ====== MATCH ======
+        Long mid = idAfter(path, MATCH_PREFIX);
+        if (preview == null && mid != null) {
+            preview = previewCache.get(new SharePreviewCache.Key(SharePreviewCache.Kind.MATCH, mid, origin),
+                    () -> utf8(renderMatch(mid, origin)));
+        }
+
+        // ====== STATIC PAGES (donations/contact) ======
+        if (preview == null && path.equals("/donations")) {
+            preview = previewCache.get(new SharePreviewCache.Key(SharePreviewCache.Kind.DONATIONS, null, origin),
+                    () -> utf8(baseStaticHtml(
+                            "Donează – ACS Viitorul Răchiteni",
+                            "Susține ACS Viitorul Răchiteni printr-o donație. Orice ajutor contează!",
+                            origin + "/donations", origin + "/favicon.png", "website")));
+        }
+        if (preview == null && path.equals("/contact")) {
+            preview = previewCache.get(new SharePreviewCache.Key(SharePreviewCache.Kind.CONTACT, null, origin),
+                    () -> utf8(baseStaticHtml(
+                            "Contact – ACS Viitorul Răchiteni",
+                            "Contactează ACS Viitorul Răchiteni pentru parteneriate, presă și alte informații.",
+                            origin + "/contact", origin + "/favicon.png", "website")));
+        }
+
+        if (preview != null && preview.body() != null) {
             res.setStatus(200);
             res.setContentType("text/html; charset=UTF-8");
-            res.getWriter().write(html);
+            res.setContentLength(preview.body().length);
+            res.getOutputStream().write(preview.body());
             return;
         }
 
-        // ====== MATCH ======
-        Matcher mMatch = MATCH_PATH.matcher(path);
-        if (mMatch.matches()) {
-            Long mid = Long.valueOf(mMatch.group(1));
-            String url = origin + path;
-
-            String title = "Detalii meci – ACS Viitorul Răchiteni";
-            String desc = "Program și detalii meci pentru ACS Viitorul Răchiteni.";
-            String image = origin + "/favicon.png";
-
-            Optional<Match> opt = matchRepository.findById(mid);
-            if (opt.isPresent()) {
-                Match m = opt.get();
-                MatchDTO matchDTO = MatchDTO.toDto(m);
-                String h = Optional.ofNullable(matchDTO.getHomeTeamName()).orElse("Echipa gazdă");
-                String a = Optional.ofNullable(matchDTO.getAwayTeamName()).orElse("Echipa oaspete");
-                String score = (m.getHomeGoals() != null && m.getAwayGoals() != null)
-                        ? " · Scor: " + m.getHomeGoals() + "-" + m.getAwayGoals() : "";
-                title = escape(h + " vs " + a + " – Detalii meci");
-                desc = escape(dateStr(m.getDate()) + timeStr(m.getKickoffTime()) + locStr(m.getLocation()) + score);
-
-                String pick = (matchDTO.getHomeTeamLogo() != null && !matchDTO.getHomeTeamLogo().isBlank())
-                        ? matchDTO.getHomeTeamLogo()
-                        : matchDTO.getAwayTeamLogo();
-                if (pick != null && !pick.isBlank()) {
-                    image = abs(origin, pick);
-                }
-            }
+        chain.doFilter(req, res);
+    }
+
+    /** null dacă știrea nu există (lăsăm cererea să treacă mai departe). */
+    private String renderNews(Long id, String origin) {
+        Optional<Announcement> opt = announcementRepository.findById(id);
+        if (opt.isEmpty()) return null;
+
+        Announcement a = opt.get();
+        String title = escape(a.getTitle());
+        String desc = escape(Optional.ofNullable(a.getContentText()).orElse(""))
+                .replaceAll("\\s+", " ")
+                .trim();
+        if (desc.length() > 200) desc = desc.substring(0, 200) + "…";
+
+        String cover = a.getCoverUrl() != null && !a.getCoverUrl().isBlank()
+                ? abs(origin, a.getCoverUrl())
+                : origin + "/favicon.png";
+        String url = origin + "/stiri/" + a.getId() + "/" + Slugs.slugify(a.getTitle());
+
+        String published = a.getPublishedAt() != null
+                ? a.getPublishedAt().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                : "";
 
-            String html = """
+        return """
                 <!doctype html>
                 <html lang="ro"><head>
                 <meta charset="utf-8"/>
@@ -192,7 +131,7 @@ public class SharePreviewFilter extends OncePerRequestFilter {
                 <meta name="description" content="%s"/>
 
                 <meta property="og:site_name" content="ACS Viitorul Răchiteni"/>
-                <meta property="og:type" content="website"/>
+                <meta property="og:type" content="article"/>
                 <meta property="og:title" content="%s"/>
                 <meta property="og:description" content="%s"/>
                 <meta property="og:url" content="%s"/>
@@ -206,47 +145,128 @@ public class SharePreviewFilter extends OncePerRequestFilter {
                 <script type="application/ld+json">
                 {
                   "@context":"https://schema.org",
-                  "@type":"SportsEvent",
-                  "name":"%s",
-                  "startDate":"%s",
-                  "location":{"@type":"Place","name":"%s"}
+                  "@type":"Article",
+                  "headline":"%s",
+                  "datePublished":"%s",
+                  "image":["%s"],
+                  "mainEntityOfPage":{"@type":"WebPage","@id":"%s"}
                 }
                 </script>
                 </head><body>Preview...</body></html>
-            """.formatted(
-                    title, url, desc,
-                    title, desc, url, image,
-                    title, desc, image,
-                    title,
-                    isoDateTime(opt.map(Match::getDate).orElse(null), opt.map(Match::getKickoffTime).orElse(null)),
-                    escape(opt.map(Match::getLocation).orElse(""))
-            );
+                """.formatted(
+                title, url, desc,
+                title, desc, url, cover,
+                title, desc, cover,
+                title, published, cover, url
+        );
+    }
 
-            res.setStatus(200);
-            res.setContentType("text/html; charset=UTF-8");
-            res.getWriter().write(html);
-            return;
+    private String renderPlayer(Long pid, String origin) {
+        String url = origin + "/players/" + pid;
+
+        String title = "Profil jucător – ACS Viitorul Răchiteni";
+        String desc = "Profil jucător ACS Viitorul Răchiteni.";
+        String image = origin + "/favicon.png";
+
+        Optional<Player> opt = playerRepository.findById(pid);
+        if (opt.isPresent()) {
+            Player p = opt.get();
+            String name = Optional.ofNullable(p.getName()).orElse("Jucător");
+            title = escape(name + " – Profil jucător – ACS Viitorul Răchiteni");
+            String post = Optional.ofNullable(p.getPosition()).orElse("Jucător");
+            String nr = p.getShirtNumber() != null ? " • #" + p.getShirtNumber() : "";
+            desc = escape(post + nr);
+            if (p.getProfileImageUrl() != null && !p.getProfileImageUrl().isBlank()) {
+                image = abs(origin, p.getProfileImageUrl());
+            }
+            url = origin + "/players/" + p.getId() + "/" + Slugs.slugify(name);
         }
 
-        // ====== STATIC PAGES (donations/contact) ======
-        if (path.equals("/donations")) {
-            String url = origin + "/donations";
-            String html = baseStaticHtml(
-                    "Donează – ACS Viitorul Răchiteni",
-                    "Susține ACS Viitorul Răchiteni printr-o donație. Orice ajutor contează!",
-                    url, origin + "/favicon.png", "website");
-            res.setStatus(200); res.setContentType("text/html; charset=UTF-8"); res.getWriter().write(html); return;
-        }
-        if (path.equals("/contact")) {
-            String url = origin + "/contact";
-            String html = baseStaticHtml(
-                    "Contact – ACS Viitorul Răchiteni",
-                    "Contactează ACS Viitorul Răchiteni pentru parteneriate, presă și alte informații.",
-                    url, origin + "/favicon.png", "website");
-            res.setStatus(200); res.setContentType("text/html; charset=UTF-8"); res.getWriter().write(html); return;
+        return baseStaticHtml(title, desc, url, image, "profile");
+    }
+
+    private String renderMatch(Long mid, String origin) {
+        String url = origin + "/matches/" + mid;
+
+        String title = "Detalii meci – ACS Viitorul Răchiteni";
+        String desc = "Program și detalii meci pentru ACS Viitorul Răchiteni.";
+        String image = origin + "/favicon.png";
+
+        Optional<Match> opt = matchRepository.findById(mid);
+        if (opt.isPresent()) {
+            Match m = opt.get();
+            // doar echipele (EAGER); fără MatchDTO.toDto, care ar atinge listele lazy de jucători
+            Team home = m.getHomeTeam();
+            Team away = m.getAwayTeam();
+            String h = Optional.ofNullable(home != null ? home.getName() : null).orElse("Echipa gazdă");
+            String a = Optional.ofNullable(away != null ? away.getName() : null).orElse("Echipa oaspete");
+            String score = (m.getHomeGoals() != null && m.getAwayGoals() != null)
+                    ? " · Scor: " + m.getHomeGoals() + "-" + m.getAwayGoals() : "";
+            title = escape(h + " vs " + a + " – Detalii meci");
+            desc = escape(dateStr(m.getDate()) + timeStr(m.getKickoffTime()) + locStr(m.getLocation()) + score);
+
+            String homeLogo = home != null ? home.getLogo() : null;
+            String pick = (homeLogo != null && !homeLogo.isBlank())
+                    ? homeLogo
+                    : (away != null ? away.getLogo() : null);
+            if (pick != null && !pick.isBlank()) {
+                image = abs(origin, pick);
+            }
         }
 
-        chain.doFilter(req, res);
+        return """
+            <!doctype html>
+            <html lang="ro"><head>
+            <meta charset="utf-8"/>
+            <title>%s</title>
+            <link rel="canonical" href="%s"/>
+            <meta name="description" content="%s"/>
+
+            <meta property="og:site_name" content="ACS Viitorul Răchiteni"/>
+            <meta property="og:type" content="website"/>
+            <meta property="og:title" content="%s"/>
+            <meta property="og:description" content="%s"/>
+            <meta property="og:url" content="%s"/>
+            <meta property="og:image" content="%s"/>
+
+            <meta name="twitter:card" content="summary_large_image"/>
+            <meta name="twitter:title" content="%s"/>
+            <meta name="twitter:description" content="%s"/>
+            <meta name="twitter:image" content="%s"/>
+
+            <script type="application/ld+json">
+            {
+              "@context":"https://schema.org",
+              "@type":"SportsEvent",
+              "name":"%s",
+              "startDate":"%s",
+              "location":{"@type":"Place","name":"%s"}
+            }
+            </script>
+            </head><body>Preview...</body></html>
+        """.formatted(
+                title, url, desc,
+                title, desc, url, image,
+                title, desc, image,
+                title,
+                isoDateTime(opt.map(Match::getDate).orElse(null), opt.map(Match::getKickoffTime).orElse(null)),
+                escape(opt.map(Match::getLocation).orElse(""))
+        );
+    }
+
+    /** "/stiri/12/ceva" cu prefixul "/stiri/" -> 12; null dacă nu urmează cifre + (sfârșit sau '/'). */
+    private static Long idAfter(String path, String prefix) {
+        if (!path.startsWith(prefix)) return null;
+        int start = prefix.length();
+        int end = start;
+        while (end < path.length() && Character.isDigit(path.charAt(end))) end++;
+        if (end == start || end - start > 18) return null;
+        if (end < path.length() && path.charAt(end) != '/') return null;
+        return Long.valueOf(path.substring(start, end));
+    }
+
+    private static byte[] utf8(String html) {
+        return html == null ? null : html.getBytes(StandardCharsets.UTF_8);
     }
 
     private static String baseStaticHtml(String title, String desc, String url, String image, String type) {
@@ -285,13 +305,6 @@ public class SharePreviewFilter extends OncePerRequestFilter {
         return origin + (href.startsWith("/") ? href : "/" + href);
     }
 
-    private static String slugify(String s) {
-        if (s == null) return "";
-        String nfd = java.text.Normalizer.normalize(s.toLowerCase(), java.text.Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        String slug = nfd.replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
-        return URLEncoder.encode(slug.length() > 80 ? slug.substring(0, 80) : slug, StandardCharsets.UTF_8);
-    }
 
     private static String dateStr(LocalDate d) {
         if (d == null) return "";
@@ -313,6 +326,10 @@ public class SharePreviewFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
+        // doar paginile cu preview; /api/app/** și restul trec fără să ne uităm la User-Agent
+        boolean previewPath = path.startsWith(NEWS_PREFIX) || path.startsWith(PLAYER_PREFIX)
+                || path.startsWith(MATCH_PREFIX) || path.equals("/donations") || path.equals("/contact");
+        if (!previewPath) return true;
         // nu filtrăm asset-uri statice
         return path.startsWith("/assets/") || path.startsWith("/static/") ||
                 path.startsWith("/images/") || path.endsWith(".js") || path.endsWith(".css") ||
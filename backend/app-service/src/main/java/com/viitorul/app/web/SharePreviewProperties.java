@@ -0,0 +1,27 @@
+package com.viitorul.app.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.share-preview")
+public class SharePreviewProperties {
+    /** Fragmente de User-Agent (case-insensitive) considerate crawlere de preview. */
+    private List<String> botUserAgents = new ArrayList<>(List.of(
+            "facebookexternalhit", "facebot", "Twitterbot", "LinkedInBot", "Slackbot", "WhatsApp",
+            "Discordbot", "TelegramBot", "Embedly", "Pinterest", "vkShare"
+    ));
+    /**
+     * Opțional: fișier text cu câte un fragment pe linie (# pentru comentarii). Dacă e setat,
+     * înlocuiește lista de mai sus și e recitit automat când se modifică.
+     */
+    private String botUserAgentsFile;
+    private long botUserAgentsReloadMs = 30_000;
+
+    private int cacheSize = 1000;
+    private long ttlMs = 600_000;
+}
@@ -0,0 +1,323 @@
+package com.viitorul.app.web;
+
+import com.viitorul.app.event.ContentChangedEvent;
+import com.viitorul.app.repository.AnnouncementRepository;
+import com.viitorul.app.repository.MatchRepository;
+import com.viitorul.app.repository.PlayerRepository;
+import com.viitorul.app.util.Slugs;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sitemap precalculat, ținut în memorie ca bytes (XML + varianta gzip).
+ * <p>
+ * Fiecare secțiune (pagini statice, știri, jucători, meciuri) e un fragment separat, citit din DB
+ * cu interogări keyset; la o modificare se reconstruiește doar fragmentul afectat, apoi fișierele
+ * sunt reasamblate. Peste {@code app.sitemap.max-urls-per-file} URL-uri, /sitemap.xml devine un
+ * sitemap index care trimite la /sitemap-N.xml.
+ * <p>
+ * /api/app/sitemap.xml e sitemap-ul rădăcină al site-ului (declarat în robots.txt): un index nu poate
+ * fi listat la rândul lui într-un alt index, deci frontend-ul nu mai are un sitemap.xml propriu.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SitemapBuilder {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final ZoneId ZONE_RO = ZoneId.of("Europe/Bucharest");
+
+    private static final byte[] URLSET_OPEN = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] URLSET_CLOSE = "</urlset>\n".getBytes(StandardCharsets.UTF_8);
+
+    private final AnnouncementRepository announcementRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+
+    /** URL-ul public canonic (nu cel de API). Configurable prin app.public-base-url */
+    @Value("${app.public-base-url:https://www.viitorulrachiteni.ro}")
+    private String publicBaseUrl;
+
+    /** Limita protocolului sitemap e 50.000 URL-uri per fișier. */
+    @Value("${app.sitemap.max-urls-per-file:50000}")
+    private int maxUrlsPerFile;
+
+    public enum Section { STATIC, ANNOUNCEMENTS, PLAYERS, MATCHES }
+
+    /** Un fișier gata de servit. Array-urile nu sunt modificate după construcție. */
+    public record Document(byte[] xml, byte[] gzip, String etag, long lastModified) {
+        public String etag(boolean gzipped) {
+            return gzipped ? etag.substring(0, etag.length() - 1) + "-gz\"" : etag;
+        }
+    }
+
+    private record Fragment(byte[] data, int[] ends) {}
+
+    private record Published(Document index, List<Document> files) {}
+
+    private final Map<Section, Fragment> fragments = new EnumMap<>(Section.class);
+    private final Set<Section> dirty = ConcurrentHashMap.newKeySet();
+    private volatile Published published;
+
+    /** /sitemap.xml: urlset-ul unic sau, dacă am împărțit, sitemap index-ul. */
+    public Document root() {
+        Published p = current();
+        return p.index() != null ? p.index() : p.files().get(0);
+    }
+
+    /** /sitemap-N.xml (N de la 1). */
+    public Optional<Document> part(int n) {
+        List<Document> files = current().files();
+        return (n >= 1 && n <= files.size()) ? Optional.of(files.get(n - 1)) : Optional.empty();
+    }
+
+    public void markDirty(Section section) {
+        dirty.add(section);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent e) {
+        switch (e.type()) {
+            case ANNOUNCEMENT -> markDirty(Section.ANNOUNCEMENTS);
+            case PLAYER -> markDirty(Section.PLAYERS);
+            case MATCH -> markDirty(Section.MATCHES);
+        }
+    }
+
+    // „upcoming” și lastmod-ul limitat la azi depind de dată
+    @Scheduled(cron = "0 5 0 * * *", zone = "Europe/Bucharest")
+    public void dailyRefresh() {
+        markDirty(Section.ANNOUNCEMENTS);
+        markDirty(Section.MATCHES);
+    }
+
+    // ===================== Build =====================
+
+    private Published current() {
+        Published p = published;
+        if (p != null && dirty.isEmpty()) return p;
+        synchronized (this) {
+            p = published;
+            if (p != null && dirty.isEmpty()) return p;
+
+            long t0 = System.currentTimeMillis();
+            for (Section s : Section.values()) {
+                if (dirty.remove(s) || !fragments.containsKey(s)) {
+                    try {
+                        fragments.put(s, build(s));
+                    } catch (RuntimeException ex) {
+                        dirty.add(s);
+                        throw ex;
+                    }
+                }
+            }
+            published = assemble(p);
+            log.info("[Sitemap] Regenerat în {} ms ({} fișiere).",
+                    System.currentTimeMillis() - t0, published.files().size());
+            return published;
+        }
+    }
+
+    private Fragment build(Section section) {
+        String origin = canonicalOrigin();
+        FragmentWriter w = new FragmentWriter();
+        switch (section) {
+            case STATIC -> {
+                w.url(origin + "/",                  null, "daily",  "0.9");
+                w.url(origin + "/stiri",             null, "daily",  "0.8");
+                w.url(origin + "/squad",             null, "weekly", "0.6");
+                w.url(origin + "/matches",           null, "hourly", "0.7");
+                w.url(origin + "/results",           null, "daily",  "0.7");
+                w.url(origin + "/standings",         null, "daily",  "0.7");
+                w.url(origin + "/donations",         null, "yearly", "0.3");
+                w.url(origin + "/contact",           null, "yearly", "0.3");
+                w.url(origin + "/confidentialitate", null, "yearly", "0.1");
+                w.url(origin + "/termeni",           null, "yearly", "0.1");
+                w.url(origin + "/cookie-uri",        null, "yearly", "0.1");
+            }
+            case ANNOUNCEMENTS -> {
+                long after = 0;
+                List<Object[]> rows;
+                do {
+                    rows = announcementRepository.findSitemapEntriesAfter(after, PageRequest.of(0, PAGE_SIZE));
+                    for (Object[] r : rows) {
+                        Long id = (Long) r[0];
+                        OffsetDateTime publishedAt = (OffsetDateTime) r[2];
+                        w.url(origin + "/stiri/" + id + "/" + Slugs.slugify((String) r[1]),
+                                lastmodClamp(publishedAt != null ? publishedAt.toLocalDate() : null),
+                                "weekly", "0.6");
+                        after = id;
+                    }
+                } while (rows.size() == PAGE_SIZE);
+            }
+            case PLAYERS -> {
+                long after = 0;
+                List<Object[]> rows;
+                do {
+                    rows = playerRepository.findSitemapEntriesAfter(after, PageRequest.of(0, PAGE_SIZE));
+                    for (Object[] r : rows) {
+                        Long id = (Long) r[0];
+                        String slug = Slugs.slugify((String) r[1]);
+                        w.url(origin + "/players/" + id + (slug.isBlank() ? "" : "/" + slug), null, "weekly", "0.5");
+                        after = id;
+                    }
+                } while (rows.size() == PAGE_SIZE);
+            }
+            case MATCHES -> {
+                LocalDate today = LocalDate.now(ZONE_RO);
+                long after = 0;
+                List<Object[]> rows;
+                do {
+                    rows = matchRepository.findSitemapEntriesAfter(after, PageRequest.of(0, PAGE_SIZE));
+                    for (Object[] r : rows) {
+                        Long id = (Long) r[0];
+                        LocalDate date = (LocalDate) r[1];
+                        boolean finished = r[2] != null && r[3] != null;
+                        if (finished) {
+                            w.url(origin + "/matches/" + id, lastmodClamp(date), "monthly", "0.5");
+                        } else if (date != null && !date.isBefore(today)) {
+                            w.url(origin + "/matches/" + id, null, "hourly", "0.6");
+                        }
+                        after = id;
+                    }
+                } while (rows.size() == PAGE_SIZE);
+            }
+        }
+        return w.finish();
+    }
+
+    private Published assemble(Published previous) {
+        int max = Math.max(1, maxUrlsPerFile);
+        List<byte[]> xmls = new ArrayList<>();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        out.writeBytes(URLSET_OPEN);
+        int inFile = 0;
+        for (Section s : Section.values()) {
+            Fragment f = fragments.get(s);
+            int start = 0;
+            for (int end : f.ends()) {
+                out.write(f.data(), start, end - start);
+                start = end;
+                if (++inFile == max) {
+                    out.writeBytes(URLSET_CLOSE);
+                    xmls.add(out.toByteArray());
+                    out.reset();
+                    out.writeBytes(URLSET_OPEN);
+                    inFile = 0;
+                }
+            }
+        }
+        if (inFile > 0 || xmls.isEmpty()) {
+            out.writeBytes(URLSET_CLOSE);
+            xmls.add(out.toByteArray());
+        }
+
+        List<Document> files = new ArrayList<>(xmls.size());
+        for (int i = 0; i < xmls.size(); i++) {
+            Document prev = (previous != null && i < previous.files().size()) ? previous.files().get(i) : null;
+            files.add(document(xmls.get(i), prev));
+        }
+        Document index = files.size() > 1
+                ? document(indexXml(files.size()), previous != null ? previous.index() : null)
+                : null;
+        return new Published(index, List.copyOf(files));
+    }
+
+    private byte[] indexXml(int count) {
+        String origin = canonicalOrigin();
+        String today = LocalDate.now(ZONE_RO).format(DateTimeFormatter.ISO_DATE);
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (int i = 1; i <= count; i++) {
+            sb.append("  <sitemap><loc>").append(escape(origin + "/api/app/sitemap-" + i + ".xml")).append("</loc>")
+                    .append("<lastmod>").append(today).append("</lastmod></sitemap>\n");
+        }
+        sb.append("</sitemapindex>\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Același conținut => același ETag și Last-Modified ca înainte de regenerare. */
+    private static Document document(byte[] xml, Document previous) {
+        CRC32 crc = new CRC32();
+        crc.update(xml);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + xml.length + "\"";
+        if (previous != null && previous.etag().equals(etag)) return previous;
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        return new Document(xml, gzip(xml), etag, now);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(512, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    // ===================== Helpers =====================
+
+    /** Scrie intrările <url> direct ca bytes și ține minte unde se termină fiecare. */
+    private static final class FragmentWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        private int[] ends = new int[64];
+        private int count;
+
+        void url(String loc, String lastmod, String freq, String pri) {
+            StringBuilder sb = new StringBuilder(160);
+            sb.append("  <url>");
+            sb.append("<loc>").append(escape(loc)).append("</loc>");
+            if (lastmod != null) sb.append("<lastmod>").append(lastmod).append("</lastmod>");
+            if (freq != null) sb.append("<changefreq>").append(freq).append("</changefreq>");
+            if (pri != null) sb.append("<priority>").append(pri).append("</priority>");
+            sb.append("</url>\n");
+            out.writeBytes(sb.toString().getBytes(StandardCharsets.UTF_8));
+            if (count == ends.length) ends = Arrays.copyOf(ends, count * 2);
+            ends[count++] = out.size();
+        }
+
+        Fragment finish() {
+            return new Fragment(out.toByteArray(), Arrays.copyOf(ends, count));
+        }
+    }
+
+    private String canonicalOrigin() {
+        // Te asiguri că nu are slash la final
+        return publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+    }
+
+    private static String lastmodClamp(LocalDate d) {
+        if (d == null) return null;
+        LocalDate today = LocalDate.now(ZONE_RO);
+        LocalDate safe = d.isAfter(today) ? today : d;
+        return safe.format(DateTimeFormatter.ISO_DATE);
+    }
+
+    private static String escape(String s) {
+        if (s == null) return "";
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+}
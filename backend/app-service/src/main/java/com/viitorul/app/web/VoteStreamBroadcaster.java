@@ -0,0 +1,227 @@
+package com.viitorul.app.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viitorul.app.event.MvpVoteCastEvent;
+import com.viitorul.app.event.VoteTallyRebuiltEvent;
+import com.viitorul.app.service.VoteTallyService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rezultatele MVP live, prin Server-Sent Events.
+ * <p>
+ * Un singur canal per meci: după commit-ul unui vot canalul e marcat „murdar”, iar un tick la
+ * {@code app.votes.stream.flush-interval-ms} citește sumarul o dată, îl serializează o dată și îl
+ * trimite tuturor abonaților. Scrierile pe socket se fac pe un pool mic și fix; fiecare abonat are
+ * un singur slot „pending” (ultimul sumar câștigă), deci un client lent nu acumulează coadă și nu
+ * ține pe loc restul. Numărul total de conexiuni e plafonat.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoteStreamBroadcaster {
+
+    private final VoteStreamProperties props;
+    private final VoteTallyService tallyService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService fanOut;
+
+    /** Ce urmează să primească un abonat: un sumar sau doar un heartbeat. */
+    private record Payload(String json) {
+        static final Payload HEARTBEAT = new Payload(null);
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicReference<Payload> pending = new AtomicReference<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private static final class Channel {
+        final Long matchId;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean dirty = new AtomicBoolean();
+        volatile Payload latest;
+
+        Channel(Long matchId) {
+            this.matchId = matchId;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(daemon("vote-stream-tick"));
+        fanOut = Executors.newFixedThreadPool(Math.max(1, props.getFanOutThreads()), daemon("vote-stream-send"));
+        long flush = Math.max(50, props.getFlushIntervalMs());
+        long heartbeat = Math.max(1000, props.getHeartbeatMs());
+        ticker.scheduleWithFixedDelay(this::flush, flush, flush, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        fanOut.shutdownNow();
+        channels.values().forEach(ch -> ch.subscribers.forEach(s -> s.emitter.complete()));
+        channels.clear();
+    }
+
+    public SseEmitter subscribe(Long matchId) {
+        if (connections.incrementAndGet() > props.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live connections");
+        }
+
+        SseEmitter emitter = new SseEmitter(props.getConnectionTimeoutMs());
+        Subscriber sub = new Subscriber(emitter);
+        try {
+            Channel ch = channels.compute(matchId, (id, existing) -> {
+                Channel c = existing != null ? existing : new Channel(id);
+                c.subscribers.add(sub);
+                return c;
+            });
+
+            emitter.onCompletion(() -> unsubscribe(matchId, sub));
+            emitter.onTimeout(() -> unsubscribe(matchId, sub));
+            emitter.onError(e -> unsubscribe(matchId, sub));
+
+            Payload snapshot = ch.latest;
+            if (snapshot == null) {
+                snapshot = load(matchId);
+                ch.latest = snapshot;
+            }
+            enqueue(sub, snapshot);
+            return emitter;
+        } catch (RuntimeException e) {
+            // emitter-ul nu ajunge la client, deci callback-urile lui nu vor rula: eliberăm locul aici
+            unsubscribe(matchId, sub);
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(MvpVoteCastEvent e) {
+        Channel ch = channels.get(e.matchId());
+        if (ch != null) ch.dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTallyRebuilt(VoteTallyRebuiltEvent e) {
+        if (e.matchId() == null) {
+            channels.values().forEach(ch -> ch.dirty.set(true));
+            return;
+        }
+        Channel ch = channels.get(e.matchId());
+        if (ch != null) ch.dirty.set(true);
+    }
+
+    private void unsubscribe(Long matchId, Subscriber sub) {
+        if (!sub.closed.compareAndSet(false, true)) return;
+        connections.decrementAndGet();
+        channels.computeIfPresent(matchId, (id, ch) -> {
+            ch.subscribers.remove(sub);
+            return ch.subscribers.isEmpty() ? null : ch;
+        });
+    }
+
+    private void flush() {
+        for (Channel ch : channels.values()) {
+            if (!ch.dirty.getAndSet(false)) continue;
+            try {
+                Payload next = load(ch.matchId);
+                Payload prev = ch.latest;
+                if (prev != null && prev.json().equals(next.json())) continue;
+                ch.latest = next;
+                ch.subscribers.forEach(s -> enqueue(s, next));
+            } catch (RuntimeException e) {
+                ch.dirty.set(true); // reîncercăm la tick-ul următor
+                log.warn("[VoteStream] Nu pot încărca sumarul pentru meciul {}: {}", ch.matchId, e.toString());
+            }
+        }
+    }
+
+    private void heartbeat() {
+        channels.values().forEach(ch -> ch.subscribers.forEach(s -> {
+            if (s.pending.compareAndSet(null, Payload.HEARTBEAT)) schedule(s);
+        }));
+    }
+
+    private void enqueue(Subscriber sub, Payload payload) {
+        sub.pending.set(payload);
+        schedule(sub);
+    }
+
+    private void schedule(Subscriber sub) {
+        if (sub.closed.get() || !sub.sending.compareAndSet(false, true)) return;
+        try {
+            fanOut.execute(() -> drain(sub));
+        } catch (RejectedExecutionException e) {
+            sub.sending.set(false);
+        }
+    }
+
+    /** Trimite tot ce e pending; un singur thread per abonat la un moment dat. */
+    private void drain(Subscriber sub) {
+        do {
+            Payload p;
+            while ((p = sub.pending.getAndSet(null)) != null && !sub.closed.get()) {
+                try {
+                    if (p == Payload.HEARTBEAT) {
+                        sub.emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        sub.emitter.send(SseEmitter.event().name("summary").data(p.json(), MediaType.APPLICATION_JSON));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // clientul a plecat; onError/onCompletion face curățenia
+                    sub.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            sub.sending.set(false);
+        } while (sub.pending.get() != null && !sub.closed.get() && sub.sending.compareAndSet(false, true));
+    }
+
+    private Payload load(Long matchId) {
+        try {
+            return new Payload(objectMapper.writeValueAsString(tallyService.summary(matchId)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nu pot serializa sumarul voturilor", e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.viitorul.app.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.votes.stream")
+public class VoteStreamProperties {
+    /** Cel mult un update per meci în acest interval; voturile dintre ele sunt comasate. */
+    private long flushIntervalMs = 500;
+    /** Conexiuni SSE deschise simultan, pe toate meciurile. */
+    private int maxConnections = 5000;
+    /** Durata maximă a unei conexiuni; clientul (EventSource) se reconectează singur. */
+    private long connectionTimeoutMs = 30 * 60_000;
+    /** Comentariu SSE trimis periodic ca proxy-urile să nu închidă conexiunea și să aflăm de clienții plecați. */
+    private long heartbeatMs = 20_000;
+    /** Thread-uri care scriu efectiv pe socket-uri. */
+    private int fanOutThreads = 4;
+}
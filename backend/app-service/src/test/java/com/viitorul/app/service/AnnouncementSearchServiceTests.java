@@ -0,0 +1,107 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.config.AnnouncementSearchIndexInitializer;
+import com.viitorul.app.dto.AnnouncementSearchHitDTO;
+import com.viitorul.app.dto.CursorPageDTO;
+import com.viitorul.app.entity.Announcement;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/** Ordinea rezultatelor full-text (titlu > text, egalitate => id descrescător) și paginarea keyset peste ea. */
+@SpringBootTest
+@Transactional
+class AnnouncementSearchServiceTests {
+
+    @Autowired
+    private AnnouncementSearchService searchService;
+
+    @Autowired
+    private AnnouncementSearchIndexInitializer searchIndex;
+
+    @Autowired
+    private EntityManager em;
+
+    private String token;
+    private Announcement titleAndBody;
+    private Announcement titleOnly;
+    private Announcement bodyOnlyOlder;
+    private Announcement bodyOnlyNewer;
+
+    @BeforeEach
+    void seed() {
+        // un cuvânt inventat: nu se potrivește cu nimic din datele existente
+        Random random = new Random();
+        StringBuilder sb = new StringBuilder("vtr");
+        for (int i = 0; i < 8; i++) sb.append((char) ('a' + random.nextInt(26)));
+        token = sb.toString();
+
+        OffsetDateTime past = OffsetDateTime.now(ZoneOffset.UTC).minusDays(1);
+        titleAndBody = announcement("Anunț " + token, "Despre " + token + " azi.", past);
+        titleOnly = announcement("Titlu " + token, "Fără cuvântul căutat.", past);
+        bodyOnlyOlder = announcement("Primul", "Text cu " + token + ".", past);
+        bodyOnlyNewer = announcement("Al doilea", "Alt text cu " + token + ".", past);
+        announcement("Programat " + token, "Nepublicat încă.", OffsetDateTime.now(ZoneOffset.UTC).plusDays(3));
+        announcement("Altceva", "Nimic relevant.", past);
+        em.flush();
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndBreaksTiesByNewestId() {
+        assumeTrue(searchIndex.isReady(), "indexul full-text lipsește");
+
+        List<AnnouncementSearchHitDTO> hits = searchService.search(token, null, 10).items();
+
+        assertEquals(List.of(titleAndBody.getId(), titleOnly.getId(), bodyOnlyNewer.getId(), bodyOnlyOlder.getId()),
+                hits.stream().map(AnnouncementSearchHitDTO::id).toList());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).rank() >= hits.get(i).rank(), "rank crescător la poziția " + i);
+        }
+        assertEquals(hits.get(2).rank(), hits.get(3).rank());
+        assertTrue(hits.get(0).titleHighlighted().contains("<mark>"));
+    }
+
+    @Test
+    void cursorPagesWalkTheSameOrderWithoutGapsOrDuplicates() {
+        assumeTrue(searchIndex.isReady(), "indexul full-text lipsește");
+
+        List<Long> single = searchService.search(token, null, 10).items().stream()
+                .map(AnnouncementSearchHitDTO::id).toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<AnnouncementSearchHitDTO> page = searchService.search(token, cursor, 1);
+            page.items().forEach(h -> paged.add(h.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null && paged.size() <= single.size());
+
+        assertEquals(single, paged);
+        assertNull(cursor);
+    }
+
+    private Announcement announcement(String title, String text, OffsetDateTime publishedAt) {
+        Announcement a = Announcement.builder()
+                .title(title)
+                .contentHtml("<p>" + text + "</p>")
+                .contentText(text)
+                .publishedAt(publishedAt)
+                .build();
+        em.persist(a);
+        return a;
+    }
+}
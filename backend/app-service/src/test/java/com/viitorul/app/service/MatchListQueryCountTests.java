@@ -0,0 +1,97 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.entity.Match;
+import com.viitorul.app.entity.Player;
+import com.viitorul.app.entity.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Listele de meciuri trebuie să facă același număr de interogări indiferent de mărimea paginii. */
+class MatchListQueryCountTests extends QueryCountTestSupport {
+
+    @Autowired
+    private MatchService matchService;
+
+    private String awayName;
+    private final Set<Long> seededIds = new HashSet<>();
+    private List<Long> startingIds;
+
+    @BeforeEach
+    void seed() {
+        // nume unic: filtrul pe echipă izolează meciurile testului de cele deja existente în DB
+        awayName = "Adversar " + UUID.randomUUID().toString().substring(0, 8);
+        Team home = team("Viitorul Răchiteni");
+        Team away = team(awayName);
+        Player p1 = player("Titular 1");
+        Player p2 = player("Titular 2");
+        Player p3 = player("Rezervă");
+        startingIds = List.of(p1.getId(), p2.getId());
+
+        LocalDate start = LocalDate.now().minusDays(60);
+        for (int i = 0; i < 30; i++) {
+            Match m = Match.builder()
+                    .homeTeam(home)
+                    .awayTeam(away)
+                    .date(start.plusDays(i))
+                    .kickoffTime(LocalTime.NOON)
+                    .homeGoals(i % 4)
+                    .awayGoals(1)
+                    .startingPlayers(List.of(p2, p1))
+                    .substitutePlayers(List.of(p3))
+                    .active(true)
+                    .build();
+            em.persist(m);
+            seededIds.add(m.getId());
+        }
+        // nimic din contextul de persistență nu trebuie să ascundă lazy loads
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void pagedListUsesConstantStatementCount() {
+        long small = statementsFor(() -> matchService.getAllMatchesPaged("", PageRequest.of(0, 5)).getContent());
+        long large = statementsFor(() -> matchService.getAllMatchesPaged("", PageRequest.of(0, 25)).getContent());
+
+        assertEquals(small, large);
+        assertTrue(large <= 3, "rânduri + count + lot, găsite: " + large);
+    }
+
+    @Test
+    void resultsListUsesConstantStatementCount() {
+        long small = statementsFor(() -> matchService.getFinishedMatchesPaged(null, null, null, PageRequest.of(0, 5)).getContent());
+        long large = statementsFor(() -> matchService.getFinishedMatchesPaged(null, null, null, PageRequest.of(0, 25)).getContent());
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void squadIdsAreFilledFromBatchQuery() {
+        var page = matchService.getAllMatchesPaged(awayName, PageRequest.of(0, 10));
+        assertEquals(10, page.getContent().size());
+        page.getContent().forEach(m -> {
+            assertTrue(seededIds.contains(m.getId()), "meci din afara testului: " + m.getId());
+            // tabelele de legătură n-au ordine proprie: lotul vine sortat după id
+            assertEquals(startingIds, m.getStartingPlayerIds());
+            assertEquals(1, m.getSubstitutePlayerIds().size());
+        });
+    }
+
+    private Player player(String name) {
+        Player p = Player.builder().name(name).isActive(true).build();
+        em.persist(p);
+        return p;
+    }
+}
@@ -0,0 +1,95 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.dto.MatchPlayerStatDTO;
+import com.viitorul.app.entity.Match;
+import com.viitorul.app.entity.MatchPlayerStat;
+import com.viitorul.app.entity.Player;
+import com.viitorul.app.entity.Team;
+import com.viitorul.app.repository.MatchPlayerStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lot de 25 de jucători: varianta jucător-cu-jucător vs. calea batch.
+ * Statisticile Hibernate nu văd JDBC batch-ul pentru inserări (acela e un singur executeBatch).
+ */
+class MatchStatsBatchQueryCountTests extends QueryCountTestSupport {
+
+    private static final int SQUAD = 25;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchPlayerStatRepository statRepository;
+
+    private Match loopMatch;
+    private Match batchMatch;
+    private final List<Player> squad = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        Team home = team("Viitorul Răchiteni");
+        Team away = team("Adversar");
+        loopMatch = match(home, away, 1);
+        batchMatch = match(home, away, 2);
+        for (int i = 0; i < SQUAD; i++) {
+            Player p = Player.builder().name("Jucător " + i).isActive(true).build();
+            em.persist(p);
+            squad.add(p);
+        }
+        // jumătate din lot are deja statistici => mix de UPDATE și INSERT
+        for (int i = 0; i < SQUAD / 2; i++) {
+            em.persist(MatchPlayerStat.builder().match(loopMatch).player(squad.get(i)).build());
+            em.persist(MatchPlayerStat.builder().match(batchMatch).player(squad.get(i)).build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void batchPathUsesConstantStatementCount() {
+        long loop = statementsFor(() -> payload(loopMatch).forEach(d -> matchService.addOrUpdatePlayerStat(loopMatch.getId(), d)));
+        long batch = statementsFor(() -> matchService.addOrUpdatePlayerStatsBatch(batchMatch.getId(), payload(batchMatch)));
+
+        assertTrue(loop >= 3L * SQUAD, "per-jucător: " + loop);
+        assertTrue(batch <= 4, "meci + jucători + statistici existente + UPDATE în lot, găsite: " + batch);
+    }
+
+    @Test
+    void batchPathWritesEveryPlayer() {
+        matchService.addOrUpdatePlayerStatsBatch(batchMatch.getId(), payload(batchMatch));
+        em.clear();
+
+        List<MatchPlayerStat> saved = statRepository.findByMatch_Id(batchMatch.getId());
+        assertEquals(SQUAD, saved.size());
+        saved.forEach(s -> assertEquals(1, s.getGoals()));
+    }
+
+    private List<MatchPlayerStatDTO> payload(Match match) {
+        return squad.stream()
+                .map(p -> MatchPlayerStatDTO.builder().matchId(match.getId()).playerId(p.getId()).goals(1).build())
+                .toList();
+    }
+
+    private Match match(Team home, Team away, int daysAgo) {
+        Match m = Match.builder()
+                .homeTeam(home)
+                .awayTeam(away)
+                .date(LocalDate.now().minusDays(daysAgo))
+                .kickoffTime(LocalTime.NOON)
+                .active(true)
+                .build();
+        em.persist(m);
+        return m;
+    }
+}
@@ -0,0 +1,46 @@
+package com.viitorul.app.service;
+
+import com.viitorul.app.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Baza testelor care numără instrucțiunile SQL pregătite de Hibernate pentru un apel de serviciu. */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+abstract class QueryCountTestSupport {
+
+    @Autowired
+    protected EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void initStatistics() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Contextul de persistență e golit înainte (nimic nu ascunde lazy loads) și sincronizat după apel. */
+    protected long statementsFor(Runnable call) {
+        em.clear();
+        stats.clear();
+        call.run();
+        em.flush();
+        return stats.getPrepareStatementCount();
+    }
+
+    protected Team team(String name) {
+        Team t = new Team();
+        t.setName(name);
+        em.persist(t);
+        return t;
+    }
+}
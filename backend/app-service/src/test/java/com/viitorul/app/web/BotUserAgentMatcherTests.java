@@ -0,0 +1,166 @@
+package com.viitorul.app.web;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Automatul Aho-Corasick față de regex-ul vechi din SharePreviewFilter și față de {@code contains}. */
+class BotUserAgentMatcherTests {
+
+    private static final List<String> CRAWLERS = List.of(
+            "facebookexternalhit/1.1 (+http://www.facebook.com/externalhit_uatext.php)",
+            "facebookexternalhit/1.1;line-poker/1.0",
+            "Mozilla/5.0 (compatible; Facebot/1.0)",
+            "Twitterbot/1.0",
+            "LinkedInBot/1.0 (compatible; Mozilla/5.0; Apache-HttpClient +http://www.linkedin.com)",
+            "Slackbot-LinkExpanding 1.0 (+https://api.slack.com/robots)",
+            "WhatsApp/2.23.20.0 A",
+            "Mozilla/5.0 (compatible; Discordbot/2.0; +https://discordapp.com)",
+            "TelegramBot (like TwitterBot)",
+            "Mozilla/5.0 (compatible; Embedly/0.2; +http://support.embed.ly/)",
+            "Pinterest/0.2 (+https://www.pinterest.com/bot.html)",
+            "Mozilla/5.0 (compatible; vkShare; +http://vk.com/dev/Share)"
+    );
+
+    private static final List<String> BROWSERS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/127.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:128.0) Gecko/20100101 Firefox/128.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Safari/605.1.15",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.6478.122 Mobile Safari/537.36",
+            "Mozilla/5.0 (Linux; Android 13; SAMSUNG SM-S911B) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/25.0 Chrome/121.0.0.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/127.0.0.0 Safari/537.36 Edg/127.0.2651.74",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36 OPR/112.0.0.0",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) CriOS/127.0.6533.77 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:127.0) Gecko/20100101 Firefox/127.0",
+            "Mozilla/5.0 (Linux; Android 10; K) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/127.0.0.0 Mobile Safari/537.36 [FBAN/FB4A;FBAV/475.0.0.0]",
+            "Mozilla/5.0 (Linux; U; Android 12; ro-ro; Redmi Note 11) AppleWebKit/537.36 (KHTML, like Gecko) Version/4.0 Chrome/112.0 Mobile Safari/537.36 XiaoMi/MiuiBrowser/14.9"
+    );
+
+    // SharePreviewFilter înainte de BotUserAgentMatcher
+    private static final Pattern OLD_BOT_UA = Pattern.compile(
+            "(facebookexternalhit|facebot|Twitterbot|LinkedInBot|Slackbot|WhatsApp|Discordbot|TelegramBot|Embedly|Pinterest|vkShare)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    @Test
+    void everyConfiguredTokenMatchesAnywhereInAnyCase() {
+        SharePreviewProperties props = new SharePreviewProperties();
+        BotUserAgentMatcher matcher = matcher(props);
+
+        for (String token : props.getBotUserAgents()) {
+            for (String form : List.of(token, token.toLowerCase(Locale.ROOT), token.toUpperCase(Locale.ROOT))) {
+                assertTrue(matcher.isBot(form), form);
+                assertTrue(matcher.isBot("Mozilla/5.0 (compatible; " + form + "/1.0)"), form + " la mijloc");
+                assertTrue(matcher.isBot("Mozilla/5.0 " + form), form + " la sfârșit");
+            }
+        }
+        CRAWLERS.forEach(ua -> assertTrue(matcher.isBot(ua), ua));
+    }
+
+    @Test
+    void browsersDoNotMatchAndAgreeWithTheOldRegex() {
+        BotUserAgentMatcher matcher = matcher(new SharePreviewProperties());
+
+        BROWSERS.forEach(ua -> assertFalse(matcher.isBot(ua), ua));
+        for (String ua : concat(BROWSERS, CRAWLERS)) {
+            assertEquals(OLD_BOT_UA.matcher(ua).find(), matcher.isBot(ua), ua);
+        }
+        assertFalse(matcher.isBot(null));
+        assertFalse(matcher.isBot(""));
+    }
+
+    @Test
+    void overlappingAndPrefixTokensAreFound() {
+        BotUserAgentMatcher.Automaton a = BotUserAgentMatcher.Automaton.compile(
+                List.of("bot", "Twitterbot", "facebookexternalhit", "external"));
+
+        assertTrue(a.matches("Twitterbot/1.0"));
+        assertTrue(a.matches("TwitterBo-bot"));              // „twitterbo” eșuează, „bot” se găsește prin fail link
+        assertTrue(a.matches("facebookexternalhi"));         // prefix al unui fragment, dar conține „external”
+        assertTrue(a.matches("FACEBOOKEXTERNALHIT/1.1"));
+        assertTrue(a.matches("xxbobot"));                    // potrivire care începe în mijlocul uneia ratate
+        assertFalse(a.matches("Twitterbo"));
+        assertFalse(a.matches("facebookextern"));
+        assertFalse(a.matches("b o t"));
+
+        BotUserAgentMatcher.Automaton suffixes = BotUserAgentMatcher.Automaton.compile(List.of("he", "she", "hers", "his"));
+        assertTrue(suffixes.matches("ushers"));
+        assertTrue(suffixes.matches("ahis"));
+        assertFalse(suffixes.matches("shx hrs"));
+    }
+
+    @Test
+    void nonAsciiCharactersBreakAMatchButNotWhatFollows() {
+        BotUserAgentMatcher.Automaton a = BotUserAgentMatcher.Automaton.compile(List.of("WhatsApp", "Răchiteni"));
+
+        assertTrue(a.matches("ăWhatsApp"));
+        assertFalse(a.matches("Whatsăpp"));
+        assertFalse(a.matches("Răchiteni"));                 // fragmentele non-ASCII sunt ignorate
+        assertFalse(BotUserAgentMatcher.Automaton.compile(List.of()).matches("Twitterbot"));
+        assertFalse(BotUserAgentMatcher.Automaton.compile(List.of(" ", "")).matches("Twitterbot"));
+    }
+
+    @Test
+    void agreesWithContainsOnRandomPatternsAndText() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0, n = 1 + random.nextInt(6); i < n; i++) patterns.add(randomWord(random, 1 + random.nextInt(5)));
+            BotUserAgentMatcher.Automaton a = BotUserAgentMatcher.Automaton.compile(patterns);
+            Pattern regex = Pattern.compile(patterns.stream().map(Pattern::quote).collect(Collectors.joining("|")),
+                    Pattern.CASE_INSENSITIVE);
+
+            for (int t = 0; t < 20; t++) {
+                String text = randomWord(random, random.nextInt(30));
+                assertEquals(regex.matcher(text).find(), a.matches(text), patterns + " în " + text);
+            }
+        }
+    }
+
+    @Test
+    void fileReplacesTheConfiguredList(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("bots.txt");
+        Files.writeString(file, "# crawlere interne\n\nViitorulBot\n");
+        SharePreviewProperties props = new SharePreviewProperties();
+        props.setBotUserAgentsFile(file.toString());
+
+        BotUserAgentMatcher matcher = matcher(props);
+
+        assertTrue(matcher.isBot("Mozilla/5.0 (compatible; viitorulbot/2.1)"));
+        assertFalse(matcher.isBot("Twitterbot/1.0"));
+        assertFalse(matcher.isBot("# crawlere interne"));
+    }
+
+    private static BotUserAgentMatcher matcher(SharePreviewProperties props) {
+        BotUserAgentMatcher matcher = new BotUserAgentMatcher(props);
+        matcher.init();
+        return matcher;
+    }
+
+    // alfabet mic, cu majuscule: multe suprapuneri între fragmente și text
+    private static String randomWord(Random random, int length) {
+        String letters = "abcAB";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(letters.charAt(random.nextInt(letters.length())));
+        return sb.toString();
+    }
+
+    private static List<String> concat(List<String> a, List<String> b) {
+        List<String> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
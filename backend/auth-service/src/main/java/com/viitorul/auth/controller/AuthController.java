@@ -6,6 +6,7 @@ import com.viitorul.auth.dto.LoginRequest;
 import com.viitorul.auth.dto.RegisterRequest;
 import com.viitorul.auth.dto.ResetPasswordRequest;
 import com.viitorul.auth.service.AuthService;
+import com.viitorul.auth.service.SubscriberExportService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -34,6 +37,7 @@ public class AuthController {
     private String jwtSecret;
     private final AuthService authService;
     private final JwtUtils jwtUtils;
+    private final SubscriberExportService subscriberExportService;
 
     @Value("${COOKIE_SECURE:true}")
     private boolean cookieSecure;
@@ -77,6 +81,14 @@ public class AuthController {
         return ResponseEntity.ok(emails);
     }
 
+    // aceeași listă ca /subscribers, dar NDJSON (o adresă per linie) scris direct din cursorul DB
+    @GetMapping(value = "/subscribers/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSubscribersEmails() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(subscriberExportService::writeSubscribedEmails);
+    }
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
         AuthResponse response = authService.register(request);
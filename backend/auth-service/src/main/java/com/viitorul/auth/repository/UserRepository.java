@@ -1,12 +1,37 @@
 package com.viitorul.auth.repository;
 
 import com.viitorul.auth.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-    List<User> findAllBySubscribedToNewsTrue();
+
+    /** Doar adresa, fără entitatea User. */
+    String SUBSCRIBED_EMAILS = """
+            SELECT u.email FROM User u
+            WHERE u.subscribedToNews = true AND u.email IS NOT NULL AND u.email <> ''
+            ORDER BY u.id
+            """;
+
+    @Query(SUBSCRIBED_EMAILS)
+    List<String> findSubscribedEmails();
+
+    /**
+     * Același rezultat, citit cu cursor (fetch size) în loc să fie încărcat tot în memorie.
+     * Necesită o tranzacție deschisă cât timp stream-ul e consumat.
+     */
+    @Query(SUBSCRIBED_EMAILS)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<String> streamSubscribedEmails();
 }
@@ -180,10 +180,9 @@ public class AuthService {
     }
 
     public List<String> findSubscribedEmails() {
-        return userRepository.findAllBySubscribedToNewsTrue()
+        return userRepository.findSubscribedEmails()
                 .stream()
-                .map(User::getEmail)
-                .filter(e -> e != null && !e.isBlank())
+                .filter(e -> !e.isBlank())
                 .toList();
     }
 
@@ -0,0 +1,48 @@
+package com.viitorul.auth.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.viitorul.auth.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportul abonaților ca NDJSON (un șir JSON per linie), scris pe măsură ce rândurile vin din cursor;
+ * memoria nu depinde de numărul de abonați.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriberExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final JsonFactory JSON = JsonFactory.builder().build();
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public long writeSubscribedEmails(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<String> emails = userRepository.streamSubscribedEmails();
+             JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<String> it = emails.iterator();
+            while (it.hasNext()) {
+                String email = it.next();
+                if (email.isBlank()) continue;
+                gen.writeString(email);
+                gen.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) gen.flush();
+            }
+        }
+        log.info("Exportați {} abonați", count);
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package com.viitorul.common.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Client HTTP pentru apelurile între servicii, câte unul pe rută.
+ * <p>
+ * Peste {@link HttpClient}-ul din JDK (conexiuni refolosite, HTTP/2 opțional) adaugă:
+ * timeouts de conectare/citire, un bulkhead (semafor) care limitează apelurile simultane,
+ * un circuit breaker care taie apelurile cât timp ruta pică și timer-ul
+ * {@code interservice.client.requests} (tag-uri {@code route}, {@code operation}, {@code outcome}).
+ * Răspunsurile 4xx sunt erori ale apelantului, nu ale rutei, deci nu deschid circuitul.
+ */
+@Slf4j
+public class InterServiceClient {
+
+    private final RouteConfig route;
+    private final RestClient restClient;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+
+    public InterServiceClient(RouteConfig route, MeterRegistry meterRegistry) {
+        this.route = route;
+        this.meterRegistry = meterRegistry;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(route.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(route.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(route.getReadTimeout());
+
+        this.restClient = RestClient.builder()
+                .baseUrl(route.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+        this.bulkhead = new Semaphore(Math.max(1, route.getMaxConcurrentCalls()));
+        this.breaker = new CircuitBreaker(route.getFailureThreshold(), route.getOpenDuration().toNanos());
+
+        Gauge.builder("interservice.client.circuit.open", breaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .tag("route", route.getName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execută {@code call} cu clientul rutei. Excepțiile lui {@link RestClient} sunt propagate
+     * neschimbate; dacă apelul e respins local se aruncă {@link InterServiceUnavailableException}.
+     */
+    public <T> T call(String operation, Function<RestClient, T> call) {
+        long start = System.nanoTime();
+
+        if (!acquireBulkhead()) {
+            record(operation, "bulkhead_full", start);
+            throw new InterServiceUnavailableException(route.getName(), InterServiceUnavailableException.Reason.BULKHEAD_FULL);
+        }
+        try {
+            if (!breaker.tryAcquire()) {
+                record(operation, "circuit_open", start);
+                throw new InterServiceUnavailableException(route.getName(), InterServiceUnavailableException.Reason.CIRCUIT_OPEN);
+            }
+
+            try {
+                T result = call.apply(restClient);
+                breaker.onSuccess();
+                record(operation, "success", start);
+                return result;
+            } catch (HttpClientErrorException e) {
+                breaker.onSuccess();
+                record(operation, "client_error", start);
+                throw e;
+            } catch (HttpServerErrorException e) {
+                onFailure(operation, "server_error", start, e);
+                throw e;
+            } catch (ResourceAccessException e) {
+                onFailure(operation, "io_error", start, e);
+                throw e;
+            } catch (RuntimeException e) {
+                onFailure(operation, "error", start, e);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(route.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void onFailure(String operation, String outcome, long start, RuntimeException e) {
+        CircuitBreaker.State before = breaker.state();
+        breaker.onFailure();
+        record(operation, outcome, start);
+        if (before != CircuitBreaker.State.OPEN && breaker.state() == CircuitBreaker.State.OPEN) {
+            log.warn("[InterServiceClient] Circuit deschis pentru {} după: {}", route.getName(), e.toString());
+        }
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        Timer.builder("interservice.client.requests")
+                .tag("route", route.getName())
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,19 @@
+package com.viitorul.common.http;
+
+import lombok.Getter;
+
+/** Apelul nici nu a plecat: circuitul e deschis sau bulkhead-ul e plin. */
+@Getter
+public class InterServiceUnavailableException extends RuntimeException {
+
+    public enum Reason { CIRCUIT_OPEN, BULKHEAD_FULL }
+
+    private final String route;
+    private final Reason reason;
+
+    public InterServiceUnavailableException(String route, Reason reason) {
+        super("Ruta " + route + " indisponibilă: " + reason);
+        this.route = route;
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,39 @@
+package com.viitorul.common.http;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Setările unei rute către alt serviciu (ex. app-service → auth-service).
+ * Bean simplu cu setteri, ca să poată fi legat direct cu {@code @ConfigurationProperties}.
+ */
+@Getter
+@Setter
+public class RouteConfig {
+
+    /** Numele rutei; apare în log-uri și ca tag {@code route} în metrici. */
+    private String name;
+
+    private String baseUrl;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** HTTP/2 (h2 pe TLS, upgrade h2c pe http); implicit HTTP/1.1 cu keep-alive. */
+    private boolean http2 = false;
+
+    /** Bulkhead: câte apeluri simultane permitem pe rută. */
+    private int maxConcurrentCalls = 20;
+
+    /** Cât așteaptă un apel un loc în bulkhead înainte să fie respins. */
+    private Duration maxWait = Duration.ofMillis(100);
+
+    /** Eșecuri consecutive (5xx, timeout, conexiune) după care circuitul se deschide. */
+    private int failureThreshold = 5;
+
+    /** Cât stă circuitul deschis înainte de un apel de probă. */
+    private Duration openDuration = Duration.ofSeconds(30);
+}
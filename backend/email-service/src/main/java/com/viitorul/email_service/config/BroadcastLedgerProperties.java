@@ -0,0 +1,40 @@
+package com.viitorul.email_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/** Registrul de livrări și împărțirea trimiterilor în bucăți; setări în {@code app.mail.broadcast.*}. */
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.mail.broadcast")
+public class BroadcastLedgerProperties {
+
+    /** Destinatari per bucată (un mesaj pe coadă, preluat de o singură instanță). */
+    private int chunkSize = 500;
+    /** Cât timp o instanță își rezervă bucata; se reînnoiește pe parcurs. */
+    private Duration lease = Duration.ofMinutes(2);
+    /** Câte livrări între două reînnoiri ale rezervării. */
+    private int renewEvery = 50;
+    /** O trimitere fără progres atât timp își republică bucatele rămase (instanță căzută, mesaj pierdut). */
+    private Duration stallTimeout = Duration.ofMinutes(5);
+    /**
+     * Încercări de planificare per eveniment (lista de abonați vine din auth-service); după ultima,
+     * mesajul e respins fără requeue și trimiterea rămâne {@code PREPARING}, reluată de {@code planRetryAfter}.
+     */
+    private int planAttempts = 4;
+    /** Pauza dinaintea primei reîncercări; se dublează până la {@code planMaxBackoff}. */
+    private Duration planBackoff = Duration.ofSeconds(15);
+    private Duration planMaxBackoff = Duration.ofMinutes(2);
+    /** O trimitere rămasă {@code PREPARING} atât timp e planificată din nou din registru (subiect și HTML salvate). */
+    private Duration planRetryAfter = Duration.ofMinutes(10);
+    /** Cât păstrăm registrul unei trimiteri terminate. */
+    private Duration retention = Duration.ofDays(30);
+    /**
+     * Numele instanței în rezervări. Implicit {@code HOSTNAME} (stabil la repornirea containerului, deci
+     * instanța își reia imediat propriile bucăți), altfel pid@host.
+     */
+    private String instanceId = System.getenv().getOrDefault("HOSTNAME", ManagementFactory.getRuntimeMXBean().getName());
+}
@@ -0,0 +1,26 @@
+package com.viitorul.email_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Trimiterile în masă (anunțuri, broadcast admin); setări în {@code app.mail.dispatch.*}. */
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.mail.dispatch")
+public class MailDispatchProperties {
+
+    /** Mesaje pe secundă, în medie, pentru toate trimiterile în masă ale unei instanțe. */
+    private double ratePerSecond = 10;
+    /** Câte mesaje pot pleca imediat după o pauză (capacitatea găleții de tokeni). */
+    private int burst = 10;
+    /** Fire care trimit în paralel. */
+    private int threads = 4;
+    /** Conexiuni SMTP deschise simultan, refolosite între mesaje. */
+    private int connections = 4;
+    /** O conexiune nefolosită atât timp e închisă (serverele SMTP le închid oricum după câteva minute). */
+    private Duration connectionIdleTimeout = Duration.ofMinutes(1);
+    /** Câte joburi recente păstrăm pentru raportul de progres. */
+    private int historySize = 20;
+}
@@ -2,8 +2,10 @@
 package com.viitorul.email_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +36,10 @@ public class RabbitMQConfig {
     public static final String ADMIN_BROADCAST_QUEUE = "admin.broadcast.queue";
     public static final String ADMIN_BROADCAST_ROUTING_KEY = "admin.broadcast";
 
+    // bucățile trimiterilor în masă, împărțite între instanțele email-service
+    public static final String BROADCAST_CHUNK_QUEUE       = "mail.broadcast.chunk.queue";
+    public static final String BROADCAST_CHUNK_ROUTING_KEY = "mail.broadcast.chunk";
+
     public static final String SUBSCRIPTION_QUEUE       = "subscription.paid.queue";
     public static final String SUBSCRIPTION_ROUTING_KEY = "subscriptions.paid";
     // Exchanges
@@ -135,6 +141,19 @@ public class RabbitMQConfig {
                 .noargs();
     }
 
+    @Bean
+    public Queue broadcastChunkQueue() {
+        return new Queue(BROADCAST_CHUNK_QUEUE, true);
+    }
+
+    @Bean
+    public Binding broadcastChunkBinding() {
+        return BindingBuilder.bind(broadcastChunkQueue())
+                .to(appExchange())
+                .with(BROADCAST_CHUNK_ROUTING_KEY)
+                .noargs();
+    }
+
     // Converter + listener factory (identic cu ce folosești deja)
     @Bean
     public MessageConverter messageConverter() {
@@ -151,4 +170,38 @@ public class RabbitMQConfig {
         factory.setMessageConverter(messageConverter);
         return factory;
     }
+
+    // o bucată pe rând per instanță: fără prefetch, celelalte bucăți rămân în coadă pentru alte instanțe
+    @Bean
+    public SimpleRabbitListenerContainerFactory broadcastChunkContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setPrefetchCount(1);
+        factory.setConcurrentConsumers(1);
+        return factory;
+    }
+
+    // planificarea trimiterilor descarcă abonații din auth-service: dacă acesta e căzut, câteva reîncercări cu
+    // pauze crescătoare, apoi respingere fără requeue (altfel mesajul s-ar relivra imediat, la nesfârșit);
+    // trimiterea rămâne PREPARING în registru și e reluată de BroadcastLedgerService.resumeStalledPlans
+    @Bean
+    public SimpleRabbitListenerContainerFactory broadcastPlanContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            BroadcastLedgerProperties props
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(Math.max(1, props.getPlanAttempts()))
+                .backOffOptions(props.getPlanBackoff().toMillis(), 2.0, props.getPlanMaxBackoff().toMillis())
+                .recoverer(new RejectAndDontRequeueRecoverer())
+                .build());
+        return factory;
+    }
 }
@@ -0,0 +1,10 @@
+package com.viitorul.email_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+    // Nimic în plus aici. @EnableScheduling pornește schedulerul Spring.
+}
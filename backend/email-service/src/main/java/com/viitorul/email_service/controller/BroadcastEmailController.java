@@ -2,17 +2,26 @@ package com.viitorul.email_service.controller;
 
 import com.viitorul.email_service.config.RabbitMQConfig;
 import com.viitorul.email_service.dto.BroadcastEmailRequest;
+import com.viitorul.email_service.dto.BroadcastProgressDTO;
+import com.viitorul.email_service.dto.DispatchProgressDTO;
+import com.viitorul.email_service.service.BroadcastLedgerService;
+import com.viitorul.email_service.service.MailDispatchEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/email")
 @RequiredArgsConstructor
 public class BroadcastEmailController {
 
     private final RabbitTemplate rabbitTemplate;
+    private final MailDispatchEngine dispatchEngine;
+    private final BroadcastLedgerService broadcasts;
 
     @PostMapping("/broadcast")
     public ResponseEntity<?> broadcast(@RequestBody BroadcastEmailRequest req) {
@@ -23,6 +32,9 @@ public class BroadcastEmailController {
             return ResponseEntity.badRequest().body("Conținutul este obligatoriu.");
         }
 
+        // id-ul fixat aici rămâne același la orice relivrare a mesajului
+        req.setId(UUID.randomUUID().toString());
+
         // publicăm payload-ul ca atare; listenerul îl va prelucra
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.APP_EXCHANGE,
@@ -31,5 +43,16 @@ public class BroadcastEmailController {
         );
         return ResponseEntity.accepted().body("Emailul a fost pus în coadă pentru trimitere.");
     }
-}
 
+    // progresul ultimelor trimiteri în masă (doar contoare, fără adrese)
+    @GetMapping("/dispatch/jobs")
+    public List<DispatchProgressDTO> dispatchJobs() {
+        return dispatchEngine.recentJobs();
+    }
+
+    // trimiterile în masă din registrul de livrări (toate instanțele)
+    @GetMapping("/dispatch/broadcasts")
+    public List<BroadcastProgressDTO> broadcasts(@RequestParam(defaultValue = "20") int limit) {
+        return broadcasts.recentBroadcasts(Math.max(1, Math.min(limit, 100)));
+    }
+}
@@ -0,0 +1,5 @@
+package com.viitorul.email_service.dto;
+
+/** Mesajul de pe coada de bucăți: ce bucată din ce trimitere trebuie livrată. */
+public record BroadcastChunkMessage(String broadcastId, int chunkNo) {
+}
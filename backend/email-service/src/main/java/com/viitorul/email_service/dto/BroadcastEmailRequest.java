@@ -4,6 +4,7 @@ import lombok.Data;
 
 @Data
 public class BroadcastEmailRequest {
+    private String id;      // setat de controller; cheia trimiterii în registrul de livrări
     private String title;   // subiect + H1
     private String html;    // conținut HTML (din editorul din admin)
 }
\ No newline at end of file
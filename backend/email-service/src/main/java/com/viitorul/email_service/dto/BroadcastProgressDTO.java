@@ -0,0 +1,18 @@
+package com.viitorul.email_service.dto;
+
+import java.time.OffsetDateTime;
+
+/** Progresul unei trimiteri în masă, din registrul de livrări (toate instanțele la un loc). */
+public record BroadcastProgressDTO(
+        String id,
+        String name,
+        String status,
+        int total,
+        int sent,
+        int failed,
+        int pending,
+        int chunks,
+        int chunksDone,
+        OffsetDateTime createdAt,
+        OffsetDateTime completedAt
+) {}
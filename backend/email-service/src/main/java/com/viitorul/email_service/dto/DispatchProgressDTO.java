@@ -0,0 +1,16 @@
+package com.viitorul.email_service.dto;
+
+import java.time.Instant;
+
+/** Progresul unei trimiteri în masă, fără adresele destinatarilor. */
+public record DispatchProgressDTO(
+        String id,
+        String name,
+        int total,
+        int sent,
+        int failed,
+        int pending,
+        Instant startedAt,
+        Instant finishedAt,
+        boolean cancelled
+) {}
@@ -0,0 +1,57 @@
+package com.viitorul.email_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * O trimitere în masă (anunț sau broadcast admin), cu tot ce trebuie ca orice instanță să-i poată
+ * reconstrui mesajul: expeditor, subiect și HTML-ul final.
+ * <p>
+ * {@code id} vine din eveniment ({@code announcement:<id>}, {@code broadcast:<uuid>}), deci un mesaj
+ * RabbitMQ livrat de două ori găsește rândul existent și nu mai planifică nimic.
+ */
+@Entity
+@Table(name = "mail_broadcast", indexes = @Index(name = "idx_mail_broadcast_status", columnList = "status, last_progress_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class MailBroadcast {
+
+    public enum Status { PREPARING, SENDING, DONE }
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false, length = 500)
+    private String name;
+
+    private String fromAddress;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int totalRecipients;
+
+    private int chunkCount;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+
+    /** Ultima bucată preluată sau terminată; fără progres un timp, bucățile rămase se republică. */
+    @Column(name = "last_progress_at")
+    private OffsetDateTime lastProgressAt;
+
+    private OffsetDateTime completedAt;
+}
@@ -0,0 +1,58 @@
+package com.viitorul.email_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * O bucată dintr-o trimitere: unitatea publicată pe coadă și preluată de o singură instanță
+ * (cât timp {@code leaseUntil} e în viitor). Destinatarii ei sunt rândurile {@link MailDelivery}
+ * cu același {@code chunkNo}.
+ */
+@Entity
+@Table(name = "mail_broadcast_chunk")
+@IdClass(MailBroadcastChunk.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class MailBroadcastChunk {
+
+    public enum Status { PENDING, DONE }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String broadcastId;
+        private int chunkNo;
+    }
+
+    @Id
+    @Column(name = "broadcast_id", length = 100)
+    private String broadcastId;
+
+    @Id
+    @Column(name = "chunk_no")
+    private int chunkNo;
+
+    private int recipients;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int sent;
+
+    private int failed;
+
+    @Column(length = 100)
+    private String leaseOwner;
+
+    private OffsetDateTime leaseUntil;
+
+    private OffsetDateTime completedAt;
+}
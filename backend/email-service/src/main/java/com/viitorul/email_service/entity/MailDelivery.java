@@ -0,0 +1,54 @@
+package com.viitorul.email_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * Registrul de livrări: un rând per (trimitere, destinatar). Un destinatar {@code SENT} nu mai primește
+ * mesajul, indiferent câte ori e reluată bucata lui.
+ */
+@Entity
+@Table(name = "mail_delivery", indexes = @Index(name = "idx_mail_delivery_chunk", columnList = "broadcast_id, chunk_no, status"))
+@IdClass(MailDelivery.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class MailDelivery {
+
+    public enum Status { PENDING, SENT, FAILED }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String broadcastId;
+        private String recipient;
+    }
+
+    @Id
+    @Column(name = "broadcast_id", length = 100)
+    private String broadcastId;
+
+    @Id
+    @Column(length = 320)
+    private String recipient;
+
+    @Column(name = "chunk_no", nullable = false)
+    private int chunkNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int attempts;
+
+    private OffsetDateTime updatedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
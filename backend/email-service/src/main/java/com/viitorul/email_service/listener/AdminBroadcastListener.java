@@ -1,17 +1,15 @@
 package com.viitorul.email_service.listener;
 import com.viitorul.email_service.config.RabbitMQConfig;
 import com.viitorul.email_service.dto.BroadcastEmailRequest;
-import jakarta.mail.internet.MimeMessage;
+import com.viitorul.email_service.service.BroadcastLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -19,53 +17,22 @@ import java.util.List;
 public class AdminBroadcastListener {
 
     private final SubscribersClient subscribersClient;
-    private final JavaMailSender mailSender;
+    private final BroadcastLedgerService broadcasts;
 
     @Value("${app.mail.from:}")
     private String from;
 
-    // mic throttling pentru reputația expeditorului
-    private static final int SLEEP_MS = 200;
-
-    @RabbitListener(queues = RabbitMQConfig.ADMIN_BROADCAST_QUEUE)
-    public void onAdminBroadcast(BroadcastEmailRequest req) {
+    @RabbitListener(queues = RabbitMQConfig.ADMIN_BROADCAST_QUEUE, containerFactory = "broadcastPlanContainerFactory")
+    public void onAdminBroadcast(BroadcastEmailRequest req) throws IOException {
         String title = req.getTitle();
         String htmlContent = req.getHtml();
 
-        List<String> recipients = subscribersClient.getSubscribedEmails();
-        if (recipients.isEmpty()) {
-            log.info("Broadcast ignorat: nu există abonați.");
-            return;
-        }
-
         String subject = "ACS Viitorul Răchiteni: " + title;
         String html = buildHtml(title, htmlContent);
 
-        for (String rcpt : recipients) {
-            try {
-                MimeMessage mime = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
-
-                helper.setTo(rcpt);
-                helper.setSubject(subject);
-                if (from != null && !from.isBlank()) helper.setFrom(from);
-                helper.setText(html, true);
-
-                try {
-                    helper.addInline("logo", new ClassPathResource("mail/logo.png"), "image/png");
-                } catch (Exception ignore) {}
-
-                mailSender.send(mime);
-                log.info("Broadcast trimis către {}", rcpt);
-
-                try { Thread.sleep(SLEEP_MS); } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            } catch (Exception e) {
-                log.error("Eroare la trimiterea broadcast către {}: {}", rcpt, e.getMessage(), e);
-            }
-        }
+        // id-ul vine de la controller; mesajele vechi, fără id, primesc unul aici
+        String id = "broadcast:" + (req.getId() != null && !req.getId().isBlank() ? req.getId() : UUID.randomUUID());
+        broadcasts.plan(id, "broadcast:" + title, from, subject, html, subscribersClient::downloadSubscribers);
     }
 
     private String buildHtml(String title, String bodyHtml) {
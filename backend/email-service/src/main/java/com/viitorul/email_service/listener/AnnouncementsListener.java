@@ -3,17 +3,14 @@ package com.viitorul.email_service.listener;
 
 import com.viitorul.common.events.AnnouncementPublishedEvent;
 import com.viitorul.email_service.config.RabbitMQConfig;
-import jakarta.mail.internet.MimeMessage;
+import com.viitorul.email_service.service.BroadcastLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
 
 @Slf4j
 @Component
@@ -21,7 +18,7 @@ import java.util.List;
 public class AnnouncementsListener {
 
     private final SubscribersClient subscribersClient;
-    private final JavaMailSender mailSender;
+    private final BroadcastLedgerService broadcasts;
 
     @Value("${app.mail.from:}")
     private String from;
@@ -29,54 +26,17 @@ public class AnnouncementsListener {
     @Value("${app.web-base-url:https://viitorulrachiteni.ro}")
     private String webBaseUrl;
 
-    // Pauză hard-coded între destinatari (200ms). Poți modifica valoarea dacă vrei.
-    private static final int SLEEP_MS = 200;
-
-    @RabbitListener(queues = RabbitMQConfig.ANNOUNCEMENTS_QUEUE)
-    public void onAnnouncementPublished(AnnouncementPublishedEvent ev) {
+    // eșecurile (ex. auth-service căzut) se reîncearcă cu pauze, apoi mesajul e respins (broadcastPlanContainerFactory)
+    @RabbitListener(queues = RabbitMQConfig.ANNOUNCEMENTS_QUEUE, containerFactory = "broadcastPlanContainerFactory")
+    public void onAnnouncementPublished(AnnouncementPublishedEvent ev) throws IOException {
         log.info("Announcement event received: id={}, title={}", ev.getId(), ev.getTitle());
 
-        List<String> recipients = subscribersClient.getSubscribedEmails();
-        if (recipients.isEmpty()) {
-            log.info("No subscribers to notify; skipping.");
-            return;
-        }
-
         String subject = "Noutăți ACS Viitorul Răchiteni: " + safe(ev.getTitle());
         String html = buildHtml(ev);
 
-        for (String rcpt : recipients) {
-            try {
-                MimeMessage mime = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
-
-                // setăm TO la destinatarul curent
-                helper.setTo(rcpt);
-                helper.setSubject(subject);
-                if (from != null && !from.isBlank()) {
-                    helper.setFrom(from);
-                }
-                helper.setText(html, true);
-
-                // logo inline (opțional)
-                try {
-                    helper.addInline("logo", new ClassPathResource("mail/logo.png"), "image/png");
-                } catch (Exception ignore) { }
-
-                mailSender.send(mime);
-                log.info("Announcement email sent to {}", rcpt);
-
-                // pauză mică între trimiteri (protejează împotriva throttling-ului)
-                try {
-                    Thread.sleep(SLEEP_MS);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    log.warn("Sleep interrupted while sending announcements");
-                }
-            } catch (Exception e) {
-                log.error("Failed to send announcement to {}: {}", rcpt, e.getMessage(), e);
-            }
-        }
+        // id-ul anunțului face trimiterea idempotentă: o relivrare a evenimentului nu o mai dublează
+        String id = "announcement:" + ev.getId();
+        broadcasts.plan(id, id, from, subject, html, subscribersClient::downloadSubscribers);
     }
 
     private String buildHtml(AnnouncementPublishedEvent ev) {
@@ -0,0 +1,27 @@
+package com.viitorul.email_service.listener;
+
+import com.viitorul.email_service.config.RabbitMQConfig;
+import com.viitorul.email_service.dto.BroadcastChunkMessage;
+import com.viitorul.email_service.service.BroadcastLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bucățile trimiterilor în masă; coada e comună tuturor instanțelor, fiecare ia câte o bucată.
+ * Mesajul se confirmă după ce bucata e trimisă și marcată în registru.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BroadcastChunkListener {
+
+    private final BroadcastLedgerService broadcasts;
+
+    @RabbitListener(queues = RabbitMQConfig.BROADCAST_CHUNK_QUEUE, containerFactory = "broadcastChunkContainerFactory")
+    public void onChunk(BroadcastChunkMessage msg) {
+        log.debug("[Broadcast] bucata {} #{} primită", msg.broadcastId(), msg.chunkNo());
+        broadcasts.deliverChunk(msg);
+    }
+}
@@ -1,28 +1,39 @@
 package com.viitorul.email_service.listener;
 
+import com.viitorul.common.http.InterServiceClient;
+import com.viitorul.email_service.service.RecipientSpool;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
-
-import java.util.Arrays;
-import java.util.List;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 
 @Component
 @RequiredArgsConstructor
 public class SubscribersClient {
 
-    private final RestClient restClient = RestClient.create();
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
-    @Value("${AUTH_BASE_URL:http://auth-service:8081}")
-    private String authBase;
+    private final InterServiceClient authServiceClient;
 
-    public List<String> getSubscribedEmails() {
-        ResponseEntity<String[]> res = restClient.get()
-                .uri(authBase + "/api/auth/subscribers")
-                .retrieve()
-                .toEntity(String[].class);
-        return Arrays.asList(res.getBody() == null ? new String[0] : res.getBody());
+    /**
+     * Abonații, citiți ca flux NDJSON și copiați pe disc pe măsură ce sosesc (vezi {@link RecipientSpool}).
+     * Apelantul închide spool-ul, care își șterge fișierul.
+     */
+    public RecipientSpool downloadSubscribers() {
+        return authServiceClient.call("subscribers", rc -> rc.get()
+                .uri("/api/auth/subscribers/stream")
+                .accept(NDJSON)
+                .exchange((req, res) -> {
+                    HttpStatusCode status = res.getStatusCode();
+                    if (status.is4xxClientError()) {
+                        throw HttpClientErrorException.create(status, res.getStatusText(), res.getHeaders(), null, null);
+                    }
+                    if (status.is5xxServerError()) {
+                        throw HttpServerErrorException.create(status, res.getStatusText(), res.getHeaders(), null, null);
+                    }
+                    return RecipientSpool.fromNdjson(res.getBody());
+                }));
     }
-}
\ No newline at end of file
+}
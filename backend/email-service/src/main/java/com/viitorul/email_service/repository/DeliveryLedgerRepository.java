@@ -0,0 +1,244 @@
+package com.viitorul.email_service.repository;
+
+import com.viitorul.email_service.dto.BroadcastChunkMessage;
+import com.viitorul.email_service.dto.BroadcastProgressDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Operațiile pe registrul de livrări și pe bucăți, direct prin JDBC: se execută pe fiecare destinatar
+ * (din firele de trimitere) sau pe mii de rânduri odată, unde entitățile JPA n-ar aduce nimic.
+ * <p>
+ * Toate momentele vin din ceasul bazei ({@code now()}), ca rezervările să fie comparabile între instanțe.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeliveryLedgerRepository {
+
+    private static final String INSERT_DELIVERY = """
+            INSERT INTO mail_delivery (broadcast_id, recipient, chunk_no, status, attempts, updated_at)
+            VALUES (?, ?, ?, 'PENDING', 0, now())
+            ON CONFLICT DO NOTHING
+            """;
+
+    // două planificări concurente ale aceleiași trimiteri: prima care face commit scrie bucata, a doua nu mai face nimic
+    private static final String INSERT_CHUNK = """
+            INSERT INTO mail_broadcast_chunk (broadcast_id, chunk_no, recipients, status, sent, failed)
+            SELECT ?, ?, count(*), 'PENDING', 0, 0 FROM mail_delivery WHERE broadcast_id = ? AND chunk_no = ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INSERT_BROADCAST = """
+            INSERT INTO mail_broadcast (id, name, from_address, subject, html, status,
+                                        total_recipients, chunk_count, created_at)
+            VALUES (?, ?, ?, ?, ?, 'PREPARING', 0, 0, now())
+            ON CONFLICT DO NOTHING
+            """;
+
+    // totalurile se numără din registru, deci includ și rândurile unei planificări concurente sau întrerupte
+    private static final String MARK_SENDING = """
+            UPDATE mail_broadcast b
+               SET status = 'SENDING', last_progress_at = now(),
+                   total_recipients = (SELECT count(*) FROM mail_delivery d WHERE d.broadcast_id = b.id),
+                   chunk_count      = (SELECT count(*) FROM mail_broadcast_chunk c WHERE c.broadcast_id = b.id)
+             WHERE b.id = ? AND b.status = 'PREPARING'
+            RETURNING b.chunk_count
+            """;
+
+    // aceeași instanță își poate relua propria rezervare (mesaj repus în coadă după o oprire)
+    private static final String CLAIM_CHUNK = """
+            UPDATE mail_broadcast_chunk
+               SET lease_owner = ?, lease_until = now() + make_interval(secs => ?)
+             WHERE broadcast_id = ? AND chunk_no = ? AND status = 'PENDING'
+               AND (lease_until IS NULL OR lease_until < now() OR lease_owner = ?)
+            """;
+
+    private static final String RENEW_LEASE = """
+            UPDATE mail_broadcast_chunk
+               SET lease_until = now() + make_interval(secs => ?)
+             WHERE broadcast_id = ? AND chunk_no = ? AND lease_owner = ?
+            """;
+
+    private static final String TOUCH_BROADCAST =
+            "UPDATE mail_broadcast SET last_progress_at = now() WHERE id = ?";
+
+    private static final String MARK_DELIVERY = """
+            UPDATE mail_delivery
+               SET status = ?, attempts = attempts + 1, updated_at = now(), last_error = ?
+             WHERE broadcast_id = ? AND recipient = ?
+            """;
+
+    private static final String COMPLETE_CHUNK = """
+            UPDATE mail_broadcast_chunk c
+               SET status = 'DONE', completed_at = now(), lease_owner = NULL, lease_until = NULL,
+                   sent   = (SELECT count(*) FROM mail_delivery d
+                              WHERE d.broadcast_id = c.broadcast_id AND d.chunk_no = c.chunk_no AND d.status = 'SENT'),
+                   failed = (SELECT count(*) FROM mail_delivery d
+                              WHERE d.broadcast_id = c.broadcast_id AND d.chunk_no = c.chunk_no AND d.status = 'FAILED')
+             WHERE c.broadcast_id = ? AND c.chunk_no = ?
+            """;
+
+    private static final String COMPLETE_BROADCAST = """
+            UPDATE mail_broadcast b
+               SET status = 'DONE', completed_at = now(), last_progress_at = now()
+             WHERE b.id = ? AND b.status = 'SENDING'
+               AND NOT EXISTS (SELECT 1 FROM mail_broadcast_chunk c WHERE c.broadcast_id = b.id AND c.status <> 'DONE')
+            """;
+
+    // UPDATE-ul blochează rândul: dintre instanțele care caută în același timp, doar una republică
+    private static final String STALLED_CHUNKS = """
+            WITH stalled AS (
+                UPDATE mail_broadcast SET last_progress_at = now()
+                 WHERE status = 'SENDING' AND last_progress_at < now() - make_interval(secs => ?)
+                RETURNING id
+            )
+            SELECT c.broadcast_id, c.chunk_no
+              FROM mail_broadcast_chunk c JOIN stalled s ON s.id = c.broadcast_id
+             WHERE c.status = 'PENDING' AND (c.lease_until IS NULL OR c.lease_until < now())
+             ORDER BY c.broadcast_id, c.chunk_no
+            """;
+
+    // planificări rămase PREPARING (auth-service căzut după toate reîncercările, instanță oprită în timpul
+    // descărcării); momentul încercării e notat, deci o trimitere e reluată cel mult o dată per interval
+    private static final String STALLED_PLANS = """
+            UPDATE mail_broadcast SET last_progress_at = now()
+             WHERE status = 'PREPARING' AND coalesce(last_progress_at, created_at) < now() - make_interval(secs => ?)
+            RETURNING id
+            """;
+
+    private static final String RECENT = """
+            SELECT b.id, b.name, b.status, b.total_recipients, b.chunk_count, b.created_at, b.completed_at,
+                   (SELECT count(*) FROM mail_broadcast_chunk c WHERE c.broadcast_id = b.id AND c.status = 'DONE') AS chunks_done,
+                   d.sent, d.failed
+              FROM mail_broadcast b
+              LEFT JOIN LATERAL (
+                   SELECT count(*) FILTER (WHERE status = 'SENT')   AS sent,
+                          count(*) FILTER (WHERE status = 'FAILED') AS failed
+                     FROM mail_delivery WHERE broadcast_id = b.id
+              ) d ON true
+             ORDER BY b.created_at DESC
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Trimiterea în starea {@code PREPARING}; un rând existent (eveniment relivrat, planificare concurentă)
+     * rămâne neschimbat.
+     */
+    public void createBroadcast(String id, String name, String from, String subject, String html) {
+        jdbcTemplate.update(INSERT_BROADCAST, id, name, from, subject, html);
+    }
+
+    /**
+     * Scrie destinatarii bucății și bucata; adresele deja în registru (repetate în listă sau scrise de o
+     * planificare anterioară) apar o singură dată. Întoarce câți destinatari noi au fost scriși.
+     */
+    public int insertChunk(String broadcastId, int chunkNo, List<String> recipients) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_DELIVERY, recipients, recipients.size(), (ps, rcpt) -> {
+            ps.setString(1, broadcastId);
+            ps.setString(2, rcpt);
+            ps.setInt(3, chunkNo);
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) if (c > 0) inserted++;
+        }
+        jdbcTemplate.update(INSERT_CHUNK, broadcastId, chunkNo, broadcastId, chunkNo);
+        return inserted;
+    }
+
+    /**
+     * Planificarea e completă: bucățile pot fi publicate și preluate. Întoarce numărul de bucăți sau
+     * {@code -1} dacă altă planificare a trecut deja trimiterea în {@code SENDING} (și își publică bucățile).
+     */
+    public int markSending(String broadcastId) {
+        List<Integer> chunks = jdbcTemplate.query(MARK_SENDING, (rs, i) -> rs.getInt(1), broadcastId);
+        return chunks.isEmpty() ? -1 : chunks.get(0);
+    }
+
+    /** {@code false} dacă bucata e terminată sau rezervată de altă instanță. */
+    public boolean claimChunk(String broadcastId, int chunkNo, String owner, Duration lease) {
+        boolean claimed = jdbcTemplate.update(CLAIM_CHUNK, owner, lease.toSeconds(), broadcastId, chunkNo, owner) == 1;
+        if (claimed) jdbcTemplate.update(TOUCH_BROADCAST, broadcastId);
+        return claimed;
+    }
+
+    public void renewLease(String broadcastId, int chunkNo, String owner, Duration lease) {
+        jdbcTemplate.update(RENEW_LEASE, lease.toSeconds(), broadcastId, chunkNo, owner);
+        jdbcTemplate.update(TOUCH_BROADCAST, broadcastId);
+    }
+
+    public void releaseChunk(String broadcastId, int chunkNo, String owner) {
+        jdbcTemplate.update("""
+                UPDATE mail_broadcast_chunk SET lease_owner = NULL, lease_until = NULL
+                 WHERE broadcast_id = ? AND chunk_no = ? AND lease_owner = ?
+                """, broadcastId, chunkNo, owner);
+    }
+
+    /** Destinatarii încă netrimiși ai bucății; cei {@code SENT} dintr-o încercare anterioară nu mai apar. */
+    public List<String> pendingRecipients(String broadcastId, int chunkNo) {
+        return jdbcTemplate.queryForList("""
+                SELECT recipient FROM mail_delivery
+                 WHERE broadcast_id = ? AND chunk_no = ? AND status = 'PENDING'
+                 ORDER BY recipient
+                """, String.class, broadcastId, chunkNo);
+    }
+
+    public void markSent(String broadcastId, String recipient) {
+        jdbcTemplate.update(MARK_DELIVERY, "SENT", null, broadcastId, recipient);
+    }
+
+    public void markFailed(String broadcastId, String recipient, String error) {
+        jdbcTemplate.update(MARK_DELIVERY, "FAILED", error, broadcastId, recipient);
+    }
+
+    public void completeChunk(String broadcastId, int chunkNo) {
+        jdbcTemplate.update(COMPLETE_CHUNK, broadcastId, chunkNo);
+        jdbcTemplate.update(TOUCH_BROADCAST, broadcastId);
+    }
+
+    /** {@code true} doar pentru apelul care a închis ultima bucată. */
+    public boolean completeBroadcastIfDone(String broadcastId) {
+        return jdbcTemplate.update(COMPLETE_BROADCAST, broadcastId) == 1;
+    }
+
+    /** Bucățile nerezervate ale trimiterilor fără progres de {@code stallTimeout}; marchează trimiterile ca atinse. */
+    public List<BroadcastChunkMessage> claimStalledChunks(Duration stallTimeout) {
+        return jdbcTemplate.query(STALLED_CHUNKS,
+                (rs, i) -> new BroadcastChunkMessage(rs.getString("broadcast_id"), rs.getInt("chunk_no")),
+                stallTimeout.toSeconds());
+    }
+
+    /** Trimiterile rămase {@code PREPARING} de cel puțin {@code age}, rezervate pentru încă un interval. */
+    public List<String> claimStalledPlans(Duration age) {
+        return jdbcTemplate.query(STALLED_PLANS, (rs, i) -> rs.getString("id"), age.toSeconds());
+    }
+
+    public int purgeCompletedBefore(Duration retention) {
+        String done = "SELECT id FROM mail_broadcast WHERE status = 'DONE' AND completed_at < now() - make_interval(secs => ?)";
+        long secs = retention.toSeconds();
+        jdbcTemplate.update("DELETE FROM mail_delivery WHERE broadcast_id IN (" + done + ")", secs);
+        jdbcTemplate.update("DELETE FROM mail_broadcast_chunk WHERE broadcast_id IN (" + done + ")", secs);
+        return jdbcTemplate.update("DELETE FROM mail_broadcast WHERE id IN (" + done + ")", secs);
+    }
+
+    public List<BroadcastProgressDTO> recent(int limit) {
+        return jdbcTemplate.query(RECENT, (rs, i) -> {
+            int total = rs.getInt("total_recipients");
+            int sent = rs.getInt("sent");
+            int failed = rs.getInt("failed");
+            return new BroadcastProgressDTO(
+                    rs.getString("id"), rs.getString("name"), rs.getString("status"),
+                    total, sent, failed, Math.max(0, total - sent - failed),
+                    rs.getInt("chunk_count"), rs.getInt("chunks_done"),
+                    rs.getObject("created_at", OffsetDateTime.class),
+                    rs.getObject("completed_at", OffsetDateTime.class));
+        }, limit);
+    }
+}
@@ -0,0 +1,7 @@
+package com.viitorul.email_service.repository;
+
+import com.viitorul.email_service.entity.MailBroadcast;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MailBroadcastRepository extends JpaRepository<MailBroadcast, String> {
+}
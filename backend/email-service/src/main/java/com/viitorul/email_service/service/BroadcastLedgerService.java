@@ -0,0 +1,266 @@
+package com.viitorul.email_service.service;
+
+import com.viitorul.email_service.config.BroadcastLedgerProperties;
+import com.viitorul.email_service.config.RabbitMQConfig;
+import com.viitorul.email_service.dto.BroadcastChunkMessage;
+import com.viitorul.email_service.dto.BroadcastProgressDTO;
+import com.viitorul.email_service.entity.MailBroadcast;
+import com.viitorul.email_service.listener.SubscribersClient;
+import com.viitorul.email_service.repository.DeliveryLedgerRepository;
+import com.viitorul.email_service.repository.MailBroadcastRepository;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Trimiterile în masă cu registru de livrări: fiecare trimitere e împărțită în bucăți, fiecare destinatar
+ * are un rând (trimitere, adresă) care devine {@code SENT} imediat după ce serverul SMTP a acceptat mesajul.
+ * <ul>
+ *   <li>{@link #plan}: listenerul evenimentului scrie destinatarii și bucățile, apoi publică câte un mesaj
+ *   per bucată pe {@code mail.broadcast.chunk}. Un eveniment livrat din nou găsește trimiterea deja
+ *   planificată și nu mai face nimic; două planificări simultane scriu aceleași rânduri o singură dată.</li>
+ *   <li>{@link #deliverChunk}: orice instanță care preia mesajul rezervă bucata (lease în DB), trimite doar
+ *   destinatarii încă {@code PENDING} și marchează bucata terminată.</li>
+ *   <li>{@link #republishStalled}: bucățile unei trimiteri fără progres (instanță căzută, mesaj pierdut)
+ *   sunt republicate.</li>
+ *   <li>{@link #resumeStalledPlans}: o trimitere rămasă {@code PREPARING} (eveniment respins după toate
+ *   reîncercările) e planificată din nou din registru.</li>
+ * </ul>
+ * Garanția e „cel mult o dată per destinatar”, cu o singură excepție: o cădere între acceptarea SMTP și
+ * scrierea în registru retrimite acel mesaj.
+ */
+@Slf4j
+@Service
+public class BroadcastLedgerService {
+
+    private final MailBroadcastRepository broadcastRepo;
+    private final DeliveryLedgerRepository ledger;
+    private final MailDispatchEngine dispatchEngine;
+    private final BulkMailTemplates mailTemplates;
+    private final RabbitTemplate rabbitTemplate;
+    private final SubscribersClient subscribersClient;
+    private final BroadcastLedgerProperties props;
+    private final TransactionTemplate tx;
+
+    // bucățile aceleiași trimiteri vin de obicei una după alta; șablonul codat se refolosește
+    private volatile CachedTemplate lastTemplate;
+
+    private record CachedTemplate(String broadcastId, BulkMailTemplates.Rendered mail) {}
+
+    public BroadcastLedgerService(MailBroadcastRepository broadcastRepo,
+                                  DeliveryLedgerRepository ledger,
+                                  MailDispatchEngine dispatchEngine,
+                                  BulkMailTemplates mailTemplates,
+                                  RabbitTemplate rabbitTemplate,
+                                  SubscribersClient subscribersClient,
+                                  BroadcastLedgerProperties props,
+                                  PlatformTransactionManager txManager) {
+        this.broadcastRepo = broadcastRepo;
+        this.ledger = ledger;
+        this.dispatchEngine = dispatchEngine;
+        this.mailTemplates = mailTemplates;
+        this.rabbitTemplate = rabbitTemplate;
+        this.subscribersClient = subscribersClient;
+        this.props = props;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * Scrie trimiterea în registru și publică bucățile. Destinatarii se descarcă doar dacă trimiterea
+     * nu e deja planificată; o planificare întreruptă (status {@code PREPARING}) se reia peste rândurile
+     * deja scrise, fără să le dubleze.
+     * <p>
+     * Rândul trimiterii e scris înaintea descărcării: dacă lista de abonați nu poate fi obținută
+     * (auth-service căzut), excepția ajunge la listener, iar trimiterea rămâne {@code PREPARING} până o
+     * reia listenerul (reîncercări) sau {@link #resumeStalledPlans}.
+     */
+    public void plan(String id, String name, String from, String subject, String html,
+                     Supplier<RecipientSpool> recipients) throws IOException {
+        MailBroadcast existing = broadcastRepo.findById(id).orElse(null);
+        if (existing != null && existing.getStatus() != MailBroadcast.Status.PREPARING) {
+            log.info("[Broadcast] {} deja planificat ({}); mesaj duplicat ignorat", id, existing.getStatus());
+            return;
+        }
+        ledger.createBroadcast(id, name, from, subject, html);
+
+        AtomicInteger inserted = new AtomicInteger();
+        try (RecipientSpool spool = recipients.get()) {
+            // o tranzacție per bucată: memoria și durata tranzacției nu cresc cu lista
+            AtomicInteger chunkNo = new AtomicInteger();
+            spool.forEachChunk(props.getChunkSize(), (offset, chunk) -> {
+                int no = chunkNo.getAndIncrement();
+                Integer n = tx.execute(s -> ledger.insertChunk(id, no, chunk));
+                inserted.addAndGet(n == null ? 0 : n);
+                return true;
+            });
+        }
+
+        int chunks = ledger.markSending(id);
+        if (chunks < 0) {
+            log.info("[Broadcast] {} planificat în paralel de alt consumator", id);
+            return;
+        }
+        if (chunks == 0) {
+            ledger.completeBroadcastIfDone(id);
+            log.info("[Broadcast] {} încheiat: nu există abonați.", id);
+            return;
+        }
+
+        // dacă publicarea cade la jumătate, bucățile rămase sunt reluate de republishStalled
+        for (int no = 0; no < chunks; no++) publish(new BroadcastChunkMessage(id, no));
+        log.info("[Broadcast] {} planificat: {} destinatari noi în {} bucăți", id, inserted.get(), chunks);
+    }
+
+    /**
+     * Livrează o bucată, dacă nu e terminată sau rezervată de altă instanță.
+     *
+     * @throws IllegalStateException dacă trimiterea a fost întreruptă de oprirea aplicației, ca mesajul
+     *                               să fie repus în coadă
+     */
+    public void deliverChunk(BroadcastChunkMessage msg) {
+        String id = msg.broadcastId();
+        int no = msg.chunkNo();
+        String owner = props.getInstanceId();
+
+        if (!ledger.claimChunk(id, no, owner, props.getLease())) {
+            log.debug("[Broadcast] {} #{} terminată sau preluată de altă instanță", id, no);
+            return;
+        }
+
+        DispatchJob job;
+        try {
+            MailBroadcast b = broadcastRepo.findById(id).orElse(null);
+            if (b == null) {
+                log.warn("[Broadcast] {} #{}: trimiterea nu mai există în registru", id, no);
+                return;
+            }
+            BulkMailTemplates.Rendered mail = template(b);
+            List<String> pending = ledger.pendingRecipients(id, no);
+            job = dispatchEngine.dispatch(b.getName() + " #" + no, pending, mail::forRecipient,
+                    new LedgerWriter(id, no, owner));
+        } catch (MessagingException | DataAccessException e) {
+            // rezervarea expiră singură; bucata e republicată dacă trimiterea nu mai progresează
+            log.error("[Broadcast] {} #{} eșuată: {}", id, no, e.getMessage(), e);
+            return;
+        }
+
+        if (job.isCancelled()) {
+            releaseQuietly(id, no, owner);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Bucata " + id + " #" + no + " întreruptă; se reia din registru");
+            }
+            return;
+        }
+
+        ledger.completeChunk(id, no);
+        if (ledger.completeBroadcastIfDone(id)) {
+            log.info("[Broadcast] {} terminat", id);
+        }
+    }
+
+    /** Bucățile trimiterilor care n-au mai progresat de {@code stall-timeout}. */
+    @Scheduled(fixedDelayString = "${app.mail.broadcast.sweep-ms:60000}",
+            initialDelayString = "${app.mail.broadcast.sweep-ms:60000}")
+    public void republishStalled() {
+        List<BroadcastChunkMessage> stalled = ledger.claimStalledChunks(props.getStallTimeout());
+        if (stalled.isEmpty()) return;
+        stalled.forEach(this::publish);
+        log.warn("[Broadcast] {} bucăți republicate (trimiteri fără progres de {})", stalled.size(), props.getStallTimeout());
+    }
+
+    /**
+     * Planifică din nou trimiterile rămase {@code PREPARING} de {@code plan-retry-after}, cu abonații
+     * descărcați acum. O încercare eșuată e reluată la următorul interval.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.broadcast.sweep-ms:60000}",
+            initialDelayString = "${app.mail.broadcast.sweep-ms:60000}")
+    public void resumeStalledPlans() {
+        for (String id : ledger.claimStalledPlans(props.getPlanRetryAfter())) {
+            MailBroadcast b = broadcastRepo.findById(id).orElse(null);
+            if (b == null) continue;
+            log.warn("[Broadcast] {} rămas în planificare, reiau", id);
+            try {
+                plan(id, b.getName(), b.getFromAddress(), b.getSubject(), b.getHtml(),
+                        subscribersClient::downloadSubscribers);
+            } catch (IOException | RuntimeException e) {
+                log.error("[Broadcast] {} tot nu poate fi planificat, reîncerc peste {}: {}",
+                        id, props.getPlanRetryAfter(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.broadcast.purge-cron:0 30 4 * * *}")
+    public void purgeCompleted() {
+        Integer removed = tx.execute(s -> ledger.purgeCompletedBefore(props.getRetention()));
+        if (removed != null && removed > 0) {
+            log.info("[Broadcast] Registru curățat: {} trimiteri mai vechi de {}", removed, props.getRetention());
+        }
+    }
+
+    public List<BroadcastProgressDTO> recentBroadcasts(int limit) {
+        return ledger.recent(limit);
+    }
+
+    private void publish(BroadcastChunkMessage msg) {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, RabbitMQConfig.BROADCAST_CHUNK_ROUTING_KEY, msg);
+    }
+
+    private BulkMailTemplates.Rendered template(MailBroadcast b) throws MessagingException {
+        CachedTemplate cached = lastTemplate;
+        if (cached != null && cached.broadcastId().equals(b.getId())) return cached.mail();
+        BulkMailTemplates.Rendered mail = mailTemplates.render(b.getFromAddress(), b.getSubject(), b.getHtml());
+        lastTemplate = new CachedTemplate(b.getId(), mail);
+        return mail;
+    }
+
+    private void releaseQuietly(String id, int no, String owner) {
+        try {
+            ledger.releaseChunk(id, no, owner);
+        } catch (DataAccessException e) {
+            log.warn("[Broadcast] {} #{}: rezervarea nu a putut fi eliberată: {}", id, no, e.getMessage());
+        }
+    }
+
+    /** Scrie fiecare rezultat în registru și reînnoiește rezervarea la fiecare {@code renew-every} livrări. */
+    private final class LedgerWriter implements MailDispatchEngine.DeliveryListener {
+
+        private final String broadcastId;
+        private final int chunkNo;
+        private final String owner;
+        private final AtomicInteger done = new AtomicInteger();
+
+        LedgerWriter(String broadcastId, int chunkNo, String owner) {
+            this.broadcastId = broadcastId;
+            this.chunkNo = chunkNo;
+            this.owner = owner;
+        }
+
+        @Override
+        public void sent(String recipient) {
+            ledger.markSent(broadcastId, recipient);
+            progress();
+        }
+
+        @Override
+        public void failed(String recipient, Exception error) {
+            ledger.markFailed(broadcastId, recipient, String.valueOf(error.getMessage()));
+            progress();
+        }
+
+        private void progress() {
+            if (done.incrementAndGet() % Math.max(1, props.getRenewEvery()) == 0) {
+                ledger.renewLease(broadcastId, chunkNo, owner, props.getLease());
+            }
+        }
+    }
+}
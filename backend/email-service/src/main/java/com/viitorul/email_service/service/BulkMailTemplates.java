@@ -0,0 +1,109 @@
+package com.viitorul.email_service.service;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.SharedByteArrayInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Mesajele trimise în masă: corpul multipart (HTML + logo inline) e construit și codat o singură dată
+ * per trimitere, apoi fiecare destinatar primește o copie care partajează aceiași octeți și diferă doar
+ * prin antetele {@code To}, {@code Message-ID} și {@code Date}.
+ * <p>
+ * Logo-ul e citit din classpath o singură dată, la pornire.
+ */
+@Slf4j
+@Component
+public class BulkMailTemplates {
+
+    public static final String LOGO_CID = "logo";
+    private static final String LOGO_PATH = "mail/logo.png";
+
+    private final Session session;
+    private final byte[] logo; // null dacă lipsește din classpath
+
+    public BulkMailTemplates(JavaMailSender mailSender) {
+        this.session = mailSender instanceof JavaMailSenderImpl impl
+                ? impl.getSession()
+                : Session.getInstance(new Properties());
+        this.logo = loadLogo();
+    }
+
+    /** Construiește și codează mesajul comun; {@code from} gol => expeditorul implicit al contului SMTP. */
+    public Rendered render(String from, String subject, String html) throws MessagingException {
+        MimeMessage mime = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setSubject(subject);
+        if (from != null && !from.isBlank()) helper.setFrom(from);
+        helper.setText(html, true);
+        if (logo != null) helper.addInline(LOGO_CID, new ByteArrayResource(logo), "image/png");
+
+        mime.saveChanges();
+        mime.removeHeader("Message-ID"); // fiecare copie își primește propriul ID
+        ByteArrayOutputStream out = new ByteArrayOutputStream(html.length() * 2 + (logo == null ? 0 : logo.length * 2));
+        try {
+            mime.writeTo(out);
+        } catch (IOException e) {
+            throw new MessagingException("Cannot render bulk message", e);
+        }
+        return new Rendered(session, out.toByteArray());
+    }
+
+    private static byte[] loadLogo() {
+        try (InputStream in = new ClassPathResource(LOGO_PATH).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            log.warn("[Mail] {} indisponibil, mesajele pleacă fără logo: {}", LOGO_PATH, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Mesajul codat o dată; {@link #forRecipient} doar parsează antetele și adaugă destinatarul. */
+    public static final class Rendered {
+
+        private final Session session;
+        private final byte[] bytes;
+
+        private Rendered(Session session, byte[] bytes) {
+            this.session = session;
+            this.bytes = bytes;
+        }
+
+        public MimeMessage forRecipient(String recipient) throws MessagingException {
+            return new RecipientCopy(session, new SharedByteArrayInputStream(bytes), recipient);
+        }
+
+        public int size() {
+            return bytes.length;
+        }
+    }
+
+    /** Corpul rămâne cel din șablon (nemodificat); {@link #saveChanges} nu îl re-codează. */
+    private static final class RecipientCopy extends MimeMessage {
+
+        RecipientCopy(Session session, SharedByteArrayInputStream body, String recipient) throws MessagingException {
+            super(session, body);
+            // strict și exact o adresă: o valoare cu virgule din lista de abonați nu se transformă în mai mulți destinatari
+            setRecipient(Message.RecipientType.TO, new InternetAddress(recipient, true));
+        }
+
+        @Override
+        public void saveChanges() throws MessagingException {
+            if (getHeader("Message-ID") == null) updateMessageID();
+        }
+    }
+}
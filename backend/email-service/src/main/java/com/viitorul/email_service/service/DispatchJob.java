@@ -0,0 +1,86 @@
+package com.viitorul.email_service.service;
+
+import com.viitorul.email_service.dto.DispatchProgressDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * O trimitere în masă: starea fiecărui destinatar (un octet per poziție în listă, deci memorie mică și la
+ * 100k abonați), contoarele agregate și primele {@link #MAX_FAILED_KEPT} adrese eșuate.
+ * Un job acoperă o bucată dintr-o trimitere; starea durabilă e în registrul de livrări
+ * (vezi {@link BroadcastLedgerService}).
+ */
+public class DispatchJob {
+
+    public enum RecipientStatus { PENDING, SENT, FAILED, SKIPPED }
+
+    static final int MAX_FAILED_KEPT = 1000;
+    private static final RecipientStatus[] STATUSES = RecipientStatus.values();
+
+    private final String id = UUID.randomUUID().toString();
+    private final String name;
+    private final byte[] statuses; // ordinal RecipientStatus; fiecare poziție e scrisă de un singur fir
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<String> failedRecipients = new ArrayList<>();
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile boolean cancelled;
+
+    DispatchJob(String name, int total) {
+        this.name = name;
+        this.statuses = new byte[total];
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public int getTotal() { return statuses.length; }
+    public int getSent() { return sent.get(); }
+    public int getFailed() { return failed.get(); }
+    public boolean isFinished() { return finishedAt != null; }
+    public boolean isCancelled() { return cancelled; }
+
+    public RecipientStatus statusOf(int index) {
+        return STATUSES[statuses[index]];
+    }
+
+    public List<String> failedRecipients() {
+        synchronized (failedRecipients) {
+            return List.copyOf(failedRecipients);
+        }
+    }
+
+    public DispatchProgressDTO toProgress() {
+        int done = sent.get() + failed.get();
+        return new DispatchProgressDTO(id, name, getTotal(), sent.get(), failed.get(),
+                Math.max(0, getTotal() - done), startedAt, finishedAt, cancelled);
+    }
+
+    void markSent(int index) {
+        statuses[index] = (byte) RecipientStatus.SENT.ordinal();
+        sent.incrementAndGet();
+    }
+
+    void markFailed(int index, String recipient) {
+        statuses[index] = (byte) RecipientStatus.FAILED.ordinal();
+        failed.incrementAndGet();
+        synchronized (failedRecipients) {
+            if (failedRecipients.size() < MAX_FAILED_KEPT) failedRecipients.add(recipient);
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void finish() {
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] == RecipientStatus.PENDING.ordinal()) statuses[i] = (byte) RecipientStatus.SKIPPED.ordinal();
+        }
+        finishedAt = Instant.now();
+    }
+}
@@ -0,0 +1,179 @@
+package com.viitorul.email_service.service;
+
+import com.viitorul.email_service.config.MailDispatchProperties;
+import com.viitorul.email_service.dto.DispatchProgressDTO;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trimiterile în masă: {@code threads} fire iau pe rând următorul destinatar, fiecare mesaj consumă un
+ * token din limitatorul comun (în loc de un {@code Thread.sleep} fix) și pleacă pe una din conexiunile
+ * SMTP din pool. Starea fiecărui destinatar e ținută în {@link DispatchJob} și, opțional, raportată unui
+ * {@link DeliveryListener} (registrul persistent din {@link BroadcastLedgerService}).
+ * <p>
+ * {@link #dispatch} blochează până la final, deci mesajul RabbitMQ se confirmă tot după trimitere.
+ */
+@Slf4j
+@Service
+public class MailDispatchEngine {
+
+    /** Construiește mesajul pentru un destinatar; o excepție marchează doar acel destinatar ca eșuat. */
+    @FunctionalInterface
+    public interface MessageFactory {
+        MimeMessage create(String recipient) throws Exception;
+    }
+
+    /** Rezultatul fiecărui destinatar, apelat din firul care l-a trimis. */
+    public interface DeliveryListener {
+        DeliveryListener NONE = new DeliveryListener() { };
+
+        default void sent(String recipient) { }
+
+        default void failed(String recipient, Exception error) { }
+    }
+
+    private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool; // null dacă sender-ul nu e JavaMailSenderImpl
+    private final TokenBucket rateLimiter;
+    private final ExecutorService workers;
+    private final int threads;
+    private final int historySize;
+    private final Duration connectionIdleTimeout;
+    private final Deque<DispatchJob> history = new ArrayDeque<>();
+
+    public MailDispatchEngine(JavaMailSender mailSender, MailDispatchProperties props) {
+        this.mailSender = mailSender;
+        this.transportPool = mailSender instanceof JavaMailSenderImpl impl
+                ? new SmtpTransportPool(impl, props.getConnections())
+                : null;
+        this.rateLimiter = new TokenBucket(props.getRatePerSecond(), props.getBurst());
+        this.threads = Math.max(1, props.getThreads());
+        this.historySize = Math.max(1, props.getHistorySize());
+        this.connectionIdleTimeout = props.getConnectionIdleTimeout();
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "mail-dispatch-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public DispatchJob dispatch(String name, List<String> recipients, MessageFactory factory) {
+        return dispatch(name, recipients, factory, DeliveryListener.NONE);
+    }
+
+    public DispatchJob dispatch(String name, List<String> recipients, MessageFactory factory, DeliveryListener listener) {
+        DispatchJob job = start(name, recipients.size());
+        try {
+            send(job, recipients, factory, listener);
+        } finally {
+            finish(job);
+        }
+        return job;
+    }
+
+    public List<DispatchProgressDTO> recentJobs() {
+        synchronized (history) {
+            return history.stream().map(DispatchJob::toProgress).toList();
+        }
+    }
+
+    /** Conexiunile SMTP rămân deschise între bucățile unei trimiteri; se închid doar după o pauză. */
+    @Scheduled(fixedDelayString = "${app.mail.dispatch.idle-check-ms:30000}",
+            initialDelayString = "${app.mail.dispatch.idle-check-ms:30000}")
+    public void closeIdleConnections() {
+        if (transportPool != null) transportPool.closeIdle(connectionIdleTimeout);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+        if (transportPool != null) transportPool.close();
+    }
+
+    private DispatchJob start(String name, int total) {
+        DispatchJob job = new DispatchJob(name, total);
+        remember(job);
+        log.info("[Dispatch] {} pornit: {} destinatari (job {})", name, total, job.getId());
+        return job;
+    }
+
+    private void send(DispatchJob job, List<String> recipients, MessageFactory factory, DeliveryListener listener) {
+        AtomicInteger cursor = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>(threads);
+        for (int i = 0; i < Math.min(threads, recipients.size()); i++) {
+            running.add(workers.submit(() -> work(job, recipients, cursor, factory, listener)));
+        }
+        try {
+            for (Future<?> f : running) f.get();
+        } catch (InterruptedException e) {
+            job.cancel();
+            running.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            job.cancel();
+            log.error("[Dispatch] {} oprit: {}", job.getName(), e.getCause().toString(), e.getCause());
+        }
+    }
+
+    private void finish(DispatchJob job) {
+        job.finish();
+        DispatchProgressDTO p = job.toProgress();
+        log.info("[Dispatch] {} terminat în {}s: {} trimise, {} eșuate, {} netrimise",
+                job.getName(), Duration.between(p.startedAt(), p.finishedAt()).toSeconds(),
+                p.sent(), p.failed(), p.pending());
+    }
+
+    private void work(DispatchJob job, List<String> recipients, AtomicInteger cursor,
+                      MessageFactory factory, DeliveryListener listener) {
+        int i;
+        while (!job.isCancelled() && (i = cursor.getAndIncrement()) < recipients.size()) {
+            String rcpt = recipients.get(i);
+            Exception error = null;
+            try {
+                rateLimiter.acquire();
+                MimeMessage mime = factory.create(rcpt);
+                if (transportPool != null) transportPool.send(mime);
+                else mailSender.send(mime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                error = e;
+            }
+            // în afara try: o eroare a listenerului oprește jobul, nu transformă un mesaj trimis în eșuat
+            if (error == null) {
+                job.markSent(i);
+                listener.sent(rcpt);
+                log.debug("[Dispatch] {} trimis către {}", job.getName(), rcpt);
+            } else {
+                job.markFailed(i, rcpt);
+                listener.failed(rcpt, error);
+                log.error("[Dispatch] {} eșuat către {}: {}", job.getName(), rcpt, error.getMessage());
+            }
+        }
+    }
+
+    private void remember(DispatchJob job) {
+        synchronized (history) {
+            history.addFirst(job);
+            while (history.size() > historySize) history.removeLast();
+        }
+    }
+}
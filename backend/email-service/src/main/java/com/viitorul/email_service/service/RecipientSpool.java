@@ -0,0 +1,92 @@
+package com.viitorul.email_service.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lista de destinatari ținută într-un fișier temporar (o adresă per linie), nu în memorie.
+ * <p>
+ * Fluxul NDJSON de la auth-service e copiat aici cât de repede vine, deci cursorul din DB și conexiunea
+ * HTTP se închid imediat; fișierul e apoi citit în bucăți de câte {@code chunkSize} și scris în
+ * registrul de livrări, de unde pleacă trimiterea (care poate dura ore, din cauza limitei de rată).
+ */
+public final class RecipientSpool implements AutoCloseable {
+
+    /** Primește o bucată și poziția primului ei destinatar; {@code false} oprește parcurgerea. */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        boolean accept(int offset, List<String> chunk);
+    }
+
+    private static final JsonFactory JSON = JsonFactory.builder().build();
+
+    private final Path file;
+    private final int size;
+
+    private RecipientSpool(Path file, int size) {
+        this.file = file;
+        this.size = size;
+    }
+
+    /** Citește NDJSON (un șir JSON per linie); liniile goale și adresele pe mai multe rânduri sunt ignorate. */
+    public static RecipientSpool fromNdjson(InputStream in) throws IOException {
+        Path file = Files.createTempFile("recipients-", ".txt");
+        int count = 0;
+        try (JsonParser parser = JSON.createParser(in);
+             BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.VALUE_STRING) continue;
+                String email = parser.getText().trim();
+                if (email.isEmpty() || email.indexOf('\n') >= 0 || email.indexOf('\r') >= 0) continue;
+                out.write(email);
+                out.newLine();
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new RecipientSpool(file, count);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEachChunk(int chunkSize, ChunkConsumer consumer) throws IOException {
+        int max = Math.max(1, chunkSize);
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(Math.min(max, size));
+            int offset = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == max) {
+                    if (!consumer.accept(offset, List.copyOf(chunk))) return;
+                    offset += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) consumer.accept(offset, List.copyOf(chunk));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignore) { }
+    }
+}
@@ -0,0 +1,128 @@
+package com.viitorul.email_service.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Maximum {@code size} conexiuni SMTP deschise, refolosite de la un mesaj la altul
+ * (fără handshake TCP/TLS/AUTH pentru fiecare destinatar, ca în {@code JavaMailSender.send}).
+ * <p>
+ * O conexiune refolosită poate fi închisă între timp de server; atunci mesajul se reîncearcă o singură
+ * dată pe o conexiune nouă. Refuzurile de destinatar ({@link SendFailedException}) nu se reîncearcă.
+ * Conexiunile rămân deschise între trimiteri; {@link #closeIdle(Duration)} le închide pe cele nefolosite.
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl sender;
+    private final Semaphore permits;
+    private final LinkedBlockingQueue<Idle> idle = new LinkedBlockingQueue<>();
+
+    /** Conexiune liberă și momentul ({@code System.nanoTime}) în care a fost pusă înapoi. */
+    private record Idle(Transport transport, long since) {}
+
+    public SmtpTransportPool(JavaMailSenderImpl sender, int size) {
+        this.sender = sender;
+        this.permits = new Semaphore(Math.max(1, size), true);
+    }
+
+    public void send(MimeMessage message) throws MessagingException, InterruptedException {
+        permits.acquire();
+        try {
+            if (message.getSentDate() == null) message.setSentDate(new Date());
+            message.saveChanges();
+
+            Idle reused = idle.poll();
+            Transport transport = reused == null ? null : reused.transport();
+            if (transport != null) {
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                    giveBack(transport);
+                    return;
+                } catch (SendFailedException e) {
+                    giveBack(transport);
+                    throw e;
+                } catch (MessagingException e) {
+                    log.debug("[SMTP] Conexiune refolosită căzută, reconectare: {}", e.toString());
+                    closeQuietly(transport);
+                } catch (RuntimeException e) {
+                    // starea conexiunii e necunoscută: nu o mai punem înapoi, dar nici nu o lăsăm deschisă
+                    closeQuietly(transport);
+                    throw e;
+                }
+            }
+
+            transport = connect();
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                giveBack(transport);
+                throw e;
+            } catch (MessagingException | RuntimeException e) {
+                closeQuietly(transport);
+                throw e;
+            }
+            giveBack(transport);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Închide conexiunile libere de mai mult de {@code maxIdle}; cele în uz rămân valabile și se întorc în pool. */
+    public void closeIdle(Duration maxIdle) {
+        long cutoff = System.nanoTime() - maxIdle.toNanos();
+        List<Transport> stale = new ArrayList<>();
+        idle.removeIf(i -> {
+            if (i.since() - cutoff > 0) return false;
+            stale.add(i.transport());
+            return true;
+        });
+        stale.forEach(SmtpTransportPool::closeQuietly);
+        if (!stale.isEmpty()) log.debug("[SMTP] {} conexiuni inactive închise", stale.size());
+    }
+
+    @Override
+    public void close() {
+        Idle i;
+        while ((i = idle.poll()) != null) closeQuietly(i.transport());
+    }
+
+    private void giveBack(Transport transport) {
+        idle.offer(new Idle(transport, System.nanoTime()));
+    }
+
+    // aceleași credențiale/protocol ca JavaMailSenderImpl.connectTransport()/getTransport()
+    private Transport connect() throws MessagingException {
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) password = null;
+        }
+        String protocol = sender.getProtocol();
+        if (protocol == null) {
+            protocol = sender.getSession().getProperty("mail.transport.protocol");
+            if (protocol == null) protocol = JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        }
+        Transport transport = sender.getSession().getTransport(protocol);
+        transport.connect(sender.getHost(), sender.getPort(), username, password);
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ignore) { }
+    }
+}
@@ -0,0 +1,37 @@
+package com.viitorul.email_service.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitator „token bucket”: {@code ratePerSecond} tokeni pe secundă, maximum {@code burst} acumulați.
+ * <p>
+ * Fiecare apel își rezervă tokenul sub lock (soldul poate deveni negativ) și apoi așteaptă în afara
+ * lock-ului exact cât durează până îi vine rândul, deci firele sunt servite în ordinea cererii.
+ */
+public final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be > 0");
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+}
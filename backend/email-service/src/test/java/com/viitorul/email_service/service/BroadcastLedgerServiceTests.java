@@ -0,0 +1,269 @@
+package com.viitorul.email_service.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.viitorul.email_service.config.RabbitMQConfig;
+import com.viitorul.email_service.dto.BroadcastChunkMessage;
+import com.viitorul.email_service.dto.BroadcastProgressDTO;
+import com.viitorul.email_service.listener.SubscribersClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Registrul de livrări pe PostgreSQL, cu SMTP local (GreenMail) și RabbitMQ înlocuit: planificare,
+ * livrare, relivrarea aceleiași bucăți, reluarea bucăților unei instanțe căzute, planificări concurente
+ * și reluarea unei planificări abandonate.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.dispatch.rate-per-second=1000",
+        "app.mail.dispatch.burst=100",
+        "app.mail.broadcast.chunk-size=2",
+        "app.mail.broadcast.sweep-ms=3600000"
+})
+class BroadcastLedgerServiceTests {
+
+    private static final String FROM = "noreply@example.com";
+    private static final String SUBJECT = "Noutăți ACS Viitorul Răchiteni";
+    private static final String HTML = "<p>Echipa a câștigat cu 3-1.</p>";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @DynamicPropertySource
+    static void smtp(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> ServerSetupTest.SMTP.getPort());
+    }
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @MockBean
+    private SubscribersClient subscribersClient;
+
+    @Autowired
+    private BroadcastLedgerService broadcasts;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String id;
+
+    @BeforeEach
+    void newBroadcast() {
+        id = "test:" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM mail_delivery WHERE broadcast_id = ?", id);
+        jdbc.update("DELETE FROM mail_broadcast_chunk WHERE broadcast_id = ?", id);
+        jdbc.update("DELETE FROM mail_broadcast WHERE id = ?", id);
+    }
+
+    @Test
+    void deliversEveryRecipientOnceAcrossRedeliveryAndStalledChunks() throws Exception {
+        AtomicInteger downloads = new AtomicInteger();
+        Supplier<RecipientSpool> subscribers = () -> {
+            downloads.incrementAndGet();
+            return spool(5);
+        };
+
+        broadcasts.plan(id, id, FROM, SUBJECT, HTML, subscribers);
+        assertEquals(List.of(chunk(0), chunk(1), chunk(2)), published());
+
+        // evenimentul livrat din nou: trimiterea e deja planificată, abonații nu se mai descarcă
+        clearInvocations(rabbitTemplate);
+        broadcasts.plan(id, id, FROM, SUBJECT, HTML, subscribers);
+        assertEquals(1, downloads.get());
+        assertEquals(List.of(), published());
+
+        broadcasts.deliverChunk(chunk(0));
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 2));
+
+        // ack pierdut: bucata e terminată, nimic nu pleacă din nou
+        broadcasts.deliverChunk(chunk(0));
+        assertEquals(2, greenMail.getReceivedMessages().length);
+
+        // instanța care a preluat bucata 1 a căzut; trimiterea nu mai progresează
+        jdbc.update("UPDATE mail_broadcast_chunk SET lease_owner = 'dead', lease_until = now() - interval '1 minute' "
+                + "WHERE broadcast_id = ? AND chunk_no = 1", id);
+        jdbc.update("UPDATE mail_broadcast SET last_progress_at = now() - interval '1 hour' WHERE id = ?", id);
+
+        clearInvocations(rabbitTemplate);
+        broadcasts.republishStalled();
+        assertEquals(List.of(chunk(1), chunk(2)), published());
+
+        // trecerea a atins progresul: imediat după, nimic de republicat
+        clearInvocations(rabbitTemplate);
+        broadcasts.republishStalled();
+        assertEquals(List.of(), published());
+
+        broadcasts.deliverChunk(chunk(1));
+        broadcasts.deliverChunk(chunk(2));
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 5));
+        assertEquals(5, greenMail.getReceivedMessages().length);
+
+        BroadcastProgressDTO progress = progress();
+        assertEquals("DONE", progress.status());
+        assertEquals(5, progress.total());
+        assertEquals(5, progress.sent());
+        assertEquals(0, progress.failed());
+        assertEquals(3, progress.chunksDone());
+    }
+
+    @Test
+    void concurrentPlansOfTheSameEventWriteTheLedgerOnce() throws Exception {
+        // ambii consumatori trec de verificarea inițială înainte ca vreunul să scrie bucățile
+        CyclicBarrier bothDownloading = new CyclicBarrier(2);
+        Supplier<RecipientSpool> subscribers = () -> {
+            try {
+                bothDownloading.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return spool(5);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = pool.submit(() -> {
+                broadcasts.plan(id, id, FROM, SUBJECT, HTML, subscribers);
+                return null;
+            });
+            Future<?> b = pool.submit(() -> {
+                broadcasts.plan(id, id, FROM, SUBJECT, HTML, subscribers);
+                return null;
+            });
+            a.get(30, TimeUnit.SECONDS);
+            b.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(5, count("SELECT count(*) FROM mail_delivery WHERE broadcast_id = ?"));
+        assertEquals(3, count("SELECT count(*) FROM mail_broadcast_chunk WHERE broadcast_id = ?"));
+        assertEquals(List.of(chunk(0), chunk(1), chunk(2)), published());
+
+        BroadcastProgressDTO progress = progress();
+        assertEquals("SENDING", progress.status());
+        assertEquals(5, progress.total());
+        assertEquals(3, progress.chunks());
+    }
+
+    @Test
+    void failedSubscriberDownloadLeavesAResumablePlan() throws Exception {
+        Supplier<RecipientSpool> authDown = () -> {
+            throw new ResourceAccessException("auth-service indisponibil");
+        };
+
+        assertThrows(ResourceAccessException.class, () -> broadcasts.plan(id, id, FROM, SUBJECT, HTML, authDown));
+        assertEquals("PREPARING", progress().status());
+        assertEquals(List.of(), published());
+
+        broadcasts.plan(id, id, FROM, SUBJECT, HTML, () -> spool(3));
+        assertEquals(List.of(chunk(0), chunk(1)), published());
+        assertEquals("SENDING", progress().status());
+    }
+
+    @Test
+    void planAbandonedAfterAllRetriesIsResumedFromTheLedger() throws Exception {
+        when(subscribersClient.downloadSubscribers()).thenAnswer(inv -> spool(3));
+
+        // listenerul a epuizat reîncercările: mesajul e respins, trimiterea rămâne PREPARING
+        assertThrows(ResourceAccessException.class, () -> broadcasts.plan(id, id, FROM, SUBJECT, HTML, () -> {
+            throw new ResourceAccessException("auth-service indisponibil");
+        }));
+
+        // încă prea recentă: poate fi în reîncercări la listener
+        broadcasts.resumeStalledPlans();
+        assertEquals("PREPARING", progress().status());
+        assertEquals(List.of(), published());
+
+        jdbc.update("UPDATE mail_broadcast SET created_at = now() - interval '1 hour' WHERE id = ?", id);
+        broadcasts.resumeStalledPlans();
+        assertEquals(List.of(chunk(0), chunk(1)), published());
+        BroadcastProgressDTO progress = progress();
+        assertEquals("SENDING", progress.status());
+        assertEquals(3, progress.total());
+    }
+
+    private BroadcastChunkMessage chunk(int no) {
+        return new BroadcastChunkMessage(id, no);
+    }
+
+    /** Bucățile publicate pentru trimiterea testului, în ordine (alte trimiteri din baza de date sunt ignorate). */
+    private List<BroadcastChunkMessage> published() {
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(rabbitTemplate, atLeast(0)).convertAndSend(eq(RabbitMQConfig.APP_EXCHANGE),
+                eq(RabbitMQConfig.BROADCAST_CHUNK_ROUTING_KEY), sent.capture());
+        return sent.getAllValues().stream()
+                .map(BroadcastChunkMessage.class::cast)
+                .filter(m -> m.broadcastId().equals(id))
+                .sorted((x, y) -> Integer.compare(x.chunkNo(), y.chunkNo()))
+                .toList();
+    }
+
+    private BroadcastProgressDTO progress() {
+        return broadcasts.recentBroadcasts(50).stream()
+                .filter(p -> p.id().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int count(String sql) {
+        Integer n = jdbc.queryForObject(sql, Integer.class, id);
+        return n == null ? 0 : n;
+    }
+
+    private static RecipientSpool spool(int count) {
+        String ndjson = IntStream.range(0, count)
+                .mapToObj(i -> "\"fan" + i + "@example.com\"")
+                .collect(Collectors.joining("\n"));
+        try {
+            return RecipientSpool.fromNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.viitorul.email_service.service;
+
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Alocare per mesaj: construirea completă per destinatar (ca înainte) vs. copia din șablonul
+ * codat o dată. Măsurat pe firul curent cu {@code com.sun.management.ThreadMXBean}.
+ */
+class BulkMailTemplatesAllocationTests {
+
+    private static final String FROM = "noreply@example.com";
+    private static final String SUBJECT = "Noutăți ACS Viitorul Răchiteni: Victorie în deplasare";
+    private static final String HTML = "<h1>Victorie în deplasare</h1>" + "<p>Echipa a câștigat cu 3-1.</p>".repeat(200);
+    private static final int WARMUP = 300;
+    private static final int MEASURED = 1_000;
+
+    private final JavaMailSenderImpl sender = new JavaMailSenderImpl();
+    private final BulkMailTemplates templates = new BulkMailTemplates(sender);
+
+    @Test
+    void copiesShareTheBodyAndDifferOnlyInHeaders() throws Exception {
+        BulkMailTemplates.Rendered rendered = templates.render(FROM, SUBJECT, HTML);
+        MimeMessage a = rendered.forRecipient("a@example.com");
+        MimeMessage b = rendered.forRecipient("b@example.com");
+        a.saveChanges();
+        b.saveChanges();
+
+        String rawA = write(a), rawB = write(b);
+        assertTrue(rawA.contains("To: a@example.com"));
+        assertTrue(rawB.contains("To: b@example.com"));
+        assertTrue(rawA.contains("Content-ID: <" + BulkMailTemplates.LOGO_CID + ">"));
+        assertEquals(SUBJECT, a.getSubject());
+        assertNotEquals(a.getMessageID(), b.getMessageID());
+        assertEquals(body(rawA), body(rawB));
+    }
+
+    @Test
+    void copyAcceptsExactlyOneRecipient() throws Exception {
+        BulkMailTemplates.Rendered rendered = templates.render(FROM, SUBJECT, HTML);
+
+        assertThrows(AddressException.class, () -> rendered.forRecipient("a@example.com, b@example.com"));
+        assertThrows(AddressException.class, () -> rendered.forRecipient("fără arond"));
+        assertEquals(1, rendered.forRecipient("a@example.com").getAllRecipients().length);
+    }
+
+    @Test
+    void renderedCopiesAllocateLessPerMessage() throws Exception {
+        BulkMailTemplates.Rendered rendered = templates.render(FROM, SUBJECT, HTML);
+
+        long before = allocatedPerMessage(i -> {
+            MimeMessage mime = sender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+            helper.setTo("fan" + i + "@example.com");
+            helper.setSubject(SUBJECT);
+            helper.setFrom(FROM);
+            helper.setText(HTML, true);
+            helper.addInline("logo", new ClassPathResource("mail/logo.png"), "image/png");
+            return mime;
+        });
+        long after = allocatedPerMessage(i -> rendered.forRecipient("fan" + i + "@example.com"));
+
+        assertTrue(after * 2 < before, "alocare: " + after + " vs " + before);
+    }
+
+    @FunctionalInterface
+    private interface Builder {
+        MimeMessage build(int i) throws Exception;
+    }
+
+    /** Construiește, salvează și serializează mesajul, ca SMTPTransport la trimitere; octeți alocați per mesaj. */
+    private static long allocatedPerMessage(Builder builder) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) send(builder.build(i));
+
+        long tid = Thread.currentThread().getId();
+        long bytes0 = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < MEASURED; i++) send(builder.build(i));
+        return (threads.getThreadAllocatedBytes(tid) - bytes0) / MEASURED;
+    }
+
+    private static void send(MimeMessage mime) throws Exception {
+        mime.saveChanges();
+        mime.writeTo(OutputStream.nullOutputStream());
+    }
+
+    private static String write(MimeMessage mime) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mime.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String body(String raw) {
+        return raw.substring(raw.indexOf("\r\n\r\n"));
+    }
+}
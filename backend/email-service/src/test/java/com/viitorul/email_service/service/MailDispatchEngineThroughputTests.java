@@ -0,0 +1,144 @@
+package com.viitorul.email_service.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.viitorul.email_service.config.MailDispatchProperties;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Trimiteri reale către un server SMTP local (GreenMail): debit, limitare de rată și stare per destinatar. */
+class MailDispatchEngineThroughputTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailDispatchEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) engine.shutdown();
+    }
+
+    @Test
+    void sendsAllRecipientsInParallelWithinTheConfiguredRate() throws Exception {
+        int count = 300;
+        double rate = 150;
+        int burst = 10;
+        JavaMailSenderImpl sender = localSender();
+        engine = new MailDispatchEngine(sender, props(rate, burst, 8, 4));
+        List<String> recipients = recipients(count);
+
+        long start = System.nanoTime();
+        DispatchJob job = engine.dispatch("throughput", recipients, rcpt -> message(sender, rcpt));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(count, job.getSent());
+        assertEquals(0, job.getFailed());
+        assertTrue(job.isFinished());
+        assertTrue(greenMail.waitForIncomingEmail(5_000, count));
+        assertEquals(count, greenMail.getReceivedMessages().length);
+
+        // limitatorul nu lasă să plece mai mult de burst + rate * t; limita de sus depinde de mașina de CI
+        double minSeconds = (count - burst) / rate;
+        assertTrue(seconds >= minSeconds * 0.95, "prea rapid: " + seconds + "s < " + minSeconds + "s");
+    }
+
+    @Test
+    void tracksEachRecipientAndKeepsGoingAfterAFailure() {
+        JavaMailSenderImpl sender = localSender();
+        engine = new MailDispatchEngine(sender, props(1_000, 100, 4, 2));
+        List<String> recipients = recipients(20);
+        String broken = recipients.get(7);
+
+        DispatchJob job = engine.dispatch("failures", recipients, rcpt -> {
+            if (rcpt.equals(broken)) throw new IllegalStateException("template error");
+            return message(sender, rcpt);
+        });
+
+        assertEquals(19, job.getSent());
+        assertEquals(1, job.getFailed());
+        assertEquals(DispatchJob.RecipientStatus.FAILED, job.statusOf(7));
+        assertEquals(List.of(broken), job.failedRecipients());
+        IntStream.range(0, recipients.size()).filter(i -> i != 7)
+                .forEach(i -> assertEquals(DispatchJob.RecipientStatus.SENT, job.statusOf(i)));
+        assertEquals(0, engine.recentJobs().get(0).pending());
+    }
+
+    @Test
+    void reportsEveryOutcomeForASpooledChunk() throws Exception {
+        JavaMailSenderImpl sender = localSender();
+        engine = new MailDispatchEngine(sender, props(1_000, 100, 4, 2));
+        String ndjson = recipients(20).stream().map(r -> "\"" + r + "\"\n").collect(Collectors.joining());
+        List<Integer> offsets = new ArrayList<>();
+        Set<String> sent = ConcurrentHashMap.newKeySet();
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        MailDispatchEngine.DeliveryListener ledger = new MailDispatchEngine.DeliveryListener() {
+            @Override public void sent(String recipient) { sent.add(recipient); }
+            @Override public void failed(String recipient, Exception error) { failed.add(recipient); }
+        };
+
+        try (RecipientSpool spool = RecipientSpool.fromNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals(20, spool.size());
+            spool.forEachChunk(7, (offset, chunk) -> {
+                offsets.add(offset);
+                engine.dispatch("spool #" + offsets.size(), chunk, rcpt -> {
+                    if (rcpt.equals("fan13@example.com")) throw new IllegalStateException("template error");
+                    return message(sender, rcpt);
+                }, ledger);
+                return true;
+            });
+        }
+
+        assertEquals(List.of(0, 7, 14), offsets);
+        assertEquals(Set.of("fan13@example.com"), failed);
+        assertEquals(19, sent.size());
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 19));
+    }
+
+    private static JavaMailSenderImpl localSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static MailDispatchProperties props(double rate, int burst, int threads, int connections) {
+        MailDispatchProperties props = new MailDispatchProperties();
+        props.setRatePerSecond(rate);
+        props.setBurst(burst);
+        props.setThreads(threads);
+        props.setConnections(connections);
+        return props;
+    }
+
+    private static List<String> recipients(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "fan" + i + "@example.com").toList();
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl sender, String rcpt) throws Exception {
+        MimeMessage mime = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setTo(rcpt);
+        helper.setFrom("noreply@example.com");
+        helper.setSubject("Noutăți ACS Viitorul Răchiteni");
+        helper.setText("<h1>Anunț</h1>", true);
+        return mime;
+    }
+}